@@ -0,0 +1,82 @@
+package benchmarks;
+
+import components.Controller;
+import components.FitnessFunction;
+import components.LinearFitnessFunction;
+import components.Specimen;
+import components.Trait;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Helpers shared by the benchmarks for building experiments of a given shape.
+ */
+final class BenchmarkSupport {
+	// largest population size * trait count a benchmark will build, so large parameter combinations fail fast instead of exhausting the heap
+	final static long MAX_GENES = 200_000_000L;
+	
+	private BenchmarkSupport() {
+	}
+	
+	/**
+	 * Fitness function that scores a weighted sum of every trait against a target, the same shape as the example experiments.
+	 */
+	static class WeightedSumFitness extends FitnessFunction {
+		public double calculateFitness(Specimen s) {
+			double sum = 0;
+			for(int i = 0; i < s.getNumTraits(); i++) {
+				sum += (i + 1) * s.getValue(i);
+			}
+			return 1.0 / (1.0 + Math.abs(sum - 12));
+		}
+	}
+	
+	/**
+	 * Creates the {@link LinearFitnessFunction} equivalent of {@link WeightedSumFitness} for the given number of traits.
+	 * @param numTraits The number of traits each specimen has.
+	 * @return The batch fitness function.
+	 */
+	static LinearFitnessFunction createLinearFitness(int numTraits) {
+		double[] weights = new double[numTraits];
+		for(int i = 0; i < numTraits; i++) {
+			weights[i] = i + 1;
+		}
+		return new LinearFitnessFunction(weights, 12);
+	}
+	
+	/**
+	 * Creates a seeded, quiet experiment with an initialized population.
+	 * @param populationSize The number of specimens.
+	 * @param numTraits The number of traits each specimen has.
+	 * @return The initialized controller.
+	 */
+	static Controller createController(int populationSize, int numTraits) {
+		Controller controller = configureController(populationSize, numTraits);
+		controller.initializePopulation();
+		controller.findFittestSpecimen();
+		return controller;
+	}
+	
+	/**
+	 * Creates a seeded, quiet experiment whose population has not been initialized yet.
+	 * @param populationSize The number of specimens.
+	 * @param numTraits The number of traits each specimen has.
+	 * @return The configured controller.
+	 */
+	static Controller configureController(int populationSize, int numTraits) {
+		if((long) populationSize * numTraits > MAX_GENES) {
+			throw new IllegalArgumentException("### SKIPPING " + populationSize + " SPECIMENS OF " + numTraits + " TRAITS: OVER " + MAX_GENES + " GENES ###");
+		}
+		Controller controller = new Controller();
+		controller.setSeed(42);
+		controller.setPopulationSize(populationSize);
+		controller.setFitnessFunction(new WeightedSumFitness());
+		controller.setNumTraits(numTraits);
+		for(int i = 0; i < numTraits; i++) {
+			controller.setTrait(i, new Trait("t" + i, -12, 12));
+		}
+		controller.setTruncationConstant(0.10);
+		controller.setMutationRate(0.15);
+		return controller;
+	}
+}
@@ -0,0 +1,54 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import components.Controller;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Measures one call of {@link Controller#createNextGeneration(int)} for every breeding method,
+ * covering selection, breeding, evaluation and ordering of the new generation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CreateNextGenerationBenchmark {
+	@Param({"100", "10000", "1000000"})
+	public int populationSize;
+	
+	@Param({"3", "50", "1000"})
+	public int numTraits;
+	
+	// Controller.BREEDING_ROULETTE, BREEDING_TOURNAMENT, BREEDING_TRUNCATION and BREEDING_ELITIST
+	@Param({"0", "1", "2", "3"})
+	public int breedingMethod;
+	
+	private Controller controller;
+	
+	@Setup
+	public void setup() {
+		controller = BenchmarkSupport.createController(populationSize, numTraits);
+	}
+	
+	@Benchmark
+	public Controller createNextGeneration() {
+		controller.createNextGeneration(breedingMethod);
+		return controller;
+	}
+}
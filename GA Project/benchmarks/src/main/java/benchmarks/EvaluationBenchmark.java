@@ -0,0 +1,87 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import components.Controller;
+import components.EvaluationEngine;
+import components.FitnessFunction;
+import components.LinearFitnessFunction;
+import components.ForkJoinEvaluationEngine;
+import components.PackedPopulation;
+import components.SerialEvaluationEngine;
+import components.Specimen;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Measures scoring a whole generation with each {@link EvaluationEngine}, from {@link Specimen} objects and from a {@link PackedPopulation},
+ * with a per-specimen {@link FitnessFunction} and with the equivalent {@link LinearFitnessFunction} batch function.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EvaluationBenchmark {
+	@Param({"100", "10000", "1000000"})
+	public int populationSize;
+	
+	@Param({"3", "50", "1000"})
+	public int numTraits;
+	
+	@Param({"serial", "forkjoin"})
+	public String engineType;
+	
+	private Specimen[] population;
+	private PackedPopulation packed;
+	private FitnessFunction func;
+	private LinearFitnessFunction linearFunc;
+	private EvaluationEngine engine;
+	
+	@Setup
+	public void setup() {
+		Controller controller = BenchmarkSupport.createController(populationSize, numTraits);
+		population = controller.getPopulation();
+		packed = controller.packPopulation();
+		func = new BenchmarkSupport.WeightedSumFitness();
+		linearFunc = BenchmarkSupport.createLinearFitness(numTraits);
+		engine = engineType.equals("serial") ? new SerialEvaluationEngine() : new ForkJoinEvaluationEngine();
+	}
+	
+	@TearDown
+	public void tearDown() {
+		engine.shutdown();
+	}
+	
+	@Benchmark
+	public Specimen[] evaluateSpecimens() {
+		engine.evaluate(population, func);
+		return population;
+	}
+	
+	@Benchmark
+	public PackedPopulation evaluatePacked() {
+		engine.evaluate(packed, func);
+		return packed;
+	}
+	
+	@Benchmark
+	public PackedPopulation evaluatePackedBatch() {
+		engine.evaluate(packed, linearFunc);
+		return packed;
+	}
+}
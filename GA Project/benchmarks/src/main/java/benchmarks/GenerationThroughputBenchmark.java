@@ -0,0 +1,63 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import components.Controller;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Measures end-to-end generations per second of a truncation experiment, the loop the example experiments run,
+ * both serially and with one evaluation thread per processor.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class GenerationThroughputBenchmark {
+	@Param({"100", "10000", "1000000"})
+	public int populationSize;
+	
+	@Param({"3", "50", "1000"})
+	public int numTraits;
+	
+	// 0 uses one evaluation thread per available processor
+	@Param({"1", "0"})
+	public int parallelism;
+	
+	private Controller controller;
+	
+	@Setup
+	public void setup() {
+		controller = BenchmarkSupport.createController(populationSize, numTraits);
+		controller.setParallelism(parallelism == 0 ? Runtime.getRuntime().availableProcessors() : parallelism);
+		// never stop on fitness, so every operation is a full generation
+		controller.setFitnessThreshold(Double.POSITIVE_INFINITY);
+	}
+	
+	@TearDown
+	public void tearDown() {
+		controller.shutdown();
+	}
+	
+	@Benchmark
+	public boolean generation() {
+		controller.createNextGeneration(Controller.BREEDING_TRUNCATION);
+		return controller.areEndConditionsMet();
+	}
+}
@@ -0,0 +1,50 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import components.Controller;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Measures {@link Controller#initializePopulation()}, which creates, scores and orders the first generation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class InitializePopulationBenchmark {
+	@Param({"100", "10000", "1000000"})
+	public int populationSize;
+	
+	@Param({"3", "50", "1000"})
+	public int numTraits;
+	
+	private Controller controller;
+	
+	@Setup(Level.Invocation)
+	public void setup() {
+		controller = BenchmarkSupport.configureController(populationSize, numTraits);
+	}
+	
+	@Benchmark
+	public Controller initializePopulation() {
+		controller.initializePopulation();
+		return controller;
+	}
+}
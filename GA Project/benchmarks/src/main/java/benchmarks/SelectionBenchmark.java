@@ -0,0 +1,79 @@
+package benchmarks;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import components.ElitistSelection;
+import components.RouletteSelection;
+import components.SelectionStrategy;
+import components.Specimen;
+import components.TournamentSelection;
+import components.TruncationSelection;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Measures the per-generation preparation and the per-draw cost of every {@link SelectionStrategy}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SelectionBenchmark {
+	@Param({"100", "10000", "1000000"})
+	public int populationSize;
+	
+	@Param({"roulette", "tournament", "truncation", "elitist"})
+	public String strategy;
+	
+	private Specimen[] population;
+	private SelectionStrategy selection;
+	private SplittableRandom rand;
+	
+	@Setup
+	public void setup() {
+		population = BenchmarkSupport.createController(populationSize, 3).getPopulation();
+		switch(strategy) {
+			case "roulette":
+				selection = new RouletteSelection();
+			break;
+			case "tournament":
+				selection = new TournamentSelection(2);
+			break;
+			case "truncation":
+				selection = new TruncationSelection(0.10);
+			break;
+			default:
+				selection = new ElitistSelection(new TournamentSelection(2), 0.10);
+			break;
+		}
+		selection.prepare(population);
+		rand = new SplittableRandom(42);
+	}
+	
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public SelectionStrategy prepare() {
+		selection.prepare(population);
+		return selection;
+	}
+	
+	@Benchmark
+	public int select() {
+		return selection.select(rand);
+	}
+}
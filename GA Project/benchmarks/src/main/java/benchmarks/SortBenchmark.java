@@ -0,0 +1,72 @@
+package benchmarks;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import components.PopulationOrdering;
+import components.Specimen;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Measures ordering an unsorted population by fitness: a full sort against selecting only the fittest 10%,
+ * which is what truncation breeding needs each generation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SortBenchmark {
+	@Param({"100", "10000", "1000000"})
+	public int populationSize;
+	
+	private Specimen[] unsorted;
+	private Specimen[] population;
+	
+	@Setup
+	public void setup() {
+		unsorted = BenchmarkSupport.createController(populationSize, 3).getPopulation().clone();
+		// shuffle deterministically so every invocation sorts the same unsorted order
+		SplittableRandom rand = new SplittableRandom(42);
+		for(int i = unsorted.length - 1; i > 0; i--) {
+			int j = rand.nextInt(i + 1);
+			Specimen temp = unsorted[i];
+			unsorted[i] = unsorted[j];
+			unsorted[j] = temp;
+		}
+		population = new Specimen[populationSize];
+	}
+	
+	@Setup(Level.Invocation)
+	public void reset() {
+		System.arraycopy(unsorted, 0, population, 0, populationSize);
+	}
+	
+	@Benchmark
+	public Specimen[] sort() {
+		Arrays.sort(population);
+		return population;
+	}
+	
+	@Benchmark
+	public Specimen[] selectTop() {
+		PopulationOrdering.selectTop(population, populationSize / 10);
+		return population;
+	}
+}
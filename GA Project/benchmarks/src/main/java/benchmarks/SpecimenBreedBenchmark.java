@@ -0,0 +1,52 @@
+package benchmarks;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import components.Controller;
+import components.Specimen;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Measures the cost of breeding a single child with {@link Specimen#breed(Specimen, double, SplittableRandom)}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SpecimenBreedBenchmark {
+	@Param({"3", "50", "1000"})
+	public int numTraits;
+	
+	private Specimen parent1;
+	private Specimen parent2;
+	private SplittableRandom rand;
+	
+	@Setup
+	public void setup() {
+		Controller controller = BenchmarkSupport.createController(2, numTraits);
+		parent1 = controller.getPopulation()[0];
+		parent2 = controller.getPopulation()[1];
+		rand = new SplittableRandom(42);
+	}
+	
+	@Benchmark
+	public Specimen breed() {
+		return parent1.breed(parent2, 0.15, rand);
+	}
+}
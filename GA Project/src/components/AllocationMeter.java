@@ -0,0 +1,44 @@
+package components;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Class that reads how many bytes the calling thread has allocated, where the JVM supports it (HotSpot and OpenJ9 do).
+ */
+public final class AllocationMeter {
+	private final static com.sun.management.ThreadMXBean THREAD_BEAN = findThreadBean();
+	
+	private AllocationMeter() {
+	}
+	
+	private static com.sun.management.ThreadMXBean findThreadBean() {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if(bean instanceof com.sun.management.ThreadMXBean) {
+			com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+			if(sunBean.isThreadAllocatedMemorySupported()) {
+				if(!sunBean.isThreadAllocatedMemoryEnabled()) {
+					sunBean.setThreadAllocatedMemoryEnabled(true);
+				}
+				return sunBean;
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * @return True if {@link #currentThreadAllocatedBytes()} returns real values on this JVM.
+	 */
+	public static boolean isSupported() {
+		return THREAD_BEAN != null;
+	}
+	
+	/**
+	 * @return the total number of bytes the calling thread has allocated since it started, or -1 if the JVM cannot tell.
+	 */
+	public static long currentThreadAllocatedBytes() {
+		return THREAD_BEAN == null ? -1 : THREAD_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+}
@@ -0,0 +1,98 @@
+package components;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Class that writes {@link Checkpoint}s on a background thread so the generation loop only pays for copying the population.
+ * At most one checkpoint is written at a time, and its snapshot is reused for the next checkpoint once the write finishes.
+ */
+class AsyncCheckpointWriter {
+	private ExecutorService executor;
+	private Future<?> pendingWrite;
+	private Checkpoint spare;
+	private long numSkipped;
+	
+	AsyncCheckpointWriter() {
+		executor = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "checkpoint-writer");
+			thread.setDaemon(true);
+			return thread;
+		});
+		spare = new Checkpoint();
+		numSkipped = 0;
+	}
+	
+	/**
+	 * @return True if a checkpoint is still being written.
+	 */
+	boolean isBusy() {
+		return pendingWrite != null && !pendingWrite.isDone();
+	}
+	
+	/**
+	 * @return A snapshot to fill, or null if the previous checkpoint is still being written and this one should be skipped.
+	 */
+	Checkpoint takeSnapshot() {
+		if(isBusy()) {
+			numSkipped++;
+			return null;
+		}
+		return spare;
+	}
+	
+	/**
+	 * Starts writing the given snapshot, which must come from {@link #takeSnapshot()}, in the background.
+	 * @param path The file to write.
+	 * @param checkpoint The snapshot to write.
+	 */
+	void submit(Path path, Checkpoint checkpoint) {
+		pendingWrite = executor.submit(() -> {
+			try {
+				Checkpoint.write(path, checkpoint);
+			}
+			catch(IOException e) {
+				System.err.println(" ### WARNING: COULD NOT WRITE CHECKPOINT " + path + ": " + e.getMessage());
+			}
+		});
+	}
+	
+	/**
+	 * @return the number of checkpoints skipped because the previous one was still being written.
+	 */
+	long getNumSkipped() {
+		return numSkipped;
+	}
+	
+	/**
+	 * Blocks until the checkpoint being written, if any, is on disk.
+	 */
+	void await() {
+		if(pendingWrite == null) {
+			return;
+		}
+		try {
+			pendingWrite.get();
+		}
+		catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		catch(ExecutionException e) {
+			throw new IllegalStateException("### CHECKPOINT WRITER FAILED ###", e.getCause());
+		}
+	}
+	
+	/**
+	 * Waits for the checkpoint being written and stops the background thread.
+	 */
+	void shutdown() {
+		await();
+		executor.shutdown();
+	}
+}
@@ -0,0 +1,53 @@
+package components;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Class representing a {@link FitnessFunction} that scores many specimens in one call from a row-major gene matrix,
+ * where row i holds the trait values of one specimen starting at index i * numTraits.
+ * Scoring a block of rows in one tight loop avoids a virtual call and a {@link Specimen} lookup per specimen,
+ * and gives the JIT a simple loop it can unroll and vectorize.
+ * Engines and the {@link Controller} recognise this class and hand it whole blocks of a generation at once.
+ */
+public abstract class BatchFitnessFunction extends FitnessFunction {
+	
+	/**
+	 * Calculates the fitness of every row in [fromRow, toRow) of the given gene matrix.
+	 * NOTE: different row ranges of the same matrix may be scored concurrently when the engine is parallel.
+	 * @param genes The row-major gene matrix.
+	 * @param numTraits The number of trait values in each row.
+	 * @param fromRow The first row to score, inclusive.
+	 * @param toRow The last row to score, exclusive.
+	 * @param fitnesses The array that receives the fitness of row i at index i.
+	 */
+	public abstract void calculateFitnesses(double[] genes, int numTraits, int fromRow, int toRow, double[] fitnesses);
+	
+	/**
+	 * Calculates the fitness of a single specimen by scoring its values as a matrix of one row.
+	 * @param s The specimen to score.
+	 * @return The specimen's fitness.
+	 */
+	public double calculateFitness(Specimen s) {
+		double[] fitness = new double[1];
+		calculateFitnesses(s.getValues(), s.getNumTraits(), 0, 1, fitness);
+		return fitness[0];
+	}
+	
+	/**
+	 * Calculates the fitness of a single specimen stored in a gene array by scoring it as a matrix of one row.
+	 * @param genes The array holding the specimen's trait values.
+	 * @param offset The index in genes of the specimen's first trait value.
+	 * @param traits The name and bounds of each trait. The specimen has traits.length values.
+	 * @return The specimen's fitness.
+	 */
+	public double calculateFitness(double[] genes, int offset, Trait[] traits) {
+		double[] row = genes;
+		if(offset != 0) {
+			row = new double[traits.length];
+			System.arraycopy(genes, offset, row, 0, traits.length);
+		}
+		double[] fitness = new double[1];
+		calculateFitnesses(row, traits.length, 0, 1, fitness);
+		return fitness[0];
+	}
+}
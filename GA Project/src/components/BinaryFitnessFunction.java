@@ -0,0 +1,55 @@
+package components;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Class representing a {@link FitnessFunction} for genomes made only of {@link Trait#TYPE_BOOLEAN} traits, scored straight from their
+ * bit-packed form: bit i of the genome is bit (i % 64) of word i / 64, so a fitness function can test 64 genes at a time with
+ * word operations such as {@link Long#bitCount(long)}. {@link BinaryRunner} calls it on the words of a {@link BinaryPopulation};
+ * a {@link Controller} can use it too, in which case each specimen's 0 and 1 values are packed first.
+ */
+public abstract class BinaryFitnessFunction extends FitnessFunction {
+	
+	/**
+	 * Calculates the fitness of one bit-packed genome. Bits of the last word at or above numBits are always 0.
+	 * NOTE: different genomes may be scored concurrently when the engine is parallel.
+	 * @param words The array holding the genome.
+	 * @param offset The index in words of the genome's first word.
+	 * @param numBits The number of genes in the genome.
+	 * @return The genome's fitness.
+	 */
+	public abstract double calculateFitness(long[] words, int offset, int numBits);
+	
+	/**
+	 * Packs the specimen's values, where any value of at least 0.5 counts as true, and scores them.
+	 * @param s The specimen to score.
+	 * @return The specimen's fitness.
+	 */
+	public double calculateFitness(Specimen s) {
+		return packAndScore(s.getValues(), 0, s.getNumTraits());
+	}
+	
+	/**
+	 * Packs the values of a specimen stored in a gene array, where any value of at least 0.5 counts as true, and scores them.
+	 * @param genes The array holding the specimen's trait values.
+	 * @param offset The index in genes of the specimen's first trait value.
+	 * @param traits The name and bounds of each trait. The specimen has traits.length values.
+	 * @return The specimen's fitness.
+	 */
+	public double calculateFitness(double[] genes, int offset, Trait[] traits) {
+		return packAndScore(genes, offset, traits.length);
+	}
+	
+	/**
+	 * Packs a genome of 0 and 1 values into words and scores it.
+	 */
+	private double packAndScore(double[] genes, int offset, int numBits) {
+		long[] words = new long[BinaryPopulation.wordsFor(numBits)];
+		for(int i = 0; i < numBits; i++) {
+			if(genes[offset + i] >= 0.5) {
+				words[i >>> 6] |= 1L << i;
+			}
+		}
+		return calculateFitness(words, 0, numBits);
+	}
+}
@@ -0,0 +1,365 @@
+package components;
+
+import java.util.SplittableRandom;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Class that stores a whole population of genomes made only of {@link Trait#TYPE_BOOLEAN} traits as packed bitsets, 64 genes to a long,
+ * which is 64 times denser than a gene matrix of doubles. Specimen i's genome starts at word i * wordsPerGenome, and bit j of the
+ * genome is bit (j % 64) of the genome's word j / 64; bits of the last word at or above the number of genes are always 0.
+ * Crossover and mutation work a word at a time, so breeding a child costs one pass over its words rather than one random draw per gene.
+ */
+public class BinaryPopulation implements PopulationStore {
+	private Trait[] traits;
+	private int size;
+	private int numBits;
+	private int wordsPerGenome;
+	// mask of the bits of a genome's last word that hold genes
+	private long lastWordMask;
+	private long[] words;
+	private double[] fitnesses;
+	
+	/**
+	 * Creates a population of the given size whose genes are all false.
+	 * @param traits The blueprint {@link Trait}s, which must all be boolean traits.
+	 * @param size The number of specimens in the population.
+	 */
+	public BinaryPopulation(Trait[] traits, int size) {
+		for(Trait t : traits) {
+			if(t.getType() != Trait.TYPE_BOOLEAN) {
+				throw new IllegalArgumentException("### BINARY POPULATIONS ONLY HOLD BOOLEAN TRAITS, BUT " + t.getName() + " IS NOT ONE ###");
+			}
+		}
+		if(traits.length == 0) {
+			throw new IllegalArgumentException("### A BINARY POPULATION NEEDS AT LEAST 1 TRAIT ###");
+		}
+		long numWords = (long) size * wordsFor(traits.length);
+		if(numWords > Integer.MAX_VALUE - 8) {
+			throw new IllegalArgumentException("### " + size + " SPECIMENS OF " + traits.length + " BITS DO NOT FIT IN ONE WORD ARRAY ###");
+		}
+		this.traits = traits;
+		this.size = size;
+		numBits = traits.length;
+		wordsPerGenome = wordsFor(numBits);
+		lastWordMask = -1L >>> (wordsPerGenome * 64 - numBits);
+		words = new long[(int) numWords];
+		fitnesses = new double[size];
+	}
+	
+	/**
+	 * Creates boolean traits named bit-0, bit-1, ... for a population that needs no particular trait names.
+	 * @param numBits The number of genes in each genome.
+	 * @return The boolean traits.
+	 */
+	public static Trait[] booleanTraits(int numBits) {
+		Trait[] traits = new Trait[numBits];
+		for(int i = 0; i < numBits; i++) {
+			traits[i] = new Trait("bit-" + i, 0, 1, 0, Trait.TYPE_BOOLEAN);
+		}
+		return traits;
+	}
+	
+	/**
+	 * @param numBits The number of genes in a genome.
+	 * @return The number of words a genome of that many genes takes.
+	 */
+	public static int wordsFor(int numBits) {
+		return (numBits + 63) >>> 6;
+	}
+	
+	/**
+	 * Gives every gene a random value and clears every fitness.
+	 * @param rand The random number generator to draw from.
+	 */
+	public void randomize(SplittableRandom rand) {
+		for(int i = 0; i < size; i++) {
+			randomize(i, rand);
+		}
+	}
+	
+	/**
+	 * Gives every gene of one genome a random value, 64 genes per draw, and clears its fitness.
+	 * @param index The specimen's row.
+	 * @param rand The random number generator to draw from.
+	 */
+	public void randomize(int index, SplittableRandom rand) {
+		int offset = index * wordsPerGenome;
+		for(int w = 0; w < wordsPerGenome; w++) {
+			words[offset + w] = rand.nextLong();
+		}
+		words[offset + wordsPerGenome - 1] &= lastWordMask;
+		fitnesses[index] = 0;
+	}
+	
+	/**
+	 * Breeds a child of two genomes of this population with uniform crossover: each bit comes from either parent with equal probability,
+	 * chosen for 64 bits at once by a random mask.
+	 * @param p1 The first parent's row.
+	 * @param p2 The second parent's row.
+	 * @param target The population that receives the child, which may be this one.
+	 * @param child The child's row in target.
+	 * @param rand The random number generator to draw from.
+	 */
+	public void uniformCrossover(int p1, int p2, BinaryPopulation target, int child, SplittableRandom rand) {
+		int p1Offset = p1 * wordsPerGenome;
+		int p2Offset = p2 * wordsPerGenome;
+		int childOffset = child * wordsPerGenome;
+		long[] dst = target.words;
+		for(int w = 0; w < wordsPerGenome; w++) {
+			long mask = rand.nextLong();
+			dst[childOffset + w] = (words[p1Offset + w] & mask) | (words[p2Offset + w] & ~mask);
+		}
+	}
+	
+	/**
+	 * Breeds a child of two genomes of this population with k-point crossover: both are cut at numPoints random points, not necessarily
+	 * distinct, and the child takes alternating segments from each. Whole words between cuts are copied without looking at their bits.
+	 * @param p1 The first parent's row.
+	 * @param p2 The second parent's row.
+	 * @param target The population that receives the child, which may be this one.
+	 * @param child The child's row in target.
+	 * @param numPoints The number of cut points.
+	 * @param rand The random number generator to draw from.
+	 */
+	public void pointCrossover(int p1, int p2, BinaryPopulation target, int child, int numPoints, SplittableRandom rand) {
+		int p1Offset = p1 * wordsPerGenome;
+		int p2Offset = p2 * wordsPerGenome;
+		int childOffset = child * wordsPerGenome;
+		long[] dst = target.words;
+		
+		// start with the first parent's genome, then flip to the other parent's bits above each cut, so an even number of cuts at a bit cancel
+		System.arraycopy(words, p1Offset, dst, childOffset, wordsPerGenome);
+		for(int c = 0; c < numPoints; c++) {
+			int cut = numBits > 1 ? 1 + rand.nextInt(numBits - 1) : numBits;
+			int cutWord = cut >>> 6;
+			long above = -1L << cut;
+			for(int w = cutWord; w < wordsPerGenome; w++) {
+				long mask = w == cutWord ? above : -1L;
+				long difference = (words[p1Offset + w] ^ words[p2Offset + w]) & mask;
+				dst[childOffset + w] ^= difference;
+			}
+		}
+	}
+	
+	/**
+	 * Flips each gene of one genome with the given probability. Rather than drawing once per gene, the distance to the next flipped gene
+	 * is drawn from the geometric distribution, so a genome of n genes costs about n * mutationRate draws.
+	 * @param index The specimen's row.
+	 * @param mutationRate The probability that each gene is flipped.
+	 * @param rand The random number generator to draw from.
+	 */
+	public void mutate(int index, double mutationRate, SplittableRandom rand) {
+		if(mutationRate <= 0) {
+			return;
+		}
+		int offset = index * wordsPerGenome;
+		if(mutationRate >= 1) {
+			for(int w = 0; w < wordsPerGenome; w++) {
+				words[offset + w] = ~words[offset + w];
+			}
+			words[offset + wordsPerGenome - 1] &= lastWordMask;
+			return;
+		}
+		double logKeep = Math.log1p(-mutationRate);
+		int bit = -1;
+		while(true) {
+			// number of genes kept before the next flipped one
+			double skip = Math.log(1 - rand.nextDouble()) / logKeep;
+			if(skip >= numBits - 1 - bit) {
+				return;
+			}
+			bit += 1 + (int) skip;
+			words[offset + (bit >>> 6)] ^= 1L << bit;
+		}
+	}
+	
+	/**
+	 * Copies the genome and fitness of one row of this population into a row of another population with the same number of genes.
+	 * @param index The row to copy.
+	 * @param target The population to copy into.
+	 * @param targetIndex The row of target to overwrite.
+	 */
+	public void copyRow(int index, BinaryPopulation target, int targetIndex) {
+		System.arraycopy(words, index * wordsPerGenome, target.words, targetIndex * wordsPerGenome, wordsPerGenome);
+		target.fitnesses[targetIndex] = fitnesses[index];
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * Rows copied to another binary population go straight between the packed words.
+	 */
+	public void copyRow(int index, PopulationStore target, int targetIndex) {
+		if(target instanceof BinaryPopulation) {
+			copyRow(index, (BinaryPopulation) target, targetIndex);
+		}
+		else {
+			PopulationStore.super.copyRow(index, target, targetIndex);
+		}
+	}
+	
+	/**
+	 * Scores one genome with the given fitness function and stores its fitness.
+	 * @param index The specimen's row.
+	 * @param func The fitness function to score with.
+	 */
+	public void evaluate(int index, BinaryFitnessFunction func) {
+		fitnesses[index] = func.calculateFitness(words, index * wordsPerGenome, numBits);
+	}
+	
+	/**
+	 * Unpacks the given row into a new {@link Specimen} holding 0 and 1 values, which shares this population's traits.
+	 * @param index The row to unpack.
+	 * @return A specimen holding a copy of the row's genes and fitness.
+	 */
+	public Specimen toSpecimen(int index) {
+		Specimen s = new Specimen(index, traits);
+		readRow(index, s.getValues(), 0);
+		s.setFitness(fitnesses[index]);
+		return s;
+	}
+	
+	/**
+	 * Packs the values and fitness of a {@link Specimen} into the given row, where any value of at least 0.5 counts as true.
+	 * @param index The row to overwrite.
+	 * @param s The specimen to copy.
+	 */
+	public void load(int index, Specimen s) {
+		writeRow(index, s.getValues(), 0);
+		fitnesses[index] = s.getFitness();
+	}
+	
+	/**
+	 * @return the number of specimens in this population.
+	 */
+	public int getSize() {
+		return size;
+	}
+	
+	/**
+	 * @return the number of genes each specimen has.
+	 */
+	public int getNumTraits() {
+		return numBits;
+	}
+	
+	/**
+	 * @return the blueprint {@link Trait}s that give each gene its name.
+	 */
+	public Trait[] getTraits() {
+		return traits;
+	}
+	
+	/**
+	 * @return the number of words each genome takes.
+	 */
+	public int getWordsPerGenome() {
+		return wordsPerGenome;
+	}
+	
+	/**
+	 * @return the packed genomes. Changes to it change this population.
+	 */
+	public long[] getWords() {
+		return words;
+	}
+	
+	/**
+	 * @return the fitness of every specimen, indexed by row. Changes to it change this population.
+	 */
+	public double[] getFitnesses() {
+		return fitnesses;
+	}
+	
+	/**
+	 * @param index The specimen's row.
+	 * @param bit The gene's index.
+	 * @return True if the given gene of the given specimen is set.
+	 */
+	public boolean getBit(int index, int bit) {
+		return (words[index * wordsPerGenome + (bit >>> 6)] & (1L << bit)) != 0;
+	}
+	
+	/**
+	 * Sets or clears the given gene of the given specimen.
+	 * @param index The specimen's row.
+	 * @param bit The gene's index.
+	 * @param value The value to set.
+	 */
+	public void setBit(int index, int bit, boolean value) {
+		int w = index * wordsPerGenome + (bit >>> 6);
+		if(value) {
+			words[w] |= 1L << bit;
+		}
+		else {
+			words[w] &= ~(1L << bit);
+		}
+	}
+	
+	/**
+	 * @param index The specimen's row.
+	 * @param trait The gene's index.
+	 * @return 1 if the given gene of the given specimen is set, 0 otherwise.
+	 */
+	public double getGene(int index, int trait) {
+		return getBit(index, trait) ? 1 : 0;
+	}
+	
+	/**
+	 * Sets the given gene of the given specimen, where any value of at least 0.5 counts as true.
+	 * @param index The specimen's row.
+	 * @param trait The gene's index.
+	 * @param value The value to set.
+	 */
+	public void setGene(int index, int trait, double value) {
+		setBit(index, trait, value >= 0.5);
+	}
+	
+	/**
+	 * @param index The specimen's row.
+	 * @return The fitness of the given specimen.
+	 */
+	public double getFitness(int index) {
+		return fitnesses[index];
+	}
+	
+	/**
+	 * Sets the fitness of the given specimen.
+	 * @param index The specimen's row.
+	 * @param fitness The fitness value to set.
+	 */
+	public void setFitness(int index, double fitness) {
+		fitnesses[index] = fitness;
+	}
+	
+	/**
+	 * Unpacks every gene of a row into an array as 0 and 1 values.
+	 * @param index The specimen's row.
+	 * @param dst The array to copy into.
+	 * @param offset The index in dst that receives the first gene.
+	 */
+	public void readRow(int index, double[] dst, int offset) {
+		int wordOffset = index * wordsPerGenome;
+		for(int i = 0; i < numBits; i++) {
+			dst[offset + i] = (words[wordOffset + (i >>> 6)] >>> i) & 1L;
+		}
+	}
+	
+	/**
+	 * Packs every gene of a row from an array, where any value of at least 0.5 counts as true.
+	 * @param index The specimen's row.
+	 * @param src The array to copy from.
+	 * @param offset The index in src of the first gene.
+	 */
+	public void writeRow(int index, double[] src, int offset) {
+		int wordOffset = index * wordsPerGenome;
+		for(int w = 0; w < wordsPerGenome; w++) {
+			words[wordOffset + w] = 0;
+		}
+		for(int i = 0; i < numBits; i++) {
+			if(src[offset + i] >= 0.5) {
+				words[wordOffset + (i >>> 6)] |= 1L << i;
+			}
+		}
+	}
+}
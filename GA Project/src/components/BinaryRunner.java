@@ -0,0 +1,74 @@
+package components;
+
+import java.util.SplittableRandom;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Class that runs a generational GA on bit-packed genomes held in two {@link BinaryPopulation}s, for problems such as knapsack or feature
+ * selection whose every gene is a {@link Trait#TYPE_BOOLEAN} trait. Generations, tournaments and the carried over fittest specimen work as
+ * described by {@link BlockedRunner}; children are bred with word-level crossover and geometric bit-flip mutation.
+ */
+public class BinaryRunner extends BlockedRunner<BinaryPopulation> {
+	// constant that makes each child bit come from either parent with equal probability
+	public final static int CROSSOVER_UNIFORM = 0;
+	
+	// constant that cuts the parents at one random point
+	public final static int CROSSOVER_ONE_POINT = 1;
+	
+	// constant that cuts the parents at two random points
+	public final static int CROSSOVER_TWO_POINT = 2;
+	private final BinaryFitnessFunction func;
+	private int crossover;
+	
+	/**
+	 * Creates a runner for genomes of the given boolean traits.
+	 * @param traits The blueprint {@link Trait}s, which must all be boolean traits, e.g. from {@link BinaryPopulation#booleanTraits(int)}.
+	 * @param populationSize The number of specimens in each generation, at least 2.
+	 * @param func The fitness function used to score each genome.
+	 */
+	public BinaryRunner(Trait[] traits, int populationSize, BinaryFitnessFunction func) {
+		super(new BinaryPopulation(traits, populationSize), new BinaryPopulation(traits, populationSize));
+		this.func = func;
+		crossover = CROSSOVER_UNIFORM;
+	}
+	
+	/**
+	 * Sets how children combine their parents' bits. Defaults to {@link #CROSSOVER_UNIFORM}.
+	 * @param crossover One of the CROSSOVER_ constants.
+	 */
+	public void setCrossover(int crossover) {
+		if(crossover < CROSSOVER_UNIFORM || crossover > CROSSOVER_TWO_POINT) {
+			throw new IllegalArgumentException("### UNKNOWN CROSSOVER " + crossover + " ###");
+		}
+		this.crossover = crossover;
+	}
+	
+	/**
+	 * Gives the genomes of rows [fromRow, toRow) random bits and scores them.
+	 */
+	void initializeBlock(BinaryPopulation population, int fromRow, int toRow, SplittableRandom rand) {
+		for(int i = fromRow; i < toRow; i++) {
+			population.randomize(i, rand);
+			population.evaluate(i, func);
+		}
+	}
+	
+	/**
+	 * Breeds rows [fromRow, toRow) of the children with word-level crossover and bit-flip mutation, and scores them.
+	 */
+	void breedBlock(BinaryPopulation parents, BinaryPopulation children, int fromRow, int toRow, SplittableRandom rand) {
+		for(int i = fromRow; i < toRow; i++) {
+			int p1 = select(parents, rand);
+			int p2 = select(parents, rand);
+			if(crossover == CROSSOVER_UNIFORM) {
+				parents.uniformCrossover(p1, p2, children, i, rand);
+			}
+			else {
+				parents.pointCrossover(p1, p2, children, i, crossover == CROSSOVER_ONE_POINT ? 1 : 2, rand);
+			}
+			children.mutate(i, mutationRate, rand);
+			children.evaluate(i, func);
+		}
+	}
+}
@@ -0,0 +1,46 @@
+package components;
+
+import java.util.SplittableRandom;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Class representing the blend crossover BLX-alpha: each child gene is drawn uniformly from the interval spanned by the parents' genes,
+ * widened by alpha times its length on both sides, then clamped to the trait's bounds.
+ */
+public class BlendCrossover implements CrossoverOperator {
+	private final double alpha;
+	
+	/**
+	 * Creates a BLX-alpha operator. 
+	 * @param alpha How far past the parents' genes, as a fraction of their distance, a child gene may fall. 0.5 is the usual choice.
+	 */
+	public BlendCrossover(double alpha) {
+		if(alpha < 0) {
+			throw new IllegalArgumentException("### BLEND CROSSOVER ALPHA MUST NOT BE NEGATIVE, GOT " + alpha + " ###");
+		}
+		this.alpha = alpha;
+	}
+	
+	/**
+	 * Creates a BLX-0.5 operator.
+	 */
+	public BlendCrossover() {
+		this(0.5);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * Each gene is drawn from the parents' interval widened by alpha on both sides.
+	 */
+	public void crossover(double[] p1, int p1Offset, double[] p2, int p2Offset, double[] child, int childOffset, Trait[] traits, SplittableRandom rand) {
+		for(int i = 0; i < traits.length; i++) {
+			double a = p1[p1Offset + i];
+			double b = p2[p2Offset + i];
+			double low = Math.min(a, b);
+			double spread = Math.abs(a - b);
+			double value = low - alpha * spread + rand.nextDouble() * spread * (1 + 2 * alpha);
+			child[childOffset + i] = traits[i].clamp(value);
+		}
+	}
+}
@@ -0,0 +1,289 @@
+package components;
+
+import java.util.SplittableRandom;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Base class of runners that breed a generational GA back and forth between two row-addressed {@link PopulationStore}s, such as
+ * {@link OffHeapRunner} and {@link BinaryRunner}. Each generation is bred from the current population into the other one, and the two
+ * then swap, so nothing proportional to the population size is allocated after the first generation.
+ *
+ * Parents are chosen by tournament on the fitness column, and the fittest specimen is carried over unchanged into row 0 of every generation.
+ * The {@link EvaluationEngine} creates and scores blocks of {@link EvaluationEngine#BATCH_ROWS} rows at once; every block draws from its
+ * own stream derived from the seed, generation and block, so runs with the same seed give the same result whatever the engine's parallelism.
+ * Subclasses only say how a block of rows is created at random and how it is bred.
+ * @param <P> The type of population the runner breeds.
+ */
+public abstract class BlockedRunner<P extends PopulationStore> {
+	final int populationSize;
+	final int numBlocks;
+	double mutationRate;
+	private P currentPopulation;
+	private P nextPopulation;
+	private RandomService randomService;
+	private int tournamentSize;
+	private EvaluationEngine evaluationEngine;
+	private long maxNumGenerations;
+	private double fitnessThreshold;
+	private long generationCount;
+	private int fittestIndex;
+	// fittest row and fitness of each block of the generation being bred, reused every generation
+	private final int[] blockFittest;
+	private final double[] blockFittestFitness;
+	
+	/**
+	 * Creates a runner that breeds back and forth between the two given populations.
+	 * @param first The population the first generation is created in.
+	 * @param second The population the second generation is bred into.
+	 */
+	BlockedRunner(P first, P second) {
+		if(first.getSize() != second.getSize() || first.getNumTraits() != second.getNumTraits()) {
+			throw new IllegalArgumentException("### RUNNER POPULATIONS MUST HAVE THE SAME SIZE AND NUMBER OF TRAITS ###");
+		}
+		if(first.getSize() < 2) {
+			throw new IllegalArgumentException("### RUNNER POPULATION SIZE MUST BE AT LEAST 2, GOT " + first.getSize() + " ###");
+		}
+		populationSize = first.getSize();
+		numBlocks = (populationSize + EvaluationEngine.BATCH_ROWS - 1) / EvaluationEngine.BATCH_ROWS;
+		currentPopulation = first;
+		nextPopulation = second;
+		randomService = new RandomService();
+		mutationRate = 0.0;
+		tournamentSize = 2;
+		evaluationEngine = new SerialEvaluationEngine();
+		maxNumGenerations = Long.MAX_VALUE;
+		fitnessThreshold = 1.0;
+		generationCount = 1;
+		fittestIndex = -1;
+		blockFittest = new int[numBlocks];
+		blockFittestFitness = new double[numBlocks];
+	}
+	
+	/**
+	 * Seeds every random choice of the run, so that runs with the same seed and settings give the same result.
+	 * @param seed The master seed.
+	 */
+	public void setSeed(long seed) {
+		randomService = new RandomService(seed);
+	}
+	
+	/**
+	 * Sets the probability that each gene of a child is mutated, e.g. 1 / number of genes.
+	 * @param mr The mutation rate to set.
+	 */
+	public void setMutationRate(double mr) {
+		mutationRate = mr;
+	}
+	
+	/**
+	 * Sets the number of specimens that compete in each tournament for a parent. Defaults to 2.
+	 * @param size The tournament size to set.
+	 */
+	public void setTournamentSize(int size) {
+		if(size < 1) {
+			throw new IllegalArgumentException("### TOURNAMENT SIZE MUST BE AT LEAST 1, GOT " + size + " ###");
+		}
+		tournamentSize = size;
+	}
+	
+	/**
+	 * Sets the {@link EvaluationEngine} whose threads breed and score the blocks of each generation. Any previously set engine is shut down.
+	 * Blocks are bred and scored inside the engine's tasks, so a {@link RemoteEvaluationEngine}, which runs tasks serially on the calling
+	 * thread, is rejected.
+	 * @param engine The evaluation engine to use.
+	 */
+	public void setEvaluationEngine(EvaluationEngine engine) {
+		if(engine instanceof RemoteEvaluationEngine) {
+			throw new IllegalArgumentException("### RUNNERS BREED AND SCORE BLOCKS IN LOCAL TASKS, SO THEY CANNOT USE A REMOTE EVALUATION ENGINE ###");
+		}
+		if(evaluationEngine != null && evaluationEngine != engine) {
+			evaluationEngine.shutdown();
+		}
+		evaluationEngine = engine;
+	}
+	
+	/**
+	 * Sets the number of threads that breed and score each generation. A value of 1 works serially on the calling thread.
+	 * NOTE: the fitness function and operators must be safe to call from several threads at once when parallelism exceeds 1.
+	 * @param parallelism The number of threads to use.
+	 */
+	public void setParallelism(int parallelism) {
+		setEvaluationEngine(parallelism <= 1 ? new SerialEvaluationEngine() : new ForkJoinEvaluationEngine(parallelism));
+	}
+	
+	/**
+	 * Sets the maximum number of generations the run will last.
+	 * @param maxGens the maximum number of generations to run.
+	 */
+	public void setMaxGenerationsCount(long maxGens) {
+		maxNumGenerations = maxGens;
+	}
+	
+	/**
+	 * Sets the minimum fitness value a solution must reach before the run ends.
+	 * @param fitThresh The minimum fitness value a successful solution must have.
+	 */
+	public void setFitnessThreshold(double fitThresh) {
+		fitnessThreshold = fitThresh;
+	}
+	
+	/**
+	 * Gives every specimen of the first population random genes and scores it.
+	 */
+	public void initializePopulation() {
+		P population = currentPopulation;
+		long base = randomService.forStream(0).nextLong();
+		evaluationEngine.run(numBlocks, block -> {
+			int fromRow = block * EvaluationEngine.BATCH_ROWS;
+			int toRow = Math.min(populationSize, fromRow + EvaluationEngine.BATCH_ROWS);
+			initializeBlock(population, fromRow, toRow, blockRandom(base, block));
+			recordBlockFittest(population, block, fromRow, toRow);
+		});
+		generationCount = 1;
+		fittestIndex = reduceFittest();
+	}
+	
+	/**
+	 * Breeds the next generation from the current one, scores it, and makes it the current generation.
+	 */
+	public void createNextGeneration() {
+		if(fittestIndex < 0) {
+			throw new IllegalStateException("### RUNNER POPULATION HAS NOT BEEN INITIALIZED ###");
+		}
+		P parents = currentPopulation;
+		P children = nextPopulation;
+		long base = randomService.forStream(generationCount).nextLong();
+		
+		// the fittest specimen survives unchanged in row 0
+		parents.copyRow(fittestIndex, children, 0);
+		evaluationEngine.run(numBlocks, block -> {
+			int fromRow = block * EvaluationEngine.BATCH_ROWS;
+			int toRow = Math.min(populationSize, fromRow + EvaluationEngine.BATCH_ROWS);
+			breedBlock(parents, children, Math.max(1, fromRow), toRow, blockRandom(base, block));
+			recordBlockFittest(children, block, fromRow, toRow);
+		});
+		
+		currentPopulation = children;
+		nextPopulation = parents;
+		generationCount++;
+		fittestIndex = reduceFittest();
+	}
+	
+	/**
+	 * Gives rows [fromRow, toRow) of the population random genes and scores them. Called for each block, possibly concurrently.
+	 * @param population The population to fill.
+	 * @param fromRow The first row of the block.
+	 * @param toRow The row after the last row of the block.
+	 * @param rand The block's random number generator.
+	 */
+	abstract void initializeBlock(P population, int fromRow, int toRow, SplittableRandom rand);
+	
+	/**
+	 * Breeds rows [fromRow, toRow) of the children from parents chosen with {@link #select(PopulationStore, SplittableRandom)}
+	 * and scores them. Called for each block, possibly concurrently; row 0, which holds the carried over fittest specimen, is never passed.
+	 * @param parents The current population.
+	 * @param children The population the next generation is bred into.
+	 * @param fromRow The first row to breed.
+	 * @param toRow The row after the last row to breed.
+	 * @param rand The block's random number generator.
+	 */
+	abstract void breedBlock(P parents, P children, int fromRow, int toRow, SplittableRandom rand);
+	
+	/**
+	 * Records the fittest row of one block of the given population.
+	 */
+	private void recordBlockFittest(P population, int block, int fromRow, int toRow) {
+		int best = fromRow;
+		double bestFitness = population.getFitness(fromRow);
+		for(int i = fromRow + 1; i < toRow; i++) {
+			double fitness = population.getFitness(i);
+			if(fitness > bestFitness) {
+				best = i;
+				bestFitness = fitness;
+			}
+		}
+		blockFittest[block] = best;
+		blockFittestFitness[block] = bestFitness;
+	}
+	
+	/**
+	 * @return the row of the current population holding the fittest specimen, taken from the fittest row of each block.
+	 */
+	private int reduceFittest() {
+		int best = 0;
+		for(int b = 1; b < numBlocks; b++) {
+			if(blockFittestFitness[b] > blockFittestFitness[best]) {
+				best = b;
+			}
+		}
+		return blockFittest[best];
+	}
+	
+	/**
+	 * @return The row of the fittest of tournamentSize uniformly drawn specimens of the given population.
+	 */
+	int select(P population, SplittableRandom rand) {
+		int best = rand.nextInt(populationSize);
+		double bestFitness = population.getFitness(best);
+		for(int i = 1; i < tournamentSize; i++) {
+			int contestant = rand.nextInt(populationSize);
+			double fitness = population.getFitness(contestant);
+			if(fitness > bestFitness) {
+				best = contestant;
+				bestFitness = fitness;
+			}
+		}
+		return best;
+	}
+	
+	/**
+	 * @return the generator for one block of a generation, independent of which thread breeds the block.
+	 */
+	private static SplittableRandom blockRandom(long base, int block) {
+		return new SplittableRandom(RandomService.mix(base ^ RandomService.mix(block + 1)));
+	}
+	
+	/**
+	 * Determines if the run should end based on the maximum fitness achieved or the number of generations ran.
+	 * @return True if either end condition is met, false otherwise.
+	 */
+	public boolean areEndConditionsMet() {
+		return (fittestIndex >= 0 && currentPopulation.getFitness(fittestIndex) >= fitnessThreshold) || generationCount >= maxNumGenerations;
+	}
+	
+	/**
+	 * @return A copy of the fittest specimen of the current generation, which is also the fittest found so far.
+	 */
+	public Specimen getFittestSpecimen() {
+		return fittestIndex < 0 ? null : currentPopulation.toSpecimen(fittestIndex);
+	}
+	
+	/**
+	 * @return the row of the current population holding the fittest specimen, or -1 before the population is initialized.
+	 */
+	public int getFittestIndex() {
+		return fittestIndex;
+	}
+	
+	/**
+	 * @return the population holding the current generation. It is overwritten by the generation after next.
+	 */
+	public P getPopulation() {
+		return currentPopulation;
+	}
+	
+	/**
+	 * @return the number of the current generation, starting at 1 for the initial population.
+	 */
+	public long getGenerationCount() {
+		return generationCount;
+	}
+	
+	/**
+	 * Releases the threads held by this runner's {@link EvaluationEngine}. Call once the run is over.
+	 */
+	public void shutdown() {
+		evaluationEngine.shutdown();
+	}
+}
@@ -0,0 +1,289 @@
+package components;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Class that holds a snapshot of a running experiment and reads and writes it in a compact binary format through NIO channels.
+ * The file holds the experiment's counters, master seed and current mutation rate, the trait names, bounds and types written once, the fittest specimen found so far,
+ * and then the population as packed columns: every id, every fitness, and finally the whole gene matrix.
+ * Because every generation's random numbers derive from the master seed and the generation number, the seed and generation count
+ * are all the random number state an experiment needs to resume.
+ */
+public final class Checkpoint {
+	// "GACK"
+	private final static int MAGIC = 0x4741434B;
+	private final static int VERSION = 3;
+	private final static int BUFFER_SIZE = 1 << 20;
+	
+	long seed;
+	long generationCount;
+	int numSpecimensTotal;
+	long evaluationCount;
+	// adapted mutation rate and stagnation counter, added in version 2; NaN and 0 when read from a version 1 file
+	double mutationRate;
+	long generationsWithoutImprovement;
+	Specimen fittest;
+	PackedPopulation population;
+	
+	Checkpoint() {
+	}
+	
+	/**
+	 * Copies the given fittest specimen into this snapshot.
+	 * @param s The fittest specimen found so far, or null.
+	 */
+	void captureFittest(Specimen s) {
+		fittest = s == null ? null : new Specimen(s);
+	}
+	
+	/**
+	 * Copies the given population into this snapshot, reusing the packed population from an earlier snapshot when its shape matches.
+	 * @param traits The blueprint traits.
+	 * @param specimens The population to copy.
+	 */
+	void capturePopulation(Trait[] traits, Specimen[] specimens) {
+		if(population == null || population.getTraits() != traits || population.getSize() != specimens.length) {
+			population = new PackedPopulation(traits, specimens.length);
+		}
+		for(int i = 0; i < specimens.length; i++) {
+			population.load(i, specimens[i]);
+		}
+	}
+	
+	/**
+	 * @return the number of the generation this snapshot was taken at.
+	 */
+	public long getGenerationCount() {
+		return generationCount;
+	}
+	
+	/**
+	 * @return the population held by this snapshot.
+	 */
+	public PackedPopulation getPopulation() {
+		return population;
+	}
+	
+	/**
+	 * Writes the given snapshot to a temporary file beside the given path and then moves it into place,
+	 * so a crash while writing never leaves a half-written checkpoint behind.
+	 * @param path The file to write.
+	 * @param checkpoint The snapshot to write.
+	 * @throws IOException If the file cannot be written.
+	 */
+	public static void write(Path path, Checkpoint checkpoint) throws IOException {
+		Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+		PackedPopulation population = checkpoint.population;
+		Trait[] traits = population.getTraits();
+		try(FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+			buffer.putInt(MAGIC);
+			buffer.putInt(VERSION);
+			buffer.putLong(checkpoint.seed);
+			buffer.putLong(checkpoint.generationCount);
+			buffer.putInt(checkpoint.numSpecimensTotal);
+			buffer.putLong(checkpoint.evaluationCount);
+			buffer.putDouble(checkpoint.mutationRate);
+			buffer.putLong(checkpoint.generationsWithoutImprovement);
+			
+			buffer.putInt(traits.length);
+			for(Trait t : traits) {
+				byte[] name = (t.getName() == null ? "" : t.getName()).getBytes(StandardCharsets.UTF_8);
+				ensureSpace(channel, buffer, 4 + 16 + 4);
+				buffer.putInt(name.length);
+				buffer.putDouble(t.getMinValue());
+				buffer.putDouble(t.getMaxValue());
+				buffer.putInt(t.getType());
+				writeBytes(channel, buffer, name);
+			}
+			
+			ensureSpace(channel, buffer, 1 + 4 + 8);
+			Specimen fittest = checkpoint.fittest;
+			buffer.put((byte) (fittest == null ? 0 : 1));
+			if(fittest != null) {
+				buffer.putInt(fittest.getId());
+				buffer.putDouble(fittest.getFitness());
+				writeDoubles(channel, buffer, fittest.getValues(), 0, traits.length);
+			}
+			
+			int size = population.getSize();
+			ensureSpace(channel, buffer, 4);
+			buffer.putInt(size);
+			for(int i = 0; i < size; i++) {
+				ensureSpace(channel, buffer, 4);
+				buffer.putInt(population.getId(i));
+			}
+			writeDoubles(channel, buffer, population.getFitnesses(), 0, size);
+			writeDoubles(channel, buffer, population.getGenes(), 0, size * traits.length);
+			flush(channel, buffer);
+			channel.force(false);
+		}
+		Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+	
+	/**
+	 * Reads a snapshot written by {@link #write(Path, Checkpoint)}.
+	 * @param path The file to read.
+	 * @return The snapshot held by the file.
+	 * @throws IOException If the file cannot be read or is not a checkpoint.
+	 */
+	public static Checkpoint read(Path path) throws IOException {
+		Checkpoint checkpoint = new Checkpoint();
+		try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+			buffer.flip();
+			fill(channel, buffer, 8);
+			if(buffer.getInt() != MAGIC) {
+				throw new IOException("### " + path + " IS NOT A CHECKPOINT FILE ###");
+			}
+			int version = buffer.getInt();
+			if(version < 1 || version > VERSION) {
+				throw new IOException("### UNSUPPORTED CHECKPOINT VERSION " + version + " ###");
+			}
+			fill(channel, buffer, 8 + 8 + 4 + 8);
+			checkpoint.seed = buffer.getLong();
+			checkpoint.generationCount = buffer.getLong();
+			checkpoint.numSpecimensTotal = buffer.getInt();
+			checkpoint.evaluationCount = buffer.getLong();
+			checkpoint.mutationRate = Double.NaN;
+			if(version >= 2) {
+				fill(channel, buffer, 8 + 8 + 4);
+				checkpoint.mutationRate = buffer.getDouble();
+				checkpoint.generationsWithoutImprovement = buffer.getLong();
+			}
+			else {
+				fill(channel, buffer, 4);
+			}
+			
+			Trait[] traits = new Trait[buffer.getInt()];
+			for(int i = 0; i < traits.length; i++) {
+				fill(channel, buffer, 4 + 16);
+				byte[] name = new byte[buffer.getInt()];
+				double minValue = buffer.getDouble();
+				double maxValue = buffer.getDouble();
+				// trait types were added in version 3; older files only hold continuous traits
+				int type = Trait.TYPE_CONTINUOUS;
+				if(version >= 3) {
+					fill(channel, buffer, 4);
+					type = buffer.getInt();
+				}
+				readBytes(channel, buffer, name);
+				traits[i] = new Trait(new String(name, StandardCharsets.UTF_8), minValue, maxValue, minValue, type);
+			}
+			
+			fill(channel, buffer, 1);
+			if(buffer.get() != 0) {
+				fill(channel, buffer, 4 + 8);
+				Specimen fittest = new Specimen(buffer.getInt(), traits);
+				double fitness = buffer.getDouble();
+				readDoubles(channel, buffer, fittest.getValues(), 0, traits.length);
+				fittest.setFitness(fitness);
+				checkpoint.fittest = fittest;
+			}
+			
+			fill(channel, buffer, 4);
+			PackedPopulation population = new PackedPopulation(traits, buffer.getInt());
+			for(int i = 0; i < population.getSize(); i++) {
+				fill(channel, buffer, 4);
+				population.setId(i, buffer.getInt());
+			}
+			readDoubles(channel, buffer, population.getFitnesses(), 0, population.getSize());
+			readDoubles(channel, buffer, population.getGenes(), 0, population.getGenes().length);
+			checkpoint.population = population;
+		}
+		return checkpoint;
+	}
+	
+	/**
+	 * Flushes the buffer to the channel if fewer than the given number of bytes are free.
+	 */
+	private static void ensureSpace(FileChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+		if(buffer.remaining() < bytes) {
+			flush(channel, buffer);
+		}
+	}
+	
+	/**
+	 * Writes everything in the buffer to the channel and clears it.
+	 */
+	private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+		buffer.flip();
+		while(buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+	
+	/**
+	 * Writes a range of doubles through the buffer in bulk, one buffer-full at a time.
+	 */
+	private static void writeDoubles(FileChannel channel, ByteBuffer buffer, double[] values, int offset, int length) throws IOException {
+		while(length > 0) {
+			ensureSpace(channel, buffer, Double.BYTES);
+			int count = Math.min(length, buffer.remaining() / Double.BYTES);
+			buffer.asDoubleBuffer().put(values, offset, count);
+			buffer.position(buffer.position() + count * Double.BYTES);
+			offset += count;
+			length -= count;
+		}
+	}
+	
+	private static void writeBytes(FileChannel channel, ByteBuffer buffer, byte[] bytes) throws IOException {
+		int offset = 0;
+		while(offset < bytes.length) {
+			ensureSpace(channel, buffer, 1);
+			int count = Math.min(bytes.length - offset, buffer.remaining());
+			buffer.put(bytes, offset, count);
+			offset += count;
+		}
+	}
+	
+	/**
+	 * Reads from the channel until the buffer holds at least the given number of unread bytes.
+	 */
+	private static void fill(FileChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+		if(buffer.remaining() >= bytes) {
+			return;
+		}
+		buffer.compact();
+		while(buffer.position() < bytes) {
+			if(channel.read(buffer) < 0) {
+				throw new IOException("### CHECKPOINT FILE ENDED EARLY ###");
+			}
+		}
+		buffer.flip();
+	}
+	
+	/**
+	 * Reads a range of doubles through the buffer in bulk, one buffer-full at a time.
+	 */
+	private static void readDoubles(FileChannel channel, ByteBuffer buffer, double[] values, int offset, int length) throws IOException {
+		while(length > 0) {
+			fill(channel, buffer, Double.BYTES);
+			int count = Math.min(length, buffer.remaining() / Double.BYTES);
+			buffer.asDoubleBuffer().get(values, offset, count);
+			buffer.position(buffer.position() + count * Double.BYTES);
+			offset += count;
+			length -= count;
+		}
+	}
+	
+	private static void readBytes(FileChannel channel, ByteBuffer buffer, byte[] bytes) throws IOException {
+		int offset = 0;
+		while(offset < bytes.length) {
+			fill(channel, buffer, 1);
+			int count = Math.min(bytes.length - offset, buffer.remaining());
+			buffer.get(bytes, offset, count);
+			offset += count;
+		}
+	}
+}
@@ -0,0 +1,42 @@
+package components;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Class representing an {@link ExperimentListener} that prints the population before each generation is bred,
+ * followed by every breeding event, to console. Useful for following small experiments; large ones should run without it.
+ */
+public class ConsoleListener implements ExperimentListener {
+	
+	/**
+	 * Prints the population about to be bred.
+	 * @param generation The number of the current generation.
+	 * @param population The current population.
+	 */
+	public void onGenerationStart(long generation, Specimen[] population) {
+		System.out.println("### BEGIN PRINTING OF CURRENT POPULATION AT GENERATION " + generation + " ###\n");
+		for(Specimen s : population) {
+			System.out.println(s.toString());
+		}
+		System.out.println("### END PRINTING OF CURRENT POPULATION AT GENERATION " + generation + " ###\n");
+	}
+	
+	/**
+	 * @return true, as every breeding event is printed.
+	 */
+	public boolean wantsBreedEvents() {
+		return true;
+	}
+	
+	/**
+	 * Prints both parents and the child they produced.
+	 * @param parent1 The first parent.
+	 * @param parent2 The second parent.
+	 * @param child The scored child.
+	 */
+	public void onBreed(Specimen parent1, Specimen parent2, Specimen child) {
+		System.out.println("### BREEDING ### \n" + parent1.toString() + "\n" + 
+		"bred with \n" + parent2.toString() + "\n" +
+		"yields\n" + child.toString() + "\n### END BREEDING ### \n");
+	}
+}
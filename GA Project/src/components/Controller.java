@@ -1,9 +1,13 @@
 package components;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.LinkedList;
-import java.util.Random;
+import java.util.HashMap;
+import java.util.SplittableRandom;
 
 /**
  * @author jgross11@ycp.edu
@@ -24,8 +28,33 @@ public class Controller {
 	
 	// constant that enables elitist breeding
 	public final static int BREEDING_ELITIST = 3;
+	
+	// constant that enables NSGA-II breeding, which needs a MultiObjectiveFitnessFunction
+	public final static int BREEDING_NSGA2 = 4;
+	
+	// constant that ends a stagnated experiment
+	public final static int STAGNATION_STOP = 0;
+	
+	// constant that re-randomizes all but the fittest specimens of a stagnated experiment and keeps running
+	public final static int STAGNATION_REDIVERSIFY = 1;
+	
+	// constant that breeds and scores every child, duplicate or not
+	public final static int DUPLICATES_ALLOW = 0;
+	
+	// constant that gives children whose genome is already in the new generation or among their parents that specimen's fitness instead of scoring them
+	public final static int DUPLICATES_SHARE_FITNESS = 1;
+	
+	// constant that breeds children whose genome is already in the new generation again, and shares fitness with parents they copy
+	public final static int DUPLICATES_REPLACE = 2;
+	
+	// constant that caps how many times a duplicate child is bred again before a random specimen takes its place
+	public final static int MAX_DUPLICATE_RETRIES = 3;
+	
+	// first stream number of rediversification, one stream per generation after it; generations count up from 0,
+	// islands count down from -1, and the steady-state runner counts up from Long.MIN_VALUE, so the ranges never meet
+	private final static long REDIVERSIFY_STREAMS = Long.MIN_VALUE / 2;
 	private FitnessFunction func;
-	private LinkedList<Specimen> allSpecimens;
+	private SpecimenHistory history;
 	private Trait[] blueprintTraitList;
 	private Specimen[] currentPopulation;
 	private int numSpecimensTotal;
@@ -34,13 +63,84 @@ public class Controller {
 	private double fitnessThreshold;
 	private double truncationConstant;
 	private Specimen currentFittestSpecimen;
+	// fittest specimen of the current population, kept up to date as each generation is scored
+	private Specimen populationFittest;
 	private double mutationRate;
+	private CrossoverOperator crossoverOperator;
+	private MutationOperator mutationOperator;
+	private int tournamentSize;
+	private double eliteFraction;
+	private RouletteSelection rouletteSelection;
+	private TournamentSelection tournamentSelection;
+	private TruncationSelection truncationSelection;
+	private ElitistSelection elitistSelection;
+	private NSGA2Selection nsga2Selection;
+	private EvaluationEngine evaluationEngine;
+	private RandomService randomService;
+	private ArrayList<ExperimentListener> listeners;
+	private FitnessCache fitnessCache;
+	private long evaluationCount;
+	private AsyncCheckpointWriter checkpointWriter;
+	private Path checkpointPath;
+	private long checkpointInterval;
+	// when true, generations are bred into two recycled buffers of specimens instead of newly allocated ones
+	private boolean pooledGenerations;
+	private Specimen[] spareGeneration;
+	// copy of the fittest specimen kept when pooling, since pooled specimens are overwritten
+	private Specimen fittestSnapshot;
+	private long lastGenerationAllocatedBytes;
+	// reused gene matrix and fitness array that specimens are packed into for a BatchFitnessFunction
+	private double[] batchGenes;
+	private double[] batchFitnesses;
+	private MutationSchedule mutationSchedule;
+	// stopping rules: 0 disables the stagnation limit, diversity threshold and time budget
+	private long stagnationLimit;
+	private double diversityThreshold;
+	private long timeBudgetNanos;
+	private int stagnationAction;
+	private long generationsWithoutImprovement;
+	private long numRediversifications;
+	private long runStartNanos;
+	// fitness of the fitter parent of each child, reused every generation to measure the success ratio
+	private double[] parentFitnesses;
+	private double lastSuccessRatio;
+	// population diversity, cached for the generation it was measured at
+	private double diversity;
+	private long diversityGeneration;
+	// measurements of the last generation, reused every generation; fitness statistics are only taken when metrics are enabled
+	private final GenerationMetrics metrics;
+	private boolean metricsEnabled;
+	// true when a specimen scored outside of this controller improved on the fittest since the last external generation
+	private boolean externalImprovement;
+	// duplicate handling: the index maps genome hashes to rows of the new generation, or to parent rows offset by the population size
+	private int duplicatePolicy;
+	private GenomeHashIndex genomeIndex;
+	private int[] duplicateOf;
+	private Specimen[] distinctChildren;
+	// parent rows of each child, only kept while a listener wants breeding events
+	private int[] p1Indices;
+	private int[] p2Indices;
+	private long numDuplicates;
+	// fraction of distinct genomes in the population, cached for the generation it was measured at
+	private double genomeDiversity;
+	private long genomeDiversityGeneration;
+	// memetic stage: the local search refines the fittest localSearchTopK specimens of each generation, spending at most localSearchBudget evaluations on each
+	private LocalSearch localSearch;
+	private int localSearchTopK;
+	private int localSearchBudget;
+	private long localSearchEvaluationCount;
+	private int[] localSearchEvaluations;
+	// surrogate pre-screening: once the model has surrogateMinSamples samples, only surrogateFraction of each generation's children is scored for real
+	private SurrogateModel surrogate;
+	private double surrogateFraction;
+	private int surrogateMinSamples;
+	private long numEstimated;
 	
 	/**
-	 *  Controller constructor inits current population and all specimens list
+	 *  Controller constructor inits current population and specimen history, which is disabled by default
 	 */
 	public Controller() {
-		allSpecimens = new LinkedList<Specimen>();
+		history = new DisabledHistory();
 		currentPopulation = new Specimen[0];
 		blueprintTraitList = new Trait[0];
 		numSpecimensTotal = 0;
@@ -50,6 +150,37 @@ public class Controller {
 		currentFittestSpecimen = null;
 		truncationConstant = 0;
 		mutationRate = 0.0;
+		crossoverOperator = new UniformCrossover();
+		mutationOperator = new GaussianMutation();
+		tournamentSize = 2;
+		eliteFraction = 0.10;
+		evaluationEngine = new SerialEvaluationEngine();
+		randomService = new RandomService();
+		listeners = new ArrayList<ExperimentListener>();
+		fitnessCache = null;
+		evaluationCount = 0;
+		checkpointWriter = null;
+		pooledGenerations = false;
+		lastGenerationAllocatedBytes = -1;
+		mutationSchedule = null;
+		stagnationLimit = 0;
+		diversityThreshold = 0;
+		timeBudgetNanos = 0;
+		stagnationAction = STAGNATION_STOP;
+		generationsWithoutImprovement = 0;
+		numRediversifications = 0;
+		runStartNanos = System.nanoTime();
+		lastSuccessRatio = 0;
+		diversityGeneration = -1;
+		genomeDiversityGeneration = -1;
+		metrics = new GenerationMetrics();
+		metricsEnabled = false;
+		duplicatePolicy = DUPLICATES_ALLOW;
+		numDuplicates = 0;
+		localSearch = null;
+		localSearchEvaluationCount = 0;
+		surrogate = null;
+		numEstimated = 0;
 	}
 	
 	/**
@@ -62,7 +193,8 @@ public class Controller {
 	}
 	
 	/**
-	 * @return the current population array.
+	 * @return the current population array. Only the fittest specimens the last {@link SelectionStrategy} needed are guaranteed to be
+	 * in order, at the end of the array; call {@link #sortPopulation()} first if the whole array must be sorted.
 	 */
 	public Specimen[] getPopulation() {
 		return currentPopulation;
@@ -72,29 +204,81 @@ public class Controller {
 	 * Initializes population array with {@link Specimen} with the "blueprint" {@link Trait}'s found in the blueprintTraitList array and calculates individual species' fitness, normalized fitness, and .
 	 */
 	public void initializePopulation() {
+		checkPermutationOperators();
+		// stream 0 is reserved for the initial population; generation g breeds from stream g
+		SplittableRandom rand = randomService.forStream(0);
 		// create specimens for each index in the currentPopulation array
 		for(int i = 0; i < currentPopulation.length; i++) {
-			Specimen newSpecimen = new Specimen(++numSpecimensTotal, blueprintTraitList.length);
+			// specimens share the blueprint trait names and bounds rather than holding a copy each
+			Specimen newSpecimen = new Specimen(++numSpecimensTotal, blueprintTraitList);
 			
 			// generate trait data for each specimen for each trait
-			for(int j = 0; j < blueprintTraitList.length; j++) {
-				newSpecimen.addTraitAtIndex(j, new Trait(blueprintTraitList[j]));
-			}
+			Trait.generateGenome(blueprintTraitList, newSpecimen.getValues(), 0, rand);
 			currentPopulation[i] = newSpecimen;
-			allSpecimens.add(0, newSpecimen);
 		}
 		calculatePopulationFitnesses();
-		Arrays.sort(currentPopulation);
+		trainSurrogate(currentPopulation, currentPopulation.length);
+		history.record(generationCount, currentPopulation);
+		populationFittest = PopulationOrdering.findFittest(currentPopulation, 0, currentPopulation.length);
+		runStartNanos = System.nanoTime();
+		generationsWithoutImprovement = 0;
+		diversityGeneration = -1;
+		genomeDiversityGeneration = -1;
+		for(ExperimentListener listener : listeners) {
+			listener.onPopulationInitialized(generationCount, currentPopulation);
+		}
+	}
+	
+	/**
+	 * Copies the current population into a {@link PackedPopulation}, whose genes and fitness values are stored in primitive arrays
+	 * and whose trait names and bounds are taken once from the blueprint trait array.
+	 * @return A packed copy of the current population. 
+	 */
+	public PackedPopulation packPopulation() {
+		return PackedPopulation.fromSpecimens(blueprintTraitList, currentPopulation);
 	}
 	
 	/**
-	 * Sets this Controller's fitness function.
+	 * Sets this Controller's fitness function. A {@link BatchFitnessFunction} scores each generation from a packed gene matrix.
 	 * @param f The fitness function to use. 
 	 */
 	public void setFitnessFunction(FitnessFunction f) {
 		func = f;
 	}
 	
+	/**
+	 * Registers a listener that is notified of the experiment's events. No events are formatted or printed
+	 * unless a listener asks for them, e.g. a {@link ConsoleListener}.
+	 * @param listener The listener to add. 
+	 */
+	public void addListener(ExperimentListener listener) {
+		listeners.add(listener);
+	}
+	
+	/**
+	 * Stops notifying the given listener of the experiment's events.
+	 * @param listener The listener to remove. 
+	 */
+	public void removeListener(ExperimentListener listener) {
+		listeners.remove(listener);
+	}
+	
+	/**
+	 * Sets the master seed that every random draw of the experiment derives from. Two runs with the same seed and settings
+	 * produce the same populations, whatever their parallelism. Call before {@link #initializePopulation()}.
+	 * @param seed The master seed to use. 
+	 */
+	public void setSeed(long seed) {
+		randomService = new RandomService(seed);
+	}
+	
+	/**
+	 * @return This experiment's {@link RandomService}.
+	 */
+	public RandomService getRandomService() {
+		return randomService;
+	}
+	
 	/**
 	 * Sets the mutation rate of the experiment. 
 	 * @param mr The mutation rate to set. 
@@ -110,6 +294,55 @@ public class Controller {
 		return mutationRate;
 	}
 	
+	/**
+	 * Sets the operator that combines two parents' traits into a child's. Defaults to {@link UniformCrossover}.
+	 * Genomes with permutation traits need an operator that {@link CrossoverOperator#preservesPermutations() preserves them}.
+	 * @param crossover The crossover operator to use. 
+	 */
+	public void setCrossoverOperator(CrossoverOperator crossover) {
+		crossoverOperator = crossover;
+	}
+	
+	/**
+	 * @return This experiment's crossover operator.
+	 */
+	public CrossoverOperator getCrossoverOperator() {
+		return crossoverOperator;
+	}
+	
+	/**
+	 * Sets the operator that mutates each child's traits, each with probability equal to the mutation rate. Defaults to {@link GaussianMutation}.
+	 * Genomes with permutation traits need an operator that {@link MutationOperator#preservesPermutations() preserves them}.
+	 * @param mutation The mutation operator to use. 
+	 */
+	public void setMutationOperator(MutationOperator mutation) {
+		mutationOperator = mutation;
+	}
+	
+	/**
+	 * @return This experiment's mutation operator.
+	 */
+	public MutationOperator getMutationOperator() {
+		return mutationOperator;
+	}
+	
+	/**
+	 * Checks that breeding keeps permutation traits permutations: when the blueprint has {@link Trait#TYPE_PERMUTATION} traits,
+	 * both operators must preserve them, e.g. {@link OrderCrossover} and {@link SwapMutation}, since the defaults would silently
+	 * give children duplicate and missing elements.
+	 */
+	void checkPermutationOperators() {
+		if(crossoverOperator.preservesPermutations() && mutationOperator.preservesPermutations()) {
+			return;
+		}
+		for(Trait t : blueprintTraitList) {
+			if(t.getType() == Trait.TYPE_PERMUTATION) {
+				throw new IllegalStateException("### PERMUTATION TRAITS NEED OPERATORS THAT PRESERVE PERMUTATIONS, SUCH AS OrderCrossover AND SwapMutation, GOT "
+						+ crossoverOperator.getClass().getSimpleName() + " AND " + mutationOperator.getClass().getSimpleName() + " ###");
+			}
+		}
+	}
+	
 	/**
 	 * Sets the number of traits a {@link Specimen} in this experiment has
 	 * @param numTraits the desired number of {@link Trait}s.
@@ -128,181 +361,1437 @@ public class Controller {
 	}
 	
 	/**
-	 * Calculates the fitness of every {@link Specimen} in the population array by using the appropriate {@link FitnessFunction}.
+	 * Sets the {@link EvaluationEngine} used to score whole generations. Any previously set engine is shut down.
+	 * @param engine The evaluation engine to use. 
 	 */
-	public void calculatePopulationFitnesses() {
-		for(Specimen s : currentPopulation) {
-			if(s.getFitness() == 0) {
-				calculateFitness(s);
-			}
+	public void setEvaluationEngine(EvaluationEngine engine) {
+		if(evaluationEngine != null && evaluationEngine != engine) {
+			evaluationEngine.shutdown();
 		}
+		evaluationEngine = engine;
 	}
 	
 	/**
-	 * Calculates the fitness of a given {@link Specimen}
-	 * @param s the {@link Specimen} whose fitness will be calculated.
+	 * @return This experiment's {@link EvaluationEngine}.
 	 */
-	public void calculateFitness(Specimen s) {
-		s.setFitness(func.calculateFitness(s));
+	public EvaluationEngine getEvaluationEngine() {
+		return evaluationEngine;
 	}
 	
 	/**
-	 * @return The current most fit {@link Specimen} NOTE: does not calculate fittest, call {@link #findFittestSpecimen() to determine the fittest {@link Specimen}.}
+	 * Sets the number of threads used to score a generation. A value of 1 scores serially on the calling thread.
+	 * NOTE: the {@link FitnessFunction} must be safe to call from several threads at once when parallelism exceeds 1.
+	 * @param parallelism The number of threads to use. 
 	 */
-	public Specimen getFittestSpecimen() {
-		return currentFittestSpecimen;
+	public void setParallelism(int parallelism) {
+		setEvaluationEngine(parallelism <= 1 ? new SerialEvaluationEngine() : new ForkJoinEvaluationEngine(parallelism));
 	}
 	
 	/**
-	 * Searches the current population to find the {@link Specimen} whose fitness is closest to 1. 
-	 * @return The {@link Specimen} whose fitness is closest to 1. 
+	 * Releases the threads held by this experiment's {@link EvaluationEngine} and closes its {@link SpecimenHistory}. Call once the experiment is over.
 	 */
-	public Specimen findFittestSpecimen() {
-		double fittest = currentPopulation[0].getFitness();
-		int fittestIndex = 0;
-		for(int i = 0; i < currentPopulation.length; i++) {
-			double currentFitness = currentPopulation[i].getFitness();
-			if(currentFitness > fittest) {
-				fittest = currentFitness;
-				fittestIndex = i;
-			}
+	public void shutdown() {
+		evaluationEngine.shutdown();
+		history.close();
+		if(checkpointWriter != null) {
+			checkpointWriter.shutdown();
 		}
-		currentFittestSpecimen = currentPopulation[fittestIndex];
-		return currentFittestSpecimen;
 	}
 	
 	/**
-	 * Prints the information of every {@link Specimen} in the current population to console.
+	 * Makes the experiment write a checkpoint to the given file every interval generations. Checkpoints are written on a background thread;
+	 * the generation loop only copies the population, and skips a checkpoint rather than waiting if the previous one is still being written.
+	 * @param path The checkpoint file, replaced by each new checkpoint.
+	 * @param interval The number of generations between checkpoints.
 	 */
-	public void printCurrentPopulation() {
-		System.out.println("### BEGIN PRINTING OF CURRENT POPULATION AT GENERATION " + generationCount + " ###\n");
-		for(Specimen s : currentPopulation) {
-			System.out.println(s.toString());
+	public void enableCheckpoints(String path, long interval) {
+		if(interval < 1) {
+			throw new IllegalArgumentException("### CHECKPOINT INTERVAL MUST BE AT LEAST 1, GOT " + interval + " ###");
 		}
-		System.out.println("### END PRINTING OF CURRENT POPULATION AT GENERATION " + generationCount + " ###\n");
+		if(checkpointWriter == null) {
+			checkpointWriter = new AsyncCheckpointWriter();
+		}
+		checkpointPath = Paths.get(path);
+		checkpointInterval = interval;
 	}
 	
 	/**
-	 * Prints the information of every {@link Specimen} created in the experiment to console.
+	 * @return the number of checkpoints skipped because the previous one was still being written.
 	 */
-	public void printAllSpecimens() {
-		System.out.println("### BEGIN PRINTING OF ALL SPECIMENS ###");
-		for(Specimen s : allSpecimens) {
-			System.out.println(s.toString());
-		}
-		System.out.println("### END PRINTING OF ALL SPECIMENS ###");
+	public long getNumSkippedCheckpoints() {
+		return checkpointWriter == null ? 0 : checkpointWriter.getNumSkipped();
 	}
-
+	
 	/**
-	 * Sets the maximum number of generations the experiment will run.
-	 * @param maxGens the maximum number of generations to run.
+	 * Writes a checkpoint of the experiment to the given file, waiting until it is on disk.
+	 * @param path The file to write.
 	 */
-	public void setMaxGenerationsCount(long maxGens) {
-		maxNumGenerations = maxGens;
+	public void saveCheckpoint(String path) {
+		if(checkpointWriter != null) {
+			checkpointWriter.await();
+		}
+		Checkpoint checkpoint = new Checkpoint();
+		captureCheckpoint(checkpoint);
+		try {
+			Checkpoint.write(Paths.get(path), checkpoint);
+		}
+		catch(IOException e) {
+			throw new UncheckedIOException("### COULD NOT WRITE CHECKPOINT " + path + " ###", e);
+		}
 	}
-
+	
 	/**
-	 * Sets the minimum fitness value a solution must reach before the experiment ends.
-	 * @param fitThresh The minimum fitness value a successful solution must have. 
+	 * Replaces this experiment's traits, population, counters and master seed with those of the given checkpoint, so that the
+	 * experiment continues as if it had never stopped. The fitness function, breeding settings and end conditions are not stored
+	 * in a checkpoint and must be set again, but the current mutation rate is restored. A time budget restarts from the call. Use instead of {@link #initializePopulation()}.
+	 * @param path The checkpoint file to read.
 	 */
-	public void setFitnessThreshold(double fitThresh) {
-		fitnessThreshold = fitThresh;
+	public void resumeFromCheckpoint(String path) {
+		Checkpoint checkpoint;
+		try {
+			checkpoint = Checkpoint.read(Paths.get(path));
+		}
+		catch(IOException e) {
+			throw new UncheckedIOException("### COULD NOT READ CHECKPOINT " + path + " ###", e);
+		}
+		PackedPopulation population = checkpoint.population;
+		blueprintTraitList = population.getTraits();
+		currentPopulation = new Specimen[population.getSize()];
+		for(int i = 0; i < currentPopulation.length; i++) {
+			currentPopulation[i] = population.toSpecimen(i);
+		}
+		randomService = new RandomService(checkpoint.seed);
+		generationCount = checkpoint.generationCount;
+		numSpecimensTotal = checkpoint.numSpecimensTotal;
+		evaluationCount = checkpoint.evaluationCount;
+		currentFittestSpecimen = checkpoint.fittest;
+		populationFittest = PopulationOrdering.findFittest(currentPopulation, 0, currentPopulation.length);
+		if(!Double.isNaN(checkpoint.mutationRate)) {
+			mutationRate = checkpoint.mutationRate;
+		}
+		generationsWithoutImprovement = checkpoint.generationsWithoutImprovement;
+		runStartNanos = System.nanoTime();
+		diversityGeneration = -1;
+		genomeDiversityGeneration = -1;
+		trainSurrogate(currentPopulation, currentPopulation.length);
 	}
 	
 	/**
-	 * Used to set the truncation constant that {@link #BREEDING_TRUNCATION} will use to determine 
-	 * what percentage of the population will be used to breed the next generation. 
-	 * @param trunConst The truncation constant to set. 
+	 * Scores for real every specimen of the current population whose fitness is still a surrogate prediction. Checkpoints store
+	 * fitness without that flag, so a resumed run would otherwise take the predictions as real and train its model on them.
 	 */
-	public void setTruncationConstant(double trunConst) {
-		truncationConstant = trunConst;
+	private void scorePopulationEstimates() {
+		if(surrogate == null) {
+			return;
+		}
+		Specimen[] estimates = null;
+		int numEstimates = 0;
+		for(Specimen s : currentPopulation) {
+			if(s.isFitnessEstimated()) {
+				if(estimates == null) {
+					estimates = new Specimen[currentPopulation.length];
+				}
+				estimates[numEstimates++] = s;
+			}
+		}
+		if(numEstimates == 0) {
+			return;
+		}
+		scoreEstimates(estimates, numEstimates);
+		populationChanged();
+		if(populationFittest.getFitness() > currentFittestSpecimen.getFitness()) {
+			setFittestSpecimen(populationFittest);
+		}
 	}
-
+	
 	/**
-	 * Determines if the experiment should end based on maximum fitness achieved or the number of generations ran. 
-	 * @return True if at least one end condition is met. 
+	 * Copies the experiment's state into the given snapshot.
+	 * @param checkpoint The snapshot to fill.
 	 */
-	public boolean areEndConditionsMet() {
-		// end experiment when current fittest specimen's fitness exceeds fitness threshold or max # of generations have been generated
-		return ((currentFittestSpecimen != null && currentFittestSpecimen.getFitness() >= fitnessThreshold) || generationCount >= maxNumGenerations);
+	private void captureCheckpoint(Checkpoint checkpoint) {
+		scorePopulationEstimates();
+		checkpoint.seed = randomService.getSeed();
+		checkpoint.generationCount = generationCount;
+		checkpoint.numSpecimensTotal = numSpecimensTotal;
+		checkpoint.evaluationCount = evaluationCount;
+		checkpoint.mutationRate = mutationRate;
+		checkpoint.generationsWithoutImprovement = generationsWithoutImprovement;
+		checkpoint.captureFittest(currentFittestSpecimen);
+		checkpoint.capturePopulation(blueprintTraitList, currentPopulation);
 	}
-
+	
 	/**
-	 * Generates the next generation based off the current array using a given breeding method. 
-	 * @param breedingMethod The method of breeding used to create the next generation. 
+	 * Calculates the fitness of every {@link Specimen} in the population array by using the appropriate {@link FitnessFunction}.
 	 */
-	public void createNextGeneration(int breedingMethod) {
-		// create array that holds new generation
-		Specimen[] newGeneration = new Specimen[currentPopulation.length];
-		Random rand = new Random();
+	public void calculatePopulationFitnesses() {
+		// gather specimens that have not been scored yet
+		int numPending = 0;
+		for(Specimen s : currentPopulation) {
+			if(!s.isEvaluated()) {
+				numPending++;
+			}
+		}
 		
-		// populate next generation depending on desired breeding method
-		switch(breedingMethod) {
-			case BREEDING_ROULETTE:
-				
-			break;
-			
-			case BREEDING_TOURNAMENT:
-				
-			break;
-			
-			case BREEDING_TRUNCATION: 
-				if(truncationConstant <= 0 || truncationConstant > 1) {
-					System.err.println(" ### WARNING: CONDITION 0 <= truncationConstant < 1 NOT MET: MUST USE setTruncationConstant() BEFORE BREEDING WITH THIS METHOD");
-					newGeneration = currentPopulation;
-					break;
-				}
-				
-				else {
-					// calculate lowest usable index
-					// TODO think about changing sort s.t. pop[0] contains most fit and pop[end] contains least fit specimen
-					int lowestIndex = (int) Math.round(currentPopulation.length * truncationConstant);
-					
-					printCurrentPopulation();
-					for(int i = 0; i < currentPopulation.length; i++) {
-						int p1Index = rand.nextInt(lowestIndex);
-						int p2Index = rand.nextInt(lowestIndex);
-						
-						// fix case where p1 == p2, occurs with probability 1 / lowestIndex
-						if(p2Index == p1Index) {
-							p2Index = (p2Index + 1 + rand.nextInt(lowestIndex)) % lowestIndex;
-						}
-						
-						// breed p1 Specimen with p2 Specimen and store in next generation
-						Specimen child = currentPopulation[currentPopulation.length - p1Index - 1].breed(currentPopulation[currentPopulation.length - p2Index - 1], mutationRate);
-						child.setId(++numSpecimensTotal);
-						calculateFitness(child);
-						System.out.println("### BREEDING ### \n" + currentPopulation[p1Index].toString() + "\n" + 
-						"bred with \n" + currentPopulation[p2Index].toString() + "\n" +
-						"yields\n" + child.toString() + "\n### END BREEDING ### \n");
-						newGeneration[i] = child;
-					}
+		Specimen[] pending = currentPopulation;
+		if(numPending != currentPopulation.length) {
+			pending = new Specimen[numPending];
+			int index = 0;
+			for(Specimen s : currentPopulation) {
+				if(!s.isEvaluated()) {
+					pending[index++] = s;
 				}
-			break;
-			
-			case BREEDING_ELITIST:
-				
-			break;
-			
+			}
 		}
-		
-		// add next generation to allSpecimens list
-		for(Specimen s : newGeneration) {
-			allSpecimens.add(0, s);
+		evaluateSpecimens(pending, numPending);
+		populationFittest = null;
+	}
+	
+	/**
+	 * Scores the first count specimens of the given array through the {@link EvaluationEngine}. When a {@link FitnessCache} is set,
+	 * cached genomes take their fitness from it and each distinct uncached genome in the batch is scored only once.
+	 * @param specimens The array holding the specimens to score.
+	 * @param count The number of specimens, starting at index 0, to score.
+	 */
+	private void evaluateSpecimens(Specimen[] specimens, int count) {
+		// the cache only remembers fitness, so specimens taken from it would have no objectives
+		if(fitnessCache == null || func instanceof MultiObjectiveFitnessFunction) {
+			scoreSpecimens(specimens, count);
+			evaluationCount += count;
+			return;
 		}
 		
-		// sort next gen by fitness
-		Arrays.sort(newGeneration);
+		// collect the first specimen of each uncached genome; later copies in the batch wait for its result
+		Specimen[] misses = new Specimen[count];
+		int numMisses = 0;
+		HashMap<FitnessCache.GenomeKey, Specimen> firstOfGenome = new HashMap<FitnessCache.GenomeKey, Specimen>();
+		Specimen[] duplicates = null;
+		Specimen[] originals = null;
+		int numDuplicates = 0;
+		for(int i = 0; i < count; i++) {
+			Specimen s = specimens[i];
+			if(fitnessCache.lookup(s)) {
+				continue;
+			}
+			Specimen original = firstOfGenome.putIfAbsent(new FitnessCache.GenomeKey(s.getValues()), s);
+			if(original == null) {
+				misses[numMisses++] = s;
+			}
+			else {
+				if(duplicates == null) {
+					duplicates = new Specimen[count];
+					originals = new Specimen[count];
+				}
+				duplicates[numDuplicates] = s;
+				originals[numDuplicates++] = original;
+			}
+		}
 		
-		// reassign most fit individual if necessary
-		if(newGeneration[newGeneration.length - 1].getFitness() > currentFittestSpecimen.getFitness()) {
-			currentFittestSpecimen = newGeneration[newGeneration.length - 1];
+		scoreSpecimens(misses, numMisses);
+		evaluationCount += numMisses;
+		for(int i = 0; i < numMisses; i++) {
+			fitnessCache.store(misses[i]);
+		}
+		for(int i = 0; i < numDuplicates; i++) {
+			duplicates[i].setFitness(originals[i].getFitness());
+		}
+	}
+	
+	/**
+	 * Scores the children of a new generation that copy no other specimen, then gives every duplicate child the score of the specimen
+	 * it copies, as recorded in duplicateOf while breeding.
+	 * @param newGeneration The generation being created.
+	 * @param numChildren The number of children, starting at index 0.
+	 */
+	private void evaluateDistinctChildren(Specimen[] newGeneration, int numChildren) {
+		if(distinctChildren == null || distinctChildren.length < numChildren) {
+			distinctChildren = new Specimen[currentPopulation.length];
+		}
+		int numDistinct = 0;
+		for(int i = 0; i < numChildren; i++) {
+			if(duplicateOf[i] < 0) {
+				distinctChildren[numDistinct++] = newGeneration[i];
+			}
 		}
+		evaluateChildren(distinctChildren, numDistinct);
+		Arrays.fill(distinctChildren, 0, numDistinct, null);
 		
-		// make next generation the current population
-		currentPopulation = newGeneration;
+		// a child only copies an earlier child, an elite or a parent, all of which are scored by now
+		int size = currentPopulation.length;
+		for(int i = 0; i < numChildren; i++) {
+			int original = duplicateOf[i];
+			if(original >= 0) {
+				newGeneration[i].copyScoreFrom(original < size ? newGeneration[original] : currentPopulation[original - size]);
+				if(newGeneration[i].isFitnessEstimated()) {
+					numEstimated++;
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Scores newly bred children. With a {@link SurrogateModel} that has learnt enough samples, the model predicts every child's fitness,
+	 * only the fraction predicted fittest is scored by the fitness function, and the rest keep their prediction. Every real score teaches the model.
+	 * Children are then scored for real until the fittest of them has a real fitness, so a prediction never becomes the fittest specimen.
+	 * @param children The array holding the children to score.
+	 * @param count The number of children, starting at index 0, to score.
+	 */
+	private void evaluateChildren(Specimen[] children, int count) {
+		// estimated specimens would have no objectives
+		if(surrogate == null || func instanceof MultiObjectiveFitnessFunction) {
+			evaluateSpecimens(children, count);
+			return;
+		}
+		Specimen[] scored = children;
+		int numScored = count;
+		if(count > 0 && surrogate.getNumSamples() >= surrogateMinSamples) {
+			evaluationEngine.run(count, i -> children[i].setEstimatedFitness(surrogate.predict(children[i].getValues(), 0, blueprintTraitList)));
+			numScored = Math.max(1, Math.min(count, (int) Math.ceil(surrogateFraction * count)));
+			
+			// move the children predicted least fit to the front, leaving the promising ones to score at the end
+			Specimen[] ranked = Arrays.copyOf(children, count);
+			PopulationOrdering.selectBottom(ranked, count - numScored);
+			scored = Arrays.copyOfRange(ranked, count - numScored, count);
+			numEstimated += count - numScored;
+		}
+		evaluateSpecimens(scored, numScored);
+		trainSurrogate(scored, numScored);
 		
-		// increment generation count
-		generationCount++;
+		// score every prediction that beats the fittest real child as one batch, until none does
+		Specimen[] promising = null;
+		while(true) {
+			double bestReal = Double.NEGATIVE_INFINITY;
+			for(int i = 0; i < count; i++) {
+				if(!children[i].isFitnessEstimated()) {
+					bestReal = Math.max(bestReal, children[i].getFitness());
+				}
+			}
+			int numPromising = 0;
+			for(int i = 0; i < count; i++) {
+				if(children[i].isFitnessEstimated() && children[i].getFitness() >= bestReal) {
+					if(promising == null) {
+						promising = new Specimen[count];
+					}
+					promising[numPromising++] = children[i];
+				}
+			}
+			if(numPromising == 0) {
+				return;
+			}
+			scoreEstimates(promising, numPromising);
+		}
+	}
+	
+	/**
+	 * Scores for real the first count specimens of the given array, whose fitness is a surrogate prediction, and teaches the model their fitness.
+	 */
+	private void scoreEstimates(Specimen[] estimates, int count) {
+		evaluateSpecimens(estimates, count);
+		trainSurrogate(estimates, count);
+		numEstimated -= count;
+	}
+	
+	/**
+	 * Orders the k fittest specimens of the given array at its end like {@link PopulationOrdering#selectTop(Specimen[], int)},
+	 * first scoring for real those among them whose fitness is only an estimate, so that elites, the parents selection ranks highest
+	 * and the specimens local search refines carry real fitness. Scoring can demote a specimen, so the order is taken again until the k fittest are all real.
+	 * @param specimens The specimens to order.
+	 * @param k The number of fittest specimens to order.
+	 */
+	private void selectTopWithRealFitness(Specimen[] specimens, int k) {
+		int size = specimens.length;
+		while(true) {
+			PopulationOrdering.selectTop(specimens, k);
+			int numEstimatedTop = 0;
+			for(int i = Math.max(0, size - k); i < size; i++) {
+				if(specimens[i].isFitnessEstimated()) {
+					numEstimatedTop++;
+				}
+			}
+			if(numEstimatedTop == 0) {
+				return;
+			}
+			Specimen[] estimates = new Specimen[numEstimatedTop];
+			numEstimatedTop = 0;
+			for(int i = Math.max(0, size - k); i < size; i++) {
+				if(specimens[i].isFitnessEstimated()) {
+					estimates[numEstimatedTop++] = specimens[i];
+				}
+			}
+			scoreEstimates(estimates, estimates.length);
+		}
+	}
+	
+	/**
+	 * Teaches the surrogate model, if there is one, the real fitness of the first count specimens of the given array.
+	 */
+	private void trainSurrogate(Specimen[] specimens, int count) {
+		if(surrogate == null) {
+			return;
+		}
+		for(int i = 0; i < count; i++) {
+			if(specimens[i].isEvaluated() && !specimens[i].isFitnessEstimated()) {
+				surrogate.update(specimens[i].getValues(), 0, blueprintTraitList, specimens[i].getFitness());
+			}
+		}
+	}
+	
+	/**
+	 * Sets the {@link SurrogateModel} that pre-screens each generation's children, or null, the default, to score every child.
+	 * The model learns from the initial population and every specimen scored afterwards; once it has learnt minSamples of them, only the
+	 * given fraction of each generation's children, those it predicts fittest, is scored by the fitness function. The other children keep
+	 * the prediction, flagged by {@link Specimen#isFitnessEstimated()}, and are scored for real only if they become the fittest child
+	 * or one of the fittest specimens selection ranks first. {@link #getEvaluationCount()} counts only real scores.
+	 * NOTE: the surrogate is bypassed for a {@link MultiObjectiveFitnessFunction}.
+	 * @param model The surrogate model to use.
+	 * @param evaluatedFraction The fraction, between 0 and 1, of each generation's children scored by the fitness function.
+	 * @param minSamples The number of samples the model must have learnt before it screens any children.
+	 */
+	public void setSurrogate(SurrogateModel model, double evaluatedFraction, int minSamples) {
+		if(model != null && !(evaluatedFraction > 0 && evaluatedFraction <= 1)) {
+			throw new IllegalArgumentException("### SURROGATE EVALUATED FRACTION MUST BE IN (0, 1], GOT " + evaluatedFraction + " ###");
+		}
+		surrogate = model;
+		surrogateFraction = evaluatedFraction;
+		surrogateMinSamples = minSamples;
+	}
+	
+	/**
+	 * @return the surrogate model that pre-screens children, or null if there is none.
+	 */
+	public SurrogateModel getSurrogate() {
+		return surrogate;
+	}
+	
+	/**
+	 * @return the number of specimens holding a fitness the surrogate model predicted, including duplicate children that inherited a prediction,
+	 * that were never scored for real, over the whole run.
+	 */
+	public long getNumEstimatedFitnesses() {
+		return numEstimated;
+	}
+	
+	/**
+	 * Scores the first count specimens of the given array with the fitness function, bypassing the cache.
+	 * A {@link BatchFitnessFunction} is handed the specimens' values packed into a reused gene matrix, so a whole generation
+	 * is scored in a few tight loops rather than one virtual call per specimen.
+	 * @param specimens The array holding the specimens to score.
+	 * @param count The number of specimens, starting at index 0, to score.
+	 */
+	private void scoreSpecimens(Specimen[] specimens, int count) {
+		if(!(func instanceof BatchFitnessFunction)) {
+			evaluationEngine.evaluate(specimens, count, func);
+			return;
+		}
+		int numTraits = blueprintTraitList.length;
+		if(batchFitnesses == null || batchFitnesses.length < count || batchGenes.length != batchFitnesses.length * numTraits) {
+			batchFitnesses = new double[count];
+			batchGenes = new double[count * numTraits];
+		}
+		for(int i = 0; i < count; i++) {
+			System.arraycopy(specimens[i].getValues(), 0, batchGenes, i * numTraits, numTraits);
+		}
+		evaluationEngine.evaluate(batchGenes, numTraits, count, batchFitnesses, (BatchFitnessFunction) func);
+		for(int i = 0; i < count; i++) {
+			specimens[i].setFitness(batchFitnesses[i]);
+		}
+	}
+	
+	/**
+	 * Sets the {@link FitnessCache} used to skip scoring genomes that were scored before, or null to score every specimen.
+	 * NOTE: only use a cache with a deterministic {@link FitnessFunction}.
+	 * @param cache The fitness cache to use. 
+	 */
+	public void setFitnessCache(FitnessCache cache) {
+		fitnessCache = cache;
+	}
+	
+	/**
+	 * Convenience method that enables a least recently used {@link FitnessCache} holding the given number of genomes.
+	 * @param maxSize The maximum number of genomes to remember.
+	 */
+	public void setFitnessCacheSize(int maxSize) {
+		setFitnessCache(new FitnessCache(maxSize));
+	}
+	
+	/**
+	 * @return This experiment's {@link FitnessCache}, or null if caching is disabled.
+	 */
+	public FitnessCache getFitnessCache() {
+		return fitnessCache;
+	}
+	
+	/**
+	 * @return the number of times the {@link FitnessFunction} has been called, not counting fitness values taken from the cache.
+	 */
+	public long getEvaluationCount() {
+		return evaluationCount;
+	}
+	
+	/**
+	 * Calculates the fitness of a given {@link Specimen}
+	 * @param s the {@link Specimen} whose fitness will be calculated.
+	 */
+	public void calculateFitness(Specimen s) {
+		s.setFitness(func.calculateFitness(s));
+		evaluationCount++;
+	}
+	
+	/**
+	 * @return This experiment's fitness function.
+	 */
+	FitnessFunction getFitnessFunction() {
+		return func;
+	}
+	
+	/**
+	 * @return the number of specimens that compete in each tournament.
+	 */
+	int getTournamentSize() {
+		return tournamentSize;
+	}
+	
+	/**
+	 * @return a new, unused specimen id.
+	 */
+	int nextSpecimenId() {
+		return ++numSpecimensTotal;
+	}
+	
+	/**
+	 * Records a specimen that was scored outside of this controller, e.g. by a {@link SteadyStateRunner}, counting the evaluation
+	 * and keeping it as the fittest specimen found so far if it is.
+	 * @param s The scored specimen, which has been placed in the population.
+	 */
+	void recordExternalEvaluation(Specimen s) {
+		evaluationCount++;
+		if(currentFittestSpecimen == null || s.getFitness() > currentFittestSpecimen.getFitness()) {
+			setFittestSpecimen(s);
+			externalImprovement = true;
+		}
+	}
+	
+	/**
+	 * Counts a generation's worth of specimens that were placed into the population outside of {@link #createNextGeneration(SelectionStrategy)},
+	 * updating the generation count, stagnation tracking and mutation schedule, rediversifying a stagnated population under
+	 * {@link #STAGNATION_REDIVERSIFY}, recording the population in the history and notifying listeners, so end conditions keep working.
+	 * NOTE: no {@link GenerationMetrics} are reported, since such a generation has no selection, breeding or evaluation phase of its own.
+	 * @param successRatio The fraction of those specimens that were fitter than their fitter parent.
+	 * @return true if the population was rediversified, which replaces specimens in place and so breaks any order the caller kept.
+	 */
+	boolean completeExternalGeneration(double successRatio) {
+		generationCount++;
+		generationsWithoutImprovement = externalImprovement ? 0 : generationsWithoutImprovement + 1;
+		externalImprovement = false;
+		lastSuccessRatio = successRatio;
+		populationChanged();
+		if(mutationSchedule != null) {
+			mutationRate = mutationSchedule.nextMutationRate(mutationRate, this);
+		}
+		boolean rediversified = stagnationAction == STAGNATION_REDIVERSIFY && isStagnated();
+		if(rediversified) {
+			rediversify();
+		}
+		history.record(generationCount, currentPopulation);
+		for(ExperimentListener listener : listeners) {
+			listener.onGenerationCreated(generationCount, currentPopulation);
+		}
+		return rediversified;
+	}
+	
+	/**
+	 * Forgets everything cached about the current population after it was changed outside of this controller.
+	 */
+	void populationChanged() {
+		populationFittest = PopulationOrdering.findFittest(currentPopulation, 0, currentPopulation.length);
+		diversityGeneration = -1;
+		genomeDiversityGeneration = -1;
+	}
+	
+	/**
+	 * @return The current most fit {@link Specimen} NOTE: does not calculate fittest, call {@link #findFittestSpecimen() to determine the fittest {@link Specimen}.}
+	 */
+	public Specimen getFittestSpecimen() {
+		return currentFittestSpecimen;
+	}
+	
+	/**
+	 * Finds the {@link Specimen} of the current population whose fitness is closest to 1. The fittest specimen is tracked
+	 * as each generation is scored, so this does not search the population. 
+	 * @return The {@link Specimen} whose fitness is closest to 1. 
+	 */
+	public Specimen findFittestSpecimen() {
+		if(populationFittest == null) {
+			populationFittest = PopulationOrdering.findFittest(currentPopulation, 0, currentPopulation.length);
+		}
+		setFittestSpecimen(populationFittest);
+		return currentFittestSpecimen;
+	}
+	
+	/**
+	 * Records the given specimen as the fittest found so far. When pooling, a copy is kept instead, since the specimen will be recycled.
+	 * @param s The new fittest specimen.
+	 */
+	private void setFittestSpecimen(Specimen s) {
+		if(!pooledGenerations) {
+			currentFittestSpecimen = s;
+		}
+		else if(fittestSnapshot == null || fittestSnapshot.getNumTraits() != s.getNumTraits()) {
+			fittestSnapshot = new Specimen(s);
+			currentFittestSpecimen = fittestSnapshot;
+		}
+		else if(s != fittestSnapshot) {
+			fittestSnapshot.copyFrom(s);
+			currentFittestSpecimen = fittestSnapshot;
+		}
+	}
+	
+	/**
+	 * Copies the fittest specimens of the current population, e.g. to send them to another population as migrants. 
+	 * @param count The number of specimens to copy.
+	 * @return Copies of the count fittest specimens, from least fit to most fit.
+	 */
+	public Specimen[] copyFittestSpecimens(int count) {
+		count = Math.min(count, currentPopulation.length);
+		PopulationOrdering.selectTop(currentPopulation, count);
+		Specimen[] copies = new Specimen[count];
+		for(int i = 0; i < count; i++) {
+			copies[i] = new Specimen(currentPopulation[currentPopulation.length - count + i]);
+		}
+		return copies;
+	}
+	
+	/**
+	 * Replaces the least fit specimens of the current population with copies of the given, already evaluated, specimens.
+	 * A migrant fitter than any specimen found so far counts as an improvement, restarting stagnation counting.
+	 * @param migrants The specimens to insert. At most one per member of the population is used.
+	 */
+	public void replaceWeakestSpecimens(Specimen[] migrants) {
+		int count = Math.min(migrants.length, currentPopulation.length);
+		PopulationOrdering.selectBottom(currentPopulation, count);
+		diversityGeneration = -1;
+		genomeDiversityGeneration = -1;
+		for(int i = 0; i < count; i++) {
+			Specimen migrant;
+			if(pooledGenerations) {
+				migrant = currentPopulation[i];
+				migrant.copyFrom(migrants[i]);
+			}
+			else {
+				migrant = new Specimen(migrants[i]);
+				currentPopulation[i] = migrant;
+			}
+			if(currentFittestSpecimen == null || migrant.getFitness() > currentFittestSpecimen.getFitness()) {
+				setFittestSpecimen(migrant);
+				generationsWithoutImprovement = 0;
+			}
+		}
+		
+		// the previous population fittest may have been among the replaced specimens
+		populationFittest = PopulationOrdering.findFittest(currentPopulation, 0, currentPopulation.length);
+	}
+	
+	/**
+	 * Finds the specimens of the current population that no other specimen dominates, by the objectives of a {@link MultiObjectiveFitnessFunction}.
+	 * @return Copies of the non-dominated specimens.
+	 */
+	public Specimen[] getParetoFront() {
+		if(!(func instanceof MultiObjectiveFitnessFunction)) {
+			throw new IllegalStateException("### A PARETO FRONT NEEDS A MultiObjectiveFitnessFunction ###");
+		}
+		scoreMissingObjectives();
+		NondominatedSorting sorting = new NondominatedSorting();
+		if(sorting.sort(currentPopulation, currentPopulation.length) == 0) {
+			return new Specimen[0];
+		}
+		Specimen[] front = new Specimen[sorting.getFrontSize(0)];
+		for(int i = 0; i < front.length; i++) {
+			front[i] = new Specimen(currentPopulation[sorting.getFrontMember(0, i)]);
+		}
+		return front;
+	}
+	
+	/**
+	 * Scores again every specimen of the current population that has no objectives, e.g. one restored from a checkpoint, which only holds fitness.
+	 */
+	private void scoreMissingObjectives() {
+		boolean missing = false;
+		for(Specimen s : currentPopulation) {
+			if(s.getNumObjectives() == 0) {
+				s.clearFitness();
+				missing = true;
+			}
+		}
+		if(missing) {
+			calculatePopulationFitnesses();
+		}
+	}
+	
+	/**
+	 * Sorts the whole current population from least fit to most fit, e.g. before printing it. 
+	 * Breeding itself only orders the fittest specimens it needs.
+	 */
+	public void sortPopulation() {
+		Arrays.sort(currentPopulation);
+	}
+	
+	/**
+	 * Prints the information of every {@link Specimen} in the current population to console.
+	 */
+	public void printCurrentPopulation() {
+		System.out.println("### BEGIN PRINTING OF CURRENT POPULATION AT GENERATION " + generationCount + " ###\n");
+		for(Specimen s : currentPopulation) {
+			System.out.println(s.toString());
+		}
+		System.out.println("### END PRINTING OF CURRENT POPULATION AT GENERATION " + generationCount + " ###\n");
+	}
+	
+	/**
+	 * Sets the {@link SpecimenHistory} that records every generation, e.g. a {@link RingBufferHistory} of the last N generations
+	 * or a {@link FileHistory} that streams to disk. Any previously set history is closed.
+	 * NOTE: only generations created after this call are recorded.
+	 * @param h The history to use. 
+	 */
+	public void setHistory(SpecimenHistory h) {
+		if(history != h) {
+			history.close();
+		}
+		history = h;
+	}
+	
+	/**
+	 * @return This experiment's {@link SpecimenHistory}.
+	 */
+	public SpecimenHistory getHistory() {
+		return history;
+	}
+	
+	/**
+	 * Prints the information of every {@link Specimen} held by the experiment's {@link SpecimenHistory} to console, oldest first.
+	 */
+	public void printAllSpecimens() {
+		System.out.println("### BEGIN PRINTING OF ALL SPECIMENS ###");
+		history.forEach(s -> System.out.println(s.toString()));
+		System.out.println("### END PRINTING OF ALL SPECIMENS ###");
+	}
+
+	/**
+	 * Sets the maximum number of generations the experiment will run.
+	 * @param maxGens the maximum number of generations to run.
+	 */
+	public void setMaxGenerationsCount(long maxGens) {
+		maxNumGenerations = maxGens;
+	}
+
+	/**
+	 * Sets the minimum fitness value a solution must reach before the experiment ends.
+	 * @param fitThresh The minimum fitness value a successful solution must have. 
+	 */
+	public void setFitnessThreshold(double fitThresh) {
+		fitnessThreshold = fitThresh;
+	}
+	
+	/**
+	 * Used to set the truncation constant that {@link #BREEDING_TRUNCATION} will use to determine 
+	 * what percentage of the population will be used to breed the next generation. 
+	 * @param trunConst The truncation constant to set. 
+	 */
+	public void setTruncationConstant(double trunConst) {
+		truncationConstant = trunConst;
+		truncationSelection = null;
+	}
+	
+	/**
+	 * Used to set the number of specimens that compete in each tournament when breeding with {@link #BREEDING_TOURNAMENT} 
+	 * or {@link #BREEDING_ELITIST}. Defaults to 2.
+	 * @param size The tournament size to set. 
+	 */
+	public void setTournamentSize(int size) {
+		tournamentSize = size;
+		tournamentSelection = null;
+		elitistSelection = null;
+		nsga2Selection = null;
+	}
+	
+	/**
+	 * Used to set the fraction of the fittest specimens that {@link #BREEDING_ELITIST} carries over unchanged into the next generation. 
+	 * The rest of the generation is bred from parents chosen by tournament. Defaults to 0.10.
+	 * @param fraction The elite fraction to set. 
+	 */
+	public void setEliteFraction(double fraction) {
+		eliteFraction = fraction;
+		elitistSelection = null;
+	}
+
+	/**
+	 * Determines if the experiment should end based on maximum fitness achieved, the number of generations ran, the time budget,
+	 * or, when the stagnation action is {@link #STAGNATION_STOP}, stagnation. 
+	 * @return True if at least one end condition is met. 
+	 */
+	public boolean areEndConditionsMet() {
+		// end experiment when current fittest specimen's fitness exceeds fitness threshold or max # of generations have been generated
+		return (isFitnessThresholdMet() || generationCount >= maxNumGenerations || isTimeBudgetExhausted()
+				|| (stagnationAction == STAGNATION_STOP && isStagnated()));
+	}
+	
+	/**
+	 * Sets the number of generations in a row without any improvement of the fittest specimen found so far after which the experiment
+	 * counts as stagnated. 0, the default, disables this rule.
+	 * @param generations The stagnation limit.
+	 */
+	public void setStagnationLimit(long generations) {
+		stagnationLimit = generations;
+	}
+	
+	/**
+	 * Sets the population diversity, as measured by {@link #getPopulationDiversity()}, below which the experiment counts as stagnated.
+	 * 0, the default, disables this rule.
+	 * @param threshold The diversity threshold.
+	 */
+	public void setDiversityThreshold(double threshold) {
+		diversityThreshold = threshold;
+	}
+	
+	/**
+	 * Sets the wall-clock time after which the experiment ends, measured from {@link #initializePopulation()} or
+	 * {@link #resumeFromCheckpoint(String)}. 0, the default, disables the budget.
+	 * @param millis The time budget in milliseconds.
+	 */
+	public void setTimeBudget(long millis) {
+		timeBudgetNanos = millis * 1000000;
+	}
+	
+	/**
+	 * Sets what happens when the experiment stagnates: {@link #STAGNATION_STOP}, the default, ends it, and {@link #STAGNATION_REDIVERSIFY}
+	 * re-randomizes every specimen except the elite fraction, scores them, and keeps running.
+	 * @param action The stagnation action constant.
+	 */
+	public void setStagnationAction(int action) {
+		if(action != STAGNATION_STOP && action != STAGNATION_REDIVERSIFY) {
+			throw new IllegalArgumentException("### INVALID STAGNATION ACTION " + action + " ###");
+		}
+		stagnationAction = action;
+	}
+	
+	/**
+	 * @return True if the fittest specimen has not improved for the stagnation limit or the population's diversity is below the diversity threshold.
+	 */
+	public boolean isStagnated() {
+		return (stagnationLimit > 0 && generationsWithoutImprovement >= stagnationLimit)
+				|| (diversityThreshold > 0 && getPopulationDiversity() < diversityThreshold);
+	}
+	
+	/**
+	 * @return True if a time budget is set and it has run out.
+	 */
+	public boolean isTimeBudgetExhausted() {
+		return timeBudgetNanos > 0 && System.nanoTime() - runStartNanos >= timeBudgetNanos;
+	}
+	
+	/**
+	 * @return the number of generations in a row the fittest specimen found so far has not improved. 
+	 */
+	public long getGenerationsWithoutImprovement() {
+		return generationsWithoutImprovement;
+	}
+	
+	/**
+	 * @return the number of times the population has been re-randomized because it stagnated.
+	 */
+	public long getNumRediversifications() {
+		return numRediversifications;
+	}
+	
+	/**
+	 * Sets the schedule that adapts the mutation rate after each generation, or null, the default, to keep the rate fixed.
+	 * The rate set by {@link #setMutationRate(double)} is the schedule's starting point.
+	 * @param schedule The mutation schedule to use.
+	 */
+	public void setMutationSchedule(MutationSchedule schedule) {
+		mutationSchedule = schedule;
+	}
+	
+	/**
+	 * @return the fraction of the last generation's children that were fitter than their fitter parent.
+	 */
+	public double getLastSuccessRatio() {
+		return lastSuccessRatio;
+	}
+	
+	/**
+	 * Measures how spread out the current population is: the standard deviation of each trait's values as a fraction of the trait's range,
+	 * averaged over the traits. It is 0 when every specimen is identical and about 0.29 for a uniformly random population.
+	 * The value is cached until the population changes.
+	 * @return The population diversity.
+	 */
+	public double getPopulationDiversity() {
+		if(diversityGeneration == generationCount) {
+			return diversity;
+		}
+		int size = currentPopulation.length;
+		double total = 0;
+		for(int j = 0; j < blueprintTraitList.length; j++) {
+			double range = blueprintTraitList[j].getMaxValue() - blueprintTraitList[j].getMinValue();
+			if(range <= 0 || size == 0) {
+				continue;
+			}
+			double mean = 0;
+			for(Specimen s : currentPopulation) {
+				mean += s.getValue(j);
+			}
+			mean /= size;
+			double variance = 0;
+			for(Specimen s : currentPopulation) {
+				double d = s.getValue(j) - mean;
+				variance += d * d;
+			}
+			total += Math.sqrt(variance / size) / range;
+		}
+		diversity = blueprintTraitList.length == 0 ? 0 : total / blueprintTraitList.length;
+		diversityGeneration = generationCount;
+		return diversity;
+	}
+	
+	/**
+	 * Measures how many of the current population's genomes are distinct, by hashing each genome into a {@link GenomeHashIndex}.
+	 * Unlike {@link #getPopulationDiversity()} it does not see how far apart genomes are, only whether they are copies,
+	 * which makes it the measure to watch for a population filling up with clones. The value is cached until the population changes.
+	 * @return The number of distinct genomes divided by the population size, 1 when no two specimens share a genome.
+	 */
+	public double getGenomeDiversity() {
+		if(genomeDiversityGeneration == generationCount) {
+			return genomeDiversity;
+		}
+		int size = currentPopulation.length;
+		genomeDiversity = size == 0 ? 0 : (double) takeGenomeIndex(size).countDistinct(currentPopulation, size) / size;
+		genomeDiversityGeneration = generationCount;
+		return genomeDiversity;
+	}
+	
+	/**
+	 * Sets what happens to children whose genome another specimen already has: {@link #DUPLICATES_ALLOW}, the default, scores every child,
+	 * {@link #DUPLICATES_SHARE_FITNESS} copies the fitness of the new generation's earlier copy or of the parent the child matches instead of
+	 * scoring it again, and {@link #DUPLICATES_REPLACE} also breeds a child that copies a specimen of the new generation again, up to
+	 * {@link #MAX_DUPLICATE_RETRIES} times, before a random specimen takes its place. Duplicates are found by genome hash as each child is bred.
+	 * NOTE: only share fitness with a deterministic {@link FitnessFunction}, as a shared genome is never re-scored.
+	 * @param policy The duplicate policy constant.
+	 */
+	public void setDuplicatePolicy(int policy) {
+		if(policy < DUPLICATES_ALLOW || policy > DUPLICATES_REPLACE) {
+			throw new IllegalArgumentException("### INVALID DUPLICATE POLICY " + policy + " ###");
+		}
+		duplicatePolicy = policy;
+	}
+	
+	/**
+	 * @return the duplicate policy constant in use.
+	 */
+	public int getDuplicatePolicy() {
+		return duplicatePolicy;
+	}
+	
+	/**
+	 * @return the number of children found to duplicate a specimen of their generation or one of their parents' generation, over the whole run.
+	 * Always 0 under {@link #DUPLICATES_ALLOW}, which does not look for duplicates.
+	 */
+	public long getNumDuplicates() {
+		return numDuplicates;
+	}
+	
+	/**
+	 * Adds a memetic stage to every generation: once the generation is bred and scored, its fittest specimens are refined in place by the
+	 * given {@link LocalSearch}, in parallel on the {@link EvaluationEngine}. The evaluations the search spends count towards
+	 * {@link #getEvaluationCount()} and bypass the {@link FitnessCache}.
+	 * NOTE: the fitness function must be safe to call from several threads at once when parallelism exceeds 1.
+	 * @param search The local search to use, or null, the default, to disable the stage.
+	 * @param topK The number of fittest specimens refined each generation.
+	 * @param budget The maximum number of evaluations spent refining each of those specimens.
+	 */
+	public void setLocalSearch(LocalSearch search, int topK, int budget) {
+		if(search != null && (topK < 1 || budget < 1)) {
+			throw new IllegalArgumentException("### LOCAL SEARCH NEEDS AT LEAST 1 SPECIMEN AND 1 EVALUATION, GOT " + topK + " AND " + budget + " ###");
+		}
+		localSearch = search;
+		localSearchTopK = topK;
+		localSearchBudget = budget;
+	}
+	
+	/**
+	 * @return the local search that refines each generation's fittest specimens, or null if there is none.
+	 */
+	public LocalSearch getLocalSearch() {
+		return localSearch;
+	}
+	
+	/**
+	 * @return the number of evaluations the local search has spent over the whole run, which {@link #getEvaluationCount()} includes.
+	 */
+	public long getLocalSearchEvaluationCount() {
+		return localSearchEvaluationCount;
+	}
+	
+	/**
+	 * Refines the fittest specimens of the given generation with the local search. Each specimen draws from its own generator, derived
+	 * from rand and its rank, so the result does not depend on which thread refines it.
+	 * @param generation The generation, whose fittest specimens are moved to its end.
+	 * @param rand The generation's random number generator.
+	 */
+	private void refineFittest(Specimen[] generation, SplittableRandom rand) {
+		int size = generation.length;
+		int k = Math.min(localSearchTopK, size);
+		if(surrogate == null) {
+			PopulationOrdering.selectTop(generation, k);
+		}
+		else {
+			selectTopWithRealFitness(generation, k);
+		}
+		if(localSearchEvaluations == null || localSearchEvaluations.length < k) {
+			localSearchEvaluations = new int[k];
+		}
+		
+		// unpooled specimens may also be the fittest found so far or members of the previous generation, so refine copies
+		if(!pooledGenerations) {
+			for(int j = 0; j < k; j++) {
+				generation[size - 1 - j] = new Specimen(generation[size - 1 - j]);
+			}
+		}
+		long base = rand.nextLong();
+		evaluationEngine.run(k, j -> {
+			SplittableRandom specimenRand = new SplittableRandom(RandomService.mix(base ^ RandomService.mix(j + 1)));
+			localSearchEvaluations[j] = localSearch.improve(generation[size - 1 - j], func, localSearchBudget, specimenRand);
+		});
+		for(int j = 0; j < k; j++) {
+			evaluationCount += localSearchEvaluations[j];
+			localSearchEvaluationCount += localSearchEvaluations[j];
+		}
+	}
+	
+	/**
+	 * @return the cleared genome index, created or grown to hold the given number of genomes.
+	 */
+	private GenomeHashIndex takeGenomeIndex(int expectedSize) {
+		if(genomeIndex == null) {
+			genomeIndex = new GenomeHashIndex(expectedSize);
+		}
+		genomeIndex.clear();
+		return genomeIndex;
+	}
+	
+	/**
+	 * Re-randomizes every specimen except the fittest elite fraction (at least one), scores the new specimens, and restarts stagnation counting.
+	 * The random values come from the generation's stream in the rediversification range, which no other work draws from, so the run stays reproducible.
+	 */
+	private void rediversify() {
+		int numKept = Math.max(1, Math.min(currentPopulation.length, (int) (eliteFraction * currentPopulation.length)));
+		int numReplaced = currentPopulation.length - numKept;
+		PopulationOrdering.selectTop(currentPopulation, numKept);
+		SplittableRandom rand = randomService.forStream(REDIVERSIFY_STREAMS + generationCount);
+		for(int i = 0; i < numReplaced; i++) {
+			if(pooledGenerations) {
+				currentPopulation[i].randomize(rand);
+				currentPopulation[i].setId(++numSpecimensTotal);
+			}
+			else {
+				Specimen s = new Specimen(++numSpecimensTotal, blueprintTraitList);
+				s.randomize(rand);
+				currentPopulation[i] = s;
+			}
+		}
+		evaluateSpecimens(currentPopulation, numReplaced);
+		trainSurrogate(currentPopulation, numReplaced);
+		populationFittest = PopulationOrdering.findFittest(currentPopulation, 0, currentPopulation.length);
+		if(populationFittest.getFitness() > currentFittestSpecimen.getFitness()) {
+			setFittestSpecimen(populationFittest);
+		}
+		generationsWithoutImprovement = 0;
+		diversityGeneration = -1;
+		genomeDiversityGeneration = -1;
+		numRediversifications++;
+	}
+
+	/**
+	 * Enables or disables pooled generations. When pooled, the controller keeps two generation buffers of preallocated specimens that swap
+	 * roles every generation: children are bred into the recycled specimens of the generation before last, and elites are copied rather than shared.
+	 * Once both buffers exist, breeding a generation allocates only a constant handful of objects, independent of the population size.
+	 * NOTE: specimens of the population are overwritten two generations later, so copy any specimen that must outlive that,
+	 * and {@link #getFittestSpecimen()} returns a copy that is updated in place.
+	 * @param pooled True to recycle specimens between generations.
+	 */
+	public void setPooledGenerations(boolean pooled) {
+		pooledGenerations = pooled;
+		spareGeneration = null;
+		if(pooled && currentFittestSpecimen != null) {
+			setFittestSpecimen(currentFittestSpecimen);
+		}
+	}
+	
+	/**
+	 * Enables or disables per-generation metrics. When enabled, every generation's fitness statistics and diversity are measured
+	 * in addition to its timings, and listeners receive them through {@link ExperimentListener#onGenerationMetrics(GenerationMetrics)}.
+	 * Measuring costs one pass over the population's fitness values and one over its trait values per generation.
+	 * @param enabled True to measure and report metrics.
+	 */
+	public void setMetricsEnabled(boolean enabled) {
+		metricsEnabled = enabled;
+	}
+	
+	/**
+	 * @return the measurements of the last generation created. The object is overwritten by every generation.
+	 * Timings, evaluations and allocation are always measured; fitness statistics and diversity only while metrics are enabled.
+	 */
+	public GenerationMetrics getLastGenerationMetrics() {
+		return metrics;
+	}
+	
+	/**
+	 * Fills in the fitness statistics, diversity and mutation rate of the current population.
+	 */
+	private void measurePopulation() {
+		double best = Double.NEGATIVE_INFINITY;
+		double sum = 0;
+		for(Specimen s : currentPopulation) {
+			double f = s.getFitness();
+			sum += f;
+			if(f > best) {
+				best = f;
+			}
+		}
+		double mean = currentPopulation.length == 0 ? 0 : sum / currentPopulation.length;
+		double squares = 0;
+		for(Specimen s : currentPopulation) {
+			double d = s.getFitness() - mean;
+			squares += d * d;
+		}
+		metrics.bestFitness = best;
+		metrics.meanFitness = mean;
+		metrics.fitnessStdDev = currentPopulation.length == 0 ? 0 : Math.sqrt(squares / currentPopulation.length);
+		metrics.diversity = getPopulationDiversity();
+		metrics.genomeDiversity = getGenomeDiversity();
+		metrics.mutationRate = mutationRate;
+	}
+	
+	/**
+	 * @return the number of bytes the calling thread allocated while creating the last generation,
+	 * or -1 if the JVM cannot measure it. Allocations made by evaluation worker threads are not included.
+	 */
+	public long getLastGenerationAllocatedBytes() {
+		return lastGenerationAllocatedBytes;
+	}
+	
+	/**
+	 * @return the spare generation buffer, creating it if the population size has changed. 
+	 */
+	private Specimen[] takeSpareGeneration() {
+		if(spareGeneration == null || spareGeneration.length != currentPopulation.length) {
+			spareGeneration = new Specimen[currentPopulation.length];
+			for(int i = 0; i < spareGeneration.length; i++) {
+				spareGeneration[i] = new Specimen(-1, blueprintTraitList);
+			}
+		}
+		return spareGeneration;
+	}
+	
+	/**
+	 * @return True if the fittest specimen found so far meets the fitness threshold. 
+	 */
+	public boolean isFitnessThresholdMet() {
+		return currentFittestSpecimen != null && currentFittestSpecimen.getFitness() >= fitnessThreshold;
+	}
+	
+	/**
+	 * @return the number of the current generation.
+	 */
+	public long getGenerationCount() {
+		return generationCount;
+	}
+	
+	/**
+	 * Generates the next generation based off the current array using a given breeding method. 
+	 * @param breedingMethod The method of breeding used to create the next generation, one of the BREEDING_ constants. 
+	 */
+	public void createNextGeneration(int breedingMethod) {
+		SelectionStrategy selection;
+		
+		// find the selection strategy matching the desired breeding method
+		switch(breedingMethod) {
+			case BREEDING_ROULETTE:
+				if(rouletteSelection == null) {
+					rouletteSelection = new RouletteSelection();
+				}
+				selection = rouletteSelection;
+			break;
+			
+			case BREEDING_TOURNAMENT:
+				if(tournamentSelection == null) {
+					tournamentSelection = new TournamentSelection(tournamentSize);
+				}
+				selection = tournamentSelection;
+			break;
+			
+			case BREEDING_TRUNCATION: 
+				if(truncationConstant <= 0 || truncationConstant > 1) {
+					System.err.println(" ### WARNING: CONDITION 0 <= truncationConstant < 1 NOT MET: MUST USE setTruncationConstant() BEFORE BREEDING WITH THIS METHOD");
+					generationCount++;
+					return;
+				}
+				if(truncationSelection == null) {
+					truncationSelection = new TruncationSelection(truncationConstant);
+				}
+				selection = truncationSelection;
+			break;
+			
+			case BREEDING_ELITIST:
+				if(elitistSelection == null) {
+					elitistSelection = new ElitistSelection(new TournamentSelection(tournamentSize), eliteFraction);
+				}
+				selection = elitistSelection;
+			break;
+			
+			case BREEDING_NSGA2:
+				if(!(func instanceof MultiObjectiveFitnessFunction)) {
+					throw new IllegalStateException("### BREEDING_NSGA2 NEEDS A MultiObjectiveFitnessFunction ###");
+				}
+				if(nsga2Selection == null) {
+					nsga2Selection = new NSGA2Selection(tournamentSize);
+				}
+				scoreMissingObjectives();
+				selection = nsga2Selection;
+			break;
+			
+			default:
+				throw new IllegalArgumentException("### UNKNOWN BREEDING METHOD " + breedingMethod + " ###");
+		}
+		createNextGeneration(selection);
+	}
+	
+	/**
+	 * Generates the next generation based off the current array, drawing parents with the given {@link SelectionStrategy}.
+	 * The fittest specimens the strategy marks as elites are carried over unchanged and the rest of the generation is bred.
+	 * @param selection The strategy used to choose parents. 
+	 */
+	public void createNextGeneration(SelectionStrategy selection) {
+		long allocatedBytesAtStart = AllocationMeter.currentThreadAllocatedBytes();
+		long startNanos = System.nanoTime();
+		long evaluationsAtStart = evaluationCount;
+		checkPermutationOperators();
+		
+		// create array that holds new generation, or reuse the spare one when pooling
+		Specimen[] newGeneration = pooledGenerations ? takeSpareGeneration() : new Specimen[currentPopulation.length];
+		SplittableRandom rand = randomService.forStream(generationCount);
+		
+		int numElites = selection.getNumElites(currentPopulation.length);
+		int numChildren = currentPopulation.length - numElites;
+		
+		// order only the fittest specimens the strategy needs rather than sorting the whole population
+		if(surrogate == null) {
+			PopulationOrdering.selectTop(currentPopulation, selection.getNumRequiredTop(currentPopulation.length));
+		}
+		else {
+			selectTopWithRealFitness(currentPopulation, selection.getNumRequiredTop(currentPopulation.length));
+		}
+		
+		// carry the elites, which now sit sorted at the end of the population, over unchanged
+		if(pooledGenerations) {
+			for(int i = numChildren; i < currentPopulation.length; i++) {
+				newGeneration[i].copyFrom(currentPopulation[i]);
+			}
+		}
+		else {
+			System.arraycopy(currentPopulation, numChildren, newGeneration, numChildren, numElites);
+		}
+		
+		selection.prepare(currentPopulation);
+		long selectedNanos = System.nanoTime();
+		
+		// parents are only remembered when a listener will be told about each breeding
+		boolean notifyBreeding = false;
+		for(ExperimentListener listener : listeners) {
+			notifyBreeding |= listener.wantsBreedEvents();
+		}
+		if(notifyBreeding && (p1Indices == null || p1Indices.length < numChildren)) {
+			p1Indices = new int[currentPopulation.length];
+			p2Indices = new int[currentPopulation.length];
+		}
+		for(ExperimentListener listener : listeners) {
+			listener.onGenerationStart(generationCount, currentPopulation);
+		}
+		if(parentFitnesses == null || parentFitnesses.length < numChildren) {
+			parentFitnesses = new double[currentPopulation.length];
+		}
+		
+		// index the elites, then the parents, so that children duplicating either are found as they are bred
+		int size = currentPopulation.length;
+		GenomeHashIndex index = null;
+		int numGenerationDuplicates = 0;
+		if(duplicatePolicy != DUPLICATES_ALLOW) {
+			index = takeGenomeIndex(2 * size);
+			if(duplicateOf == null || duplicateOf.length < size) {
+				duplicateOf = new int[size];
+			}
+			for(int i = numChildren; i < size; i++) {
+				index.putIfAbsent(newGeneration[i].getGenomeHash(), i);
+			}
+			for(int i = 0; i < size; i++) {
+				index.putIfAbsent(currentPopulation[i].getGenomeHash(), size + i);
+			}
+		}
+		for(int i = 0; i < numChildren; i++) {
+			int p1Index;
+			int p2Index;
+			long hash = 0;
+			int existing = -1;
+			for(int attempt = 0; ; attempt++) {
+				p1Index = selection.select(rand);
+				p2Index = selection.selectOther(rand, p1Index);
+				
+				// breed p1 Specimen with p2 Specimen and store in next generation
+				if(pooledGenerations || attempt > 0) {
+					currentPopulation[p1Index].breedInto(currentPopulation[p2Index], newGeneration[i], crossoverOperator, mutationOperator, mutationRate, rand);
+				}
+				else {
+					newGeneration[i] = currentPopulation[p1Index].breed(currentPopulation[p2Index], crossoverOperator, mutationOperator, mutationRate, rand);
+				}
+				if(index == null) {
+					break;
+				}
+				hash = newGeneration[i].getGenomeHash();
+				existing = index.get(hash);
+				
+				// when replacing, a child that copies a specimen of the new generation is bred again, and finally replaced by a random specimen
+				if(duplicatePolicy != DUPLICATES_REPLACE || existing < 0 || existing >= size) {
+					break;
+				}
+				if(attempt == MAX_DUPLICATE_RETRIES) {
+					newGeneration[i].randomize(rand);
+					hash = newGeneration[i].getGenomeHash();
+					existing = index.get(hash);
+					break;
+				}
+			}
+			parentFitnesses[i] = Math.max(currentPopulation[p1Index].getFitness(), currentPopulation[p2Index].getFitness());
+			if(notifyBreeding) {
+				p1Indices[i] = p1Index;
+				p2Indices[i] = p2Index;
+			}
+			newGeneration[i].setId(++numSpecimensTotal);
+			
+			// later copies of this genome now match the child rather than a parent
+			if(index != null) {
+				duplicateOf[i] = existing;
+				index.put(hash, i);
+				
+				// only the genome the child finally holds counts, not those it was bred again from
+				if(existing >= 0) {
+					numGenerationDuplicates++;
+				}
+			}
+		}
+		numDuplicates += numGenerationDuplicates;
+		
+		// score the whole generation at once so the evaluation engine can spread it across threads
+		long bredNanos = System.nanoTime();
+		if(index == null) {
+			evaluateChildren(newGeneration, numChildren);
+		}
+		else {
+			evaluateDistinctChildren(newGeneration, numChildren);
+		}
+		long evaluatedNanos = System.nanoTime();
+		int numSuccesses = 0;
+		for(int i = 0; i < numChildren; i++) {
+			if(newGeneration[i].getFitness() > parentFitnesses[i]) {
+				numSuccesses++;
+			}
+		}
+		lastSuccessRatio = numChildren == 0 ? 0 : (double) numSuccesses / numChildren;
+		if(notifyBreeding) {
+			for(int i = 0; i < numChildren; i++) {
+				for(ExperimentListener listener : listeners) {
+					if(!listener.wantsBreedEvents()) {
+						continue;
+					}
+					listener.onBreed(currentPopulation[p1Indices[i]], currentPopulation[p2Indices[i]], newGeneration[i]);
+				}
+			}
+		}
+		
+		// let the strategy choose survivors from parents and children alike; the discarded specimens are left in the old population
+		selection.selectSurvivors(currentPopulation, newGeneration);
+		
+		// climb from the fittest specimens with the local search, which reorders the generation
+		long refinedNanos = evaluatedNanos;
+		if(localSearch != null) {
+			refineFittest(newGeneration, rand);
+			refinedNanos = System.nanoTime();
+		}
+		
+		// add next generation to the specimen history
+		history.record(generationCount + 1, newGeneration);
+		
+		// the fittest of the new generation is either its fittest child or its fittest elite, the last of the sorted elites,
+		// unless the local search ran, which only raised the fitness of the specimens it left at the end
+		if(localSearch != null) {
+			populationFittest = PopulationOrdering.findFittest(newGeneration, newGeneration.length - Math.min(localSearchTopK, newGeneration.length), newGeneration.length);
+		}
+		else {
+			Specimen fittestChild = PopulationOrdering.findFittest(newGeneration, 0, numChildren);
+			populationFittest = numElites == 0 || (fittestChild != null && fittestChild.getFitness() > newGeneration[newGeneration.length - 1].getFitness())
+					? fittestChild : newGeneration[newGeneration.length - 1];
+		}
+		
+		// reassign most fit individual if necessary
+		if(currentFittestSpecimen == null || populationFittest.getFitness() > currentFittestSpecimen.getFitness()) {
+			setFittestSpecimen(populationFittest);
+			generationsWithoutImprovement = 0;
+		}
+		else {
+			generationsWithoutImprovement++;
+		}
+		
+		// make next generation the current population; when pooling, the old population becomes the next spare buffer
+		if(pooledGenerations) {
+			spareGeneration = currentPopulation;
+		}
+		currentPopulation = newGeneration;
+		
+		// increment generation count
+		generationCount++;
+		
+		// adapt the mutation rate, then escape stagnation when asked to rather than waiting for the generation cap
+		if(mutationSchedule != null) {
+			mutationRate = mutationSchedule.nextMutationRate(mutationRate, this);
+		}
+		if(stagnationAction == STAGNATION_REDIVERSIFY && isStagnated()) {
+			rediversify();
+		}
+		
+		// hand a snapshot to the background checkpoint writer when one is due
+		if(checkpointWriter != null && generationCount % checkpointInterval == 0) {
+			Checkpoint checkpoint = checkpointWriter.takeSnapshot();
+			if(checkpoint != null) {
+				captureCheckpoint(checkpoint);
+				checkpointWriter.submit(checkpointPath, checkpoint);
+			}
+		}
+		if(allocatedBytesAtStart >= 0) {
+			lastGenerationAllocatedBytes = AllocationMeter.currentThreadAllocatedBytes() - allocatedBytesAtStart;
+		}
+		metrics.generation = generationCount;
+		metrics.selectionNanos = selectedNanos - startNanos;
+		metrics.breedingNanos = bredNanos - selectedNanos;
+		metrics.evaluationNanos = evaluatedNanos - bredNanos;
+		metrics.localSearchNanos = refinedNanos - evaluatedNanos;
+		metrics.totalNanos = System.nanoTime() - startNanos;
+		metrics.evaluations = evaluationCount - evaluationsAtStart;
+		metrics.duplicates = numGenerationDuplicates;
+		metrics.allocatedBytes = lastGenerationAllocatedBytes;
+		if(metricsEnabled) {
+			measurePopulation();
+		}
+		for(ExperimentListener listener : listeners) {
+			listener.onGenerationCreated(generationCount, currentPopulation);
+			if(metricsEnabled) {
+				listener.onGenerationMetrics(metrics);
+			}
+		}
 	}
 }
@@ -0,0 +1,104 @@
+package components;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Class representing a {@link LocalSearch} that moves one continuous trait at a time: it tries a step up, then a step down, and keeps the
+ * first that makes the specimen fitter. Every trait has its own step, a fraction of the trait's range, which doubles after a successful move
+ * and halves after a failed one, so each trait quickly finds its own scale. The search stops once every step falls below the minimum step
+ * or the budget is spent. It needs no random numbers and suits smooth fitness functions whose traits are roughly independent.
+ */
+public class CoordinateDescent implements LocalSearch {
+	private final double initialStep;
+	private final double minStep;
+	
+	/**
+	 * Creates a coordinate descent.
+	 * @param initialStep The starting step of each trait, as a fraction of the trait's range.
+	 * @param minStep The step, as a fraction of a trait's range, below which the trait is no longer moved.
+	 */
+	public CoordinateDescent(double initialStep, double minStep) {
+		if(initialStep <= 0 || minStep <= 0) {
+			throw new IllegalArgumentException("### COORDINATE DESCENT STEPS MUST BE POSITIVE, GOT " + initialStep + " AND " + minStep + " ###");
+		}
+		this.initialStep = initialStep;
+		this.minStep = minStep;
+	}
+	
+	/**
+	 * Creates a coordinate descent whose steps start at 1% of each trait's range and stop below 1e-12 of it.
+	 */
+	public CoordinateDescent() {
+		this(0.01, 1e-12);
+	}
+	
+	public int improve(Specimen s, FitnessFunction func, int budget, SplittableRandom rand) {
+		Trait[] traits = s.getTraitMetadata();
+		int[] positions = Trait.continuousPositions(traits);
+		Specimen candidate = new Specimen(s);
+		double[] values = candidate.getValues();
+		double[] current = s.getValues();
+		double[] steps = new double[positions.length];
+		Arrays.fill(steps, initialStep);
+		int evaluations = 0;
+		boolean moving = true;
+		while(moving) {
+			moving = false;
+			for(int k = 0; k < positions.length; k++) {
+				if(steps[k] < minStep) {
+					continue;
+				}
+				moving = true;
+				int p = positions[k];
+				Trait t = traits[p];
+				double origin = current[p];
+				double step = steps[k] * (t.getMaxValue() - t.getMinValue());
+				boolean improved = false;
+				for(int direction = 1; direction >= -1 && !improved; direction -= 2) {
+					values[p] = t.clamp(origin + direction * step);
+					
+					// a step that a bound cancels is not worth an evaluation
+					if(values[p] == origin) {
+						continue;
+					}
+					if(evaluations == budget) {
+						values[p] = origin;
+						return evaluations;
+					}
+					double fitness = func.calculateFitness(candidate);
+					evaluations++;
+					if(fitness > s.getFitness()) {
+						candidate.setFitness(fitness);
+						s.copyFrom(candidate);
+						improved = true;
+					}
+				}
+				if(improved) {
+					steps[k] *= 2;
+				}
+				else {
+					values[p] = origin;
+					steps[k] /= 2;
+				}
+			}
+		}
+		return evaluations;
+	}
+	
+	/**
+	 * @return the starting step of each trait, as a fraction of the trait's range.
+	 */
+	public double getInitialStep() {
+		return initialStep;
+	}
+	
+	/**
+	 * @return the step, as a fraction of a trait's range, below which a trait is no longer moved.
+	 */
+	public double getMinStep() {
+		return minStep;
+	}
+}
@@ -0,0 +1,34 @@
+package components;
+
+import java.util.SplittableRandom;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Interface representing a way of combining the genes of two parents into the genes of a child.
+ * Operators read and write gene arrays at an offset, so the same operator works on {@link Specimen} values and on rows of a
+ * {@link PackedPopulation}, and they must not allocate per gene. Operators hold only configuration, so one instance can be shared.
+ */
+public interface CrossoverOperator {
+	
+	/**
+	 * Writes a child's genes by combining the genes of two parents. Every child gene stays within its trait's bounds.
+	 * @param p1 The array holding the first parent's genes.
+	 * @param p1Offset The index in p1 of the first parent's first gene.
+	 * @param p2 The array holding the second parent's genes.
+	 * @param p2Offset The index in p2 of the second parent's first gene.
+	 * @param child The array the child's genes are written to. It may not overlap either parent's genes.
+	 * @param childOffset The index in child of the child's first gene.
+	 * @param traits The name and bounds of each gene. Each parent and the child have traits.length genes.
+	 * @param rand The random number generator to draw from.
+	 */
+	void crossover(double[] p1, int p1Offset, double[] p2, int p2Offset, double[] child, int childOffset, Trait[] traits, SplittableRandom rand);
+	
+	/**
+	 * Operators that treat each gene on its own, such as {@link UniformCrossover}, would give a child duplicate and missing elements.
+	 * @return true if the child's {@link Trait#TYPE_PERMUTATION} traits always form a permutation when the parents' do.
+	 */
+	default boolean preservesPermutations() {
+		return false;
+	}
+}
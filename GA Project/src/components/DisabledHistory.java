@@ -0,0 +1,26 @@
+package components;
+
+import java.util.function.Consumer;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Class representing a {@link SpecimenHistory} that stores nothing, so an experiment's memory use does not grow with its length.
+ */
+public class DisabledHistory implements SpecimenHistory {
+	
+	/**
+	 * Discards the given generation.
+	 * @param generation The number of the generation being recorded.
+	 * @param specimens The specimens of the generation.
+	 */
+	public void record(long generation, Specimen[] specimens) {
+	}
+	
+	/**
+	 * Does nothing, as no specimens are stored.
+	 * @param action The action to perform on each stored specimen.
+	 */
+	public void forEach(Consumer<Specimen> action) {
+	}
+}
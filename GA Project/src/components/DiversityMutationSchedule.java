@@ -0,0 +1,41 @@
+package components;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Class representing a {@link MutationSchedule} that raises the mutation rate as the population loses diversity:
+ * at or above the target diversity the rate is the minimum, and it grows linearly to the maximum as diversity falls to 0.
+ * Diversity is measured by {@link Controller#getPopulationDiversity()}.
+ */
+public class DiversityMutationSchedule implements MutationSchedule {
+	private final double targetDiversity;
+	private final double minRate;
+	private final double maxRate;
+	
+	/**
+	 * Creates the schedule.
+	 * @param targetDiversity The diversity at and above which the minimum rate is used. A uniformly random population has a diversity of about 0.29.
+	 * @param minRate The rate used while the population is diverse.
+	 * @param maxRate The rate used once the population has collapsed to a single genome.
+	 */
+	public DiversityMutationSchedule(double targetDiversity, double minRate, double maxRate) {
+		if(targetDiversity <= 0) {
+			throw new IllegalArgumentException("### TARGET DIVERSITY MUST BE POSITIVE, GOT " + targetDiversity + " ###");
+		}
+		if(minRate < 0 || minRate > maxRate || maxRate > 1) {
+			throw new IllegalArgumentException("### INVALID MUTATION RATE RANGE [" + minRate + ", " + maxRate + "] ###");
+		}
+		this.targetDiversity = targetDiversity;
+		this.minRate = minRate;
+		this.maxRate = maxRate;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * The rate rises linearly from the minimum at the target diversity to the maximum at no diversity.
+	 */
+	public double nextMutationRate(double currentRate, Controller controller) {
+		double shortfall = Math.max(0, 1 - controller.getPopulationDiversity() / targetDiversity);
+		return minRate + (maxRate - minRate) * shortfall;
+	}
+}
@@ -0,0 +1,67 @@
+package components;
+
+import java.util.SplittableRandom;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Class representing a {@link SelectionStrategy} that carries the fittest fraction of the population over unchanged
+ * and draws the parents of the remaining children with another strategy.
+ */
+public class ElitistSelection implements SelectionStrategy {
+	private SelectionStrategy parentSelection;
+	private double eliteFraction;
+	
+	/**
+	 * @param parentSelection The strategy used to draw parents for the children that fill the rest of the generation.
+	 * @param eliteFraction The fraction of the population, in [0, 1), carried over unchanged.
+	 */
+	public ElitistSelection(SelectionStrategy parentSelection, double eliteFraction) {
+		if(eliteFraction < 0 || eliteFraction >= 1) {
+			throw new IllegalArgumentException("### CONDITION 0 <= eliteFraction < 1 NOT MET, GOT " + eliteFraction + " ###");
+		}
+		this.parentSelection = parentSelection;
+		this.eliteFraction = eliteFraction;
+	}
+	
+	/**
+	 * Prepares the wrapped strategy.
+	 * @param population The current population, whose elites and whatever the wrapped strategy needs sit sorted at its end.
+	 */
+	public void prepare(Specimen[] population) {
+		parentSelection.prepare(population);
+	}
+	
+	/**
+	 * @param rand The random number generator to draw from.
+	 * @return The index of a parent drawn by the wrapped strategy.
+	 */
+	public int select(SplittableRandom rand) {
+		return parentSelection.select(rand);
+	}
+	
+	/**
+	 * @param rand The random number generator to draw from.
+	 * @param first The index of the first parent.
+	 * @return The index of a second parent drawn by the wrapped strategy, which keeps its own rule for avoiding the first parent.
+	 */
+	public int selectOther(SplittableRandom rand, int first) {
+		return parentSelection.selectOther(rand, first);
+	}
+	
+	/**
+	 * @param populationSize The number of specimens in the population.
+	 * @return The number of fittest specimens that are carried over unchanged, always leaving room for at least one child.
+	 */
+	public int getNumElites(int populationSize) {
+		return Math.min(populationSize - 1, (int) Math.round(populationSize * eliteFraction));
+	}
+	
+	/**
+	 * @param populationSize The number of specimens in the population.
+	 * @return The number of fittest specimens that must sit at the end of the population, covering both the elites and the wrapped strategy's needs.
+	 */
+	public int getNumRequiredTop(int populationSize) {
+		return Math.max(getNumElites(populationSize), parentSelection.getNumRequiredTop(populationSize));
+	}
+}
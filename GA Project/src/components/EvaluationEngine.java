@@ -0,0 +1,89 @@
+package components;
+
+import java.util.function.IntConsumer;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Interface representing a strategy for scoring a whole generation of {@link Specimen} with a {@link FitnessFunction}.
+ * Implementations decide how many threads share the work, but every {@link Specimen} is scored independently,
+ * so all engines produce the same fitness values as a serial pass over the population.
+ */
+public interface EvaluationEngine {
+	// number of gene matrix rows handed to a BatchFitnessFunction in one call
+	int BATCH_ROWS = 256;
+	
+	/**
+	 * Runs the given task once for every index in [0, count), possibly concurrently. 
+	 * Returns only after every index has been processed.
+	 * @param count The number of indices to process.
+	 * @param task The task to run for each index. 
+	 */
+	void run(int count, IntConsumer task);
+	
+	/**
+	 * Calculates the fitness of every {@link Specimen} in the given array.
+	 * NOTE: the {@link FitnessFunction} must be safe to call from several threads at once when the engine is parallel.
+	 * @param specimens The specimens whose fitness will be calculated. 
+	 * @param func The fitness function used to score each specimen. 
+	 */
+	default void evaluate(Specimen[] specimens, FitnessFunction func) {
+		evaluate(specimens, specimens.length, func);
+	}
+	
+	/**
+	 * Calculates the fitness of the first count {@link Specimen}s in the given array.
+	 * @param specimens The array holding the specimens whose fitness will be calculated. 
+	 * @param count The number of specimens, starting at index 0, to score.
+	 * @param func The fitness function used to score each specimen. 
+	 */
+	default void evaluate(Specimen[] specimens, int count, FitnessFunction func) {
+		run(count, i -> specimens[i].setFitness(func.calculateFitness(specimens[i])));
+	}
+	
+	/**
+	 * Calculates the fitness of every specimen in the given {@link PackedPopulation} using the gene array overload
+	 * {@link FitnessFunction#calculateFitness(double[], int, Trait[])}, so no {@link Specimen} objects are needed.
+	 * @param population The population whose fitness will be calculated. 
+	 * @param func The fitness function used to score each specimen. 
+	 */
+	default void evaluate(PackedPopulation population, FitnessFunction func) {
+		double[] genes = population.getGenes();
+		double[] fitnesses = population.getFitnesses();
+		Trait[] traits = population.getTraits();
+		int numTraits = population.getNumTraits();
+		if(func instanceof BatchFitnessFunction) {
+			evaluate(genes, numTraits, population.getSize(), fitnesses, (BatchFitnessFunction) func);
+			return;
+		}
+		run(population.getSize(), i -> fitnesses[i] = func.calculateFitness(genes, i * numTraits, traits));
+	}
+	
+	/**
+	 * Calculates the fitness of the first count rows of a row-major gene matrix, handing the {@link BatchFitnessFunction}
+	 * blocks of {@link #BATCH_ROWS} rows so that each call scores many specimens in one loop.
+	 * @param genes The row-major gene matrix, where row i starts at index i * numTraits.
+	 * @param numTraits The number of trait values in each row.
+	 * @param count The number of rows, starting at row 0, to score.
+	 * @param fitnesses The array that receives the fitness of row i at index i.
+	 * @param func The batch fitness function used to score each block of rows. 
+	 */
+	default void evaluate(double[] genes, int numTraits, int count, double[] fitnesses, BatchFitnessFunction func) {
+		int numBlocks = (count + BATCH_ROWS - 1) / BATCH_ROWS;
+		run(numBlocks, block -> {
+			int fromRow = block * BATCH_ROWS;
+			func.calculateFitnesses(genes, numTraits, fromRow, Math.min(count, fromRow + BATCH_ROWS), fitnesses);
+		});
+	}
+	
+	/**
+	 * @return the number of threads this engine uses to evaluate a generation. 
+	 */
+	int getParallelism();
+	
+	/**
+	 * Releases any threads held by this engine. The engine should not be used afterwards.
+	 */
+	default void shutdown() {
+	}
+}
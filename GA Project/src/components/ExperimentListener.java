@@ -0,0 +1,60 @@
+package components;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Interface representing an observer of a running experiment. Every method does nothing by default, so implementations only override
+ * the events they care about. The {@link Controller} skips all event work, including formatting, when no listener is registered.
+ */
+public interface ExperimentListener {
+	
+	/**
+	 * Called once the initial population has been created and scored.
+	 * @param generation The number of the initial generation.
+	 * @param population The initial population.
+	 */
+	default void onPopulationInitialized(long generation, Specimen[] population) {
+	}
+	
+	/**
+	 * Called before a new generation is bred from the current population.
+	 * @param generation The number of the current generation.
+	 * @param population The current population.
+	 */
+	default void onGenerationStart(long generation, Specimen[] population) {
+	}
+	
+	/**
+	 * Tells the controller whether this listener wants {@link #onBreed(Specimen, Specimen, Specimen)} calls. Parents are only
+	 * remembered, and breeding events only sent, while some listener returns true, so listeners that ignore them cost nothing per child.
+	 * @return True if this listener overrides onBreed, false by default.
+	 */
+	default boolean wantsBreedEvents() {
+		return false;
+	}
+	
+	/**
+	 * Called for every child once it has been bred and scored, if {@link #wantsBreedEvents()} returns true.
+	 * @param parent1 The first parent.
+	 * @param parent2 The second parent.
+	 * @param child The scored child.
+	 */
+	default void onBreed(Specimen parent1, Specimen parent2, Specimen child) {
+	}
+	
+	/**
+	 * Called once a new generation has replaced the current population.
+	 * @param generation The number of the new generation.
+	 * @param population The new population.
+	 */
+	default void onGenerationCreated(long generation, Specimen[] population) {
+	}
+	
+	/**
+	 * Called after each generation with its measurements, when metrics are enabled with {@link Controller#setMetricsEnabled(boolean)}.
+	 * The metrics object is reused for the next generation. 
+	 * @param metrics The generation's metrics.
+	 */
+	default void onGenerationMetrics(GenerationMetrics metrics) {
+	}
+}
@@ -0,0 +1,478 @@
+package components;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Class that runs a parameter sweep: many independent experiments, each a {@link Controller} built by a factory and then given one
+ * configuration of the swept parameters, repeated with different seeds. Configurations are either every combination of the parameters'
+ * values (a grid) or a random sample. Every run is its own task on a work-stealing {@link ForkJoinPool}, so a sweep keeps every core busy
+ * even when runs take very different times, and its results are summarised as CSV, one row per run or per configuration.
+ *
+ * Run i of a sweep is seeded from the sweep's master seed and i alone, so rerunning a sweep, or just one of its runs by copying the seed
+ * column into {@link Controller#setSeed(long)}, reproduces the same results whatever the parallelism.
+ * NOTE: the factory is called once per run, possibly from several threads at once, and should give each controller its own fitness function
+ * unless that function is safe to call from several threads. Each controller should cap its run with a maximum number of generations or a time budget.
+ */
+public class ExperimentSweep {
+	private final Supplier<Controller> factory;
+	private final ArrayList<String> names;
+	private final ArrayList<ParameterSetter> setters;
+	// candidate values of each parameter, or null for a parameter drawn from a range
+	private final ArrayList<double[]> values;
+	private final ArrayList<double[]> ranges;
+	private int repetitions;
+	private int breedingMethod;
+	private int parallelism;
+	private long seed;
+	
+	/**
+	 * Interface representing how a swept parameter is applied to a newly built {@link Controller}, e.g. {@code (c, v) -> c.setMutationRate(v)}.
+	 */
+	public interface ParameterSetter {
+		
+		/**
+		 * Applies the parameter's value to the controller, before its population is initialized.
+		 * @param controller The controller to configure.
+		 * @param value The parameter's value for this run.
+		 */
+		void apply(Controller controller, double value);
+	}
+	
+	/**
+	 * Creates a sweep whose runs use controllers built by the given factory.
+	 * @param factory Builds a fully configured controller, with its traits and fitness function set, whose population is not yet initialized.
+	 */
+	public ExperimentSweep(Supplier<Controller> factory) {
+		this.factory = factory;
+		names = new ArrayList<String>();
+		setters = new ArrayList<ParameterSetter>();
+		values = new ArrayList<double[]>();
+		ranges = new ArrayList<double[]>();
+		repetitions = 1;
+		breedingMethod = Controller.BREEDING_TOURNAMENT;
+		parallelism = Runtime.getRuntime().availableProcessors();
+		seed = new SplittableRandom().nextLong();
+	}
+	
+	/**
+	 * Adds a parameter that takes each of the given values, e.g. population sizes 50, 100 and 200.
+	 * @param name The parameter's name, used as a CSV column header.
+	 * @param setter Applies a value of the parameter to a controller.
+	 * @param candidates The values the parameter takes.
+	 */
+	public void addParameter(String name, ParameterSetter setter, double... candidates) {
+		if(candidates.length == 0) {
+			throw new IllegalArgumentException("### PARAMETER " + name + " NEEDS AT LEAST 1 VALUE ###");
+		}
+		names.add(name);
+		setters.add(setter);
+		values.add(candidates.clone());
+		ranges.add(null);
+	}
+	
+	/**
+	 * Adds a parameter that random sweeps draw uniformly from the given range, e.g. a mutation rate between 0.01 and 0.5.
+	 * Such a parameter has no fixed values, so grid sweeps reject it.
+	 * @param name The parameter's name, used as a CSV column header.
+	 * @param setter Applies a value of the parameter to a controller.
+	 * @param min The smallest value.
+	 * @param max The largest value.
+	 */
+	public void addParameterRange(String name, ParameterSetter setter, double min, double max) {
+		if(!(min <= max)) {
+			throw new IllegalArgumentException("### INVALID RANGE [" + min + ", " + max + "] FOR PARAMETER " + name + " ###");
+		}
+		names.add(name);
+		setters.add(setter);
+		values.add(null);
+		ranges.add(new double[] {min, max});
+	}
+	
+	/**
+	 * Sets how many times each configuration is run, each time with its own seed. Defaults to 1.
+	 * @param repetitions The number of runs per configuration.
+	 */
+	public void setRepetitions(int repetitions) {
+		if(repetitions < 1) {
+			throw new IllegalArgumentException("### REPETITIONS MUST BE AT LEAST 1, GOT " + repetitions + " ###");
+		}
+		this.repetitions = repetitions;
+	}
+	
+	/**
+	 * Sets the breeding method every run creates its generations with. Defaults to {@link Controller#BREEDING_TOURNAMENT}.
+	 * @param breedingMethod One of the Controller's BREEDING_ constants.
+	 */
+	public void setBreedingMethod(int breedingMethod) {
+		this.breedingMethod = breedingMethod;
+	}
+	
+	/**
+	 * Sets the number of runs executed at once. Defaults to one per available processor.
+	 * @param parallelism The number of worker threads.
+	 */
+	public void setParallelism(int parallelism) {
+		if(parallelism < 1) {
+			throw new IllegalArgumentException("### PARALLELISM MUST BE AT LEAST 1, GOT " + parallelism + " ###");
+		}
+		this.parallelism = parallelism;
+	}
+	
+	/**
+	 * Sets the master seed that every run's seed, and a random sweep's configurations, derive from. Defaults to an unpredictable seed.
+	 * @param seed The master seed.
+	 */
+	public void setSeed(long seed) {
+		this.seed = seed;
+	}
+	
+	/**
+	 * @return the names of the swept parameters, in the order they were added.
+	 */
+	public String[] getParameterNames() {
+		return names.toArray(new String[0]);
+	}
+	
+	/**
+	 * Runs every combination of the parameters' values, each the set number of times.
+	 * @return The result of every run, ordered by configuration, then repetition.
+	 */
+	public RunResult[] runGrid() {
+		int numConfigurations = 1;
+		for(int p = 0; p < names.size(); p++) {
+			if(values.get(p) == null) {
+				throw new IllegalStateException("### GRID SWEEPS NEED FIXED VALUES, BUT PARAMETER " + names.get(p) + " IS A RANGE ###");
+			}
+			numConfigurations = Math.multiplyExact(numConfigurations, values.get(p).length);
+		}
+		
+		// the first parameter varies slowest, like nested loops in the order the parameters were added
+		double[][] configurations = new double[numConfigurations][names.size()];
+		for(int c = 0; c < numConfigurations; c++) {
+			int rest = c;
+			for(int p = names.size() - 1; p >= 0; p--) {
+				double[] candidates = values.get(p);
+				configurations[c][p] = candidates[rest % candidates.length];
+				rest /= candidates.length;
+			}
+		}
+		return run(configurations);
+	}
+	
+	/**
+	 * Runs the given number of random configurations, each the set number of times. Every parameter takes one of its values, or a value of
+	 * its range, chosen uniformly at random from a stream of the master seed.
+	 * @param numConfigurations The number of configurations to draw.
+	 * @return The result of every run, ordered by configuration, then repetition.
+	 */
+	public RunResult[] runRandom(int numConfigurations) {
+		SplittableRandom rand = new RandomService(seed).forStream(-1);
+		double[][] configurations = new double[numConfigurations][names.size()];
+		for(int c = 0; c < numConfigurations; c++) {
+			for(int p = 0; p < names.size(); p++) {
+				double[] candidates = values.get(p);
+				if(candidates != null) {
+					configurations[c][p] = candidates[rand.nextInt(candidates.length)];
+				}
+				else {
+					double[] range = ranges.get(p);
+					configurations[c][p] = range[0] + rand.nextDouble() * (range[1] - range[0]);
+				}
+			}
+		}
+		return run(configurations);
+	}
+	
+	/**
+	 * Runs each of the given configurations the set number of times, one task per run, and waits for every run to finish.
+	 * @param configurations The value of every parameter, in the order the parameters were added, for each configuration.
+	 * @return The result of every run, ordered by configuration, then repetition.
+	 */
+	public RunResult[] run(double[][] configurations) {
+		RandomService seeds = new RandomService(seed);
+		RunResult[] results = new RunResult[Math.multiplyExact(configurations.length, repetitions)];
+		ArrayList<Callable<Void>> tasks = new ArrayList<Callable<Void>>(results.length);
+		for(int i = 0; i < results.length; i++) {
+			int run = i;
+			int configuration = i / repetitions;
+			if(configurations[configuration].length != names.size()) {
+				throw new IllegalArgumentException("### CONFIGURATION " + configuration + " HAS " + configurations[configuration].length
+						+ " VALUES FOR " + names.size() + " PARAMETERS ###");
+			}
+			long runSeed = seeds.forStream(run).nextLong();
+			tasks.add(() -> {
+				results[run] = runOnce(configuration, run % repetitions, configurations[configuration], runSeed);
+				return null;
+			});
+		}
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			// runs catch their own exceptions, so only errors such as running out of memory surface here
+			for(Future<Void> future : pool.invokeAll(tasks)) {
+				future.get();
+			}
+		}
+		catch(ExecutionException e) {
+			throw new IllegalStateException("### SWEEP RUN FAILED ###", e.getCause());
+		}
+		catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("### SWEEP INTERRUPTED ###", e);
+		}
+		finally {
+			pool.shutdownNow();
+		}
+		return results;
+	}
+	
+	/**
+	 * Builds, configures and runs one experiment until its end conditions are met. A run that throws is recorded with its error
+	 * rather than ending the sweep.
+	 */
+	private RunResult runOnce(int configuration, int repetition, double[] parameters, long runSeed) {
+		RunResult result = new RunResult(configuration, repetition, runSeed, parameters.clone());
+		long start = System.nanoTime();
+		Controller controller = null;
+		try {
+			controller = factory.get();
+			for(int p = 0; p < parameters.length; p++) {
+				setters.get(p).apply(controller, parameters[p]);
+			}
+			controller.setSeed(runSeed);
+			controller.initializePopulation();
+			while(!controller.areEndConditionsMet()) {
+				controller.createNextGeneration(breedingMethod);
+			}
+			result.thresholdMet = controller.isFitnessThresholdMet();
+			result.generations = controller.getGenerationCount();
+			result.evaluations = controller.getEvaluationCount();
+			result.bestFitness = controller.getFittestSpecimen().getFitness();
+		}
+		catch(RuntimeException e) {
+			result.error = e.toString();
+		}
+		finally {
+			if(controller != null) {
+				controller.shutdown();
+			}
+		}
+		result.nanos = System.nanoTime() - start;
+		return result;
+	}
+	
+	/**
+	 * Writes one CSV row per run: its configuration, repetition, seed and parameter values, whether it met the fitness threshold,
+	 * its generations, evaluations and best fitness, its time to threshold (empty if it was not met), its total time, and any error.
+	 * @param path The file to write.
+	 * @param results The results of a sweep.
+	 * @throws IOException If the file cannot be written.
+	 */
+	public void writeCsv(Path path, RunResult[] results) throws IOException {
+		try(BufferedWriter out = Files.newBufferedWriter(path)) {
+			out.write("configuration,repetition,seed");
+			writeParameterHeaders(out);
+			out.write(",threshold_met,generations,evaluations,best_fitness,time_to_threshold_ms,total_ms,error\n");
+			for(RunResult r : results) {
+				out.write(r.configuration + "," + r.repetition + "," + r.seed);
+				writeParameters(out, r.parameters);
+				out.write("," + r.thresholdMet + "," + r.generations + "," + r.evaluations + "," + r.bestFitness + ","
+						+ (r.thresholdMet ? String.valueOf(r.nanos / 1e6) : "") + "," + r.nanos / 1e6 + "," + csvField(r.error) + "\n");
+			}
+		}
+	}
+	
+	/**
+	 * Writes one CSV row per configuration, aggregated over its repetitions: its parameter values, how many runs met the fitness threshold,
+	 * the mean time to threshold, generations and evaluations of those runs (empty if none did), the mean best fitness of every run,
+	 * and how many runs failed with an error.
+	 * @param path The file to write.
+	 * @param results The results of a sweep, ordered by configuration as the run methods return them.
+	 * @throws IOException If the file cannot be written.
+	 */
+	public void writeSummaryCsv(Path path, RunResult[] results) throws IOException {
+		try(BufferedWriter out = Files.newBufferedWriter(path)) {
+			out.write("configuration");
+			writeParameterHeaders(out);
+			out.write(",runs,successes,mean_time_to_threshold_ms,mean_generations_to_threshold,mean_evaluations_to_threshold,mean_best_fitness,errors\n");
+			int from = 0;
+			while(from < results.length) {
+				int to = from;
+				while(to < results.length && results[to].configuration == results[from].configuration) {
+					to++;
+				}
+				int successes = 0;
+				int errors = 0;
+				int scored = 0;
+				double nanos = 0;
+				double generations = 0;
+				double evaluations = 0;
+				double bestFitness = 0;
+				for(int i = from; i < to; i++) {
+					RunResult r = results[i];
+					if(r.error != null) {
+						errors++;
+						continue;
+					}
+					scored++;
+					bestFitness += r.bestFitness;
+					if(r.thresholdMet) {
+						successes++;
+						nanos += r.nanos;
+						generations += r.generations;
+						evaluations += r.evaluations;
+					}
+				}
+				out.write(String.valueOf(results[from].configuration));
+				writeParameters(out, results[from].parameters);
+				out.write("," + (to - from) + "," + successes + ",");
+				if(successes > 0) {
+					out.write(nanos / successes / 1e6 + "," + generations / successes + "," + evaluations / successes);
+				}
+				else {
+					out.write(",,");
+				}
+				out.write("," + (scored == 0 ? "" : String.valueOf(bestFitness / scored)) + "," + errors + "\n");
+				from = to;
+			}
+		}
+	}
+	
+	/**
+	 * Writes a comma followed by the name of each parameter.
+	 */
+	private void writeParameterHeaders(BufferedWriter out) throws IOException {
+		for(String name : names) {
+			out.write("," + csvField(name));
+		}
+	}
+	
+	/**
+	 * Writes a comma followed by each parameter value.
+	 */
+	private static void writeParameters(BufferedWriter out, double[] parameters) throws IOException {
+		for(double value : parameters) {
+			out.write("," + value);
+		}
+	}
+	
+	/**
+	 * @return the text quoted as a CSV field if it holds a comma, quote or line break, or an empty string if it is null.
+	 */
+	private static String csvField(String text) {
+		if(text == null) {
+			return "";
+		}
+		if(text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+			return text;
+		}
+		return "\"" + text.replace("\"", "\"\"") + "\"";
+	}
+	
+	/**
+	 * Class that holds the outcome of one run of a sweep.
+	 */
+	public static class RunResult {
+		private final int configuration;
+		private final int repetition;
+		private final long seed;
+		private final double[] parameters;
+		private boolean thresholdMet;
+		private long generations;
+		private long evaluations;
+		private double bestFitness;
+		private long nanos;
+		private String error;
+		
+		RunResult(int configuration, int repetition, long seed, double[] parameters) {
+			this.configuration = configuration;
+			this.repetition = repetition;
+			this.seed = seed;
+			this.parameters = parameters;
+			bestFitness = Double.NaN;
+		}
+		
+		/**
+		 * @return the index of the run's configuration.
+		 */
+		public int getConfiguration() {
+			return configuration;
+		}
+		
+		/**
+		 * @return which repetition of its configuration the run was, starting at 0.
+		 */
+		public int getRepetition() {
+			return repetition;
+		}
+		
+		/**
+		 * @return the seed the run's controller was given.
+		 */
+		public long getSeed() {
+			return seed;
+		}
+		
+		/**
+		 * @param index The parameter's index, in the order the parameters were added.
+		 * @return The parameter's value in this run.
+		 */
+		public double getParameter(int index) {
+			return parameters[index];
+		}
+		
+		/**
+		 * @return True if the run ended because its fittest specimen met the fitness threshold.
+		 */
+		public boolean isThresholdMet() {
+			return thresholdMet;
+		}
+		
+		/**
+		 * @return the number of the run's last generation.
+		 */
+		public long getGenerations() {
+			return generations;
+		}
+		
+		/**
+		 * @return the number of fitness evaluations the run made.
+		 */
+		public long getEvaluations() {
+			return evaluations;
+		}
+		
+		/**
+		 * @return the fitness of the fittest specimen the run found, or NaN if it failed.
+		 */
+		public double getBestFitness() {
+			return bestFitness;
+		}
+		
+		/**
+		 * @return the nanoseconds the run took, from building its controller to meeting its end conditions. For a run that met the
+		 * fitness threshold this is its time to threshold.
+		 */
+		public long getNanos() {
+			return nanos;
+		}
+		
+		/**
+		 * @return the exception that ended the run early, as text, or null if it completed.
+		 */
+		public String getError() {
+			return error;
+		}
+	}
+}
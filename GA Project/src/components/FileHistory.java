@@ -0,0 +1,144 @@
+package components;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Class representing a {@link SpecimenHistory} that streams every specimen to an append-only binary file,
+ * so the history can cover the whole experiment while memory use stays constant.
+ * The file starts with the trait names and bounds, written once, followed by one record per specimen
+ * holding its generation, id, fitness and trait values. 
+ */
+public class FileHistory implements SpecimenHistory {
+	// marks the start of a history file
+	private final static int MAGIC = 0x47414849;
+	
+	private File file;
+	private DataOutputStream out;
+	private boolean headerWritten;
+	
+	/**
+	 * Creates a history that writes to the given file, replacing any existing contents.
+	 * @param file The file to write to.
+	 */
+	public FileHistory(File file) {
+		this.file = file;
+		try {
+			out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, false), 1 << 16));
+		}
+		catch(IOException e) {
+			throw new UncheckedIOException("### COULD NOT OPEN HISTORY FILE " + file + " ###", e);
+		}
+		headerWritten = false;
+	}
+	
+	/**
+	 * Creates a history that writes to the file at the given path, replacing any existing contents.
+	 * @param path The path of the file to write to.
+	 */
+	public FileHistory(String path) {
+		this(new File(path));
+	}
+	
+	/**
+	 * Appends every specimen of the given generation to the file.
+	 * @param generation The number of the generation being recorded.
+	 * @param specimens The specimens of the generation.
+	 */
+	public void record(long generation, Specimen[] specimens) {
+		try {
+			for(Specimen s : specimens) {
+				if(!headerWritten) {
+					writeHeader(s.getTraitMetadata());
+				}
+				out.writeLong(generation);
+				out.writeInt(s.getId());
+				out.writeDouble(s.getFitness());
+				double[] values = s.getValues();
+				for(int i = 0; i < values.length; i++) {
+					out.writeDouble(values[i]);
+				}
+			}
+		}
+		catch(IOException e) {
+			throw new UncheckedIOException("### COULD NOT WRITE TO HISTORY FILE " + file + " ###", e);
+		}
+	}
+	
+	/**
+	 * Writes the trait names and bounds that every following record shares.
+	 * @param traits The trait metadata to write.
+	 */
+	private void writeHeader(Trait[] traits) throws IOException {
+		out.writeInt(MAGIC);
+		out.writeInt(traits.length);
+		for(Trait t : traits) {
+			out.writeUTF(t.getName() == null ? "" : t.getName());
+			out.writeDouble(t.getMinValue());
+			out.writeDouble(t.getMaxValue());
+		}
+		headerWritten = true;
+	}
+	
+	/**
+	 * Reads the file back and passes every recorded specimen to the given action, in the order they were recorded.
+	 * @param action The action to perform on each stored specimen.
+	 */
+	public void forEach(Consumer<Specimen> action) {
+		try {
+			out.flush();
+			if(!headerWritten) {
+				return;
+			}
+			try(DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 1 << 16))) {
+				if(in.readInt() != MAGIC) {
+					throw new IOException("not a history file");
+				}
+				Trait[] traits = new Trait[in.readInt()];
+				for(int i = 0; i < traits.length; i++) {
+					traits[i] = new Trait(in.readUTF(), in.readDouble(), in.readDouble(), 0);
+				}
+				while(true) {
+					try {
+						in.readLong();
+					}
+					catch(EOFException e) {
+						break;
+					}
+					Specimen s = new Specimen(in.readInt(), traits);
+					s.setFitness(in.readDouble());
+					for(int i = 0; i < traits.length; i++) {
+						s.setValue(i, in.readDouble());
+					}
+					action.accept(s);
+				}
+			}
+		}
+		catch(IOException e) {
+			throw new UncheckedIOException("### COULD NOT READ HISTORY FILE " + file + " ###", e);
+		}
+	}
+	
+	/**
+	 * Flushes and closes the history file.
+	 */
+	public void close() {
+		try {
+			out.close();
+		}
+		catch(IOException e) {
+			throw new UncheckedIOException("### COULD NOT CLOSE HISTORY FILE " + file + " ###", e);
+		}
+	}
+}
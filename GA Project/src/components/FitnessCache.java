@@ -0,0 +1,122 @@
+package components;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Class that remembers the fitness of recently scored genomes, so that a {@link Specimen} whose trait values match an earlier one
+ * takes its fitness from the cache instead of calling the {@link FitnessFunction} again. Once full, the least recently used genome is evicted.
+ * NOTE: only use a cache with deterministic fitness functions, as a cached genome is never re-scored.
+ */
+public class FitnessCache {
+	private int maxSize;
+	private LinkedHashMap<GenomeKey, Double> entries;
+	private long hits;
+	private long misses;
+	
+	/**
+	 * Creates a cache holding at most the given number of genomes.
+	 * @param maxSize The maximum number of genomes to remember.
+	 */
+	public FitnessCache(int maxSize) {
+		if(maxSize < 1) {
+			throw new IllegalArgumentException("### FITNESS CACHE MUST HOLD AT LEAST 1 GENOME, GOT " + maxSize + " ###");
+		}
+		this.maxSize = maxSize;
+		// access order makes iteration order least recently used first, which removeEldestEntry relies on
+		entries = new LinkedHashMap<GenomeKey, Double>(16, 0.75f, true) {
+			protected boolean removeEldestEntry(Map.Entry<GenomeKey, Double> eldest) {
+				return size() > FitnessCache.this.maxSize;
+			}
+		};
+		hits = 0;
+		misses = 0;
+	}
+	
+	/**
+	 * Sets the fitness of the given specimen if its genome is cached.
+	 * @param s The specimen to look up.
+	 * @return True if the genome was cached and the specimen's fitness was set.
+	 */
+	public boolean lookup(Specimen s) {
+		Double fitness = entries.get(new GenomeKey(s.getValues()));
+		if(fitness == null) {
+			misses++;
+			return false;
+		}
+		hits++;
+		s.setFitness(fitness);
+		return true;
+	}
+	
+	/**
+	 * Remembers the fitness of the given, already evaluated, specimen's genome.
+	 * @param s The specimen to remember.
+	 */
+	public void store(Specimen s) {
+		entries.put(new GenomeKey(s.getValues().clone()), s.getFitness());
+	}
+	
+	/**
+	 * @return the number of lookups that found a cached genome.
+	 */
+	public long getHits() {
+		return hits;
+	}
+	
+	/**
+	 * @return the number of lookups that did not find a cached genome.
+	 */
+	public long getMisses() {
+		return misses;
+	}
+	
+	/**
+	 * @return the number of genomes currently cached.
+	 */
+	public int size() {
+		return entries.size();
+	}
+	
+	/**
+	 * @return the maximum number of genomes this cache holds.
+	 */
+	public int getMaxSize() {
+		return maxSize;
+	}
+	
+	/**
+	 * Forgets every cached genome.
+	 */
+	public void clear() {
+		entries.clear();
+	}
+	
+	/**
+	 * Map key wrapping a genome's values with its precomputed hash. Lookups wrap the specimen's own array; stored keys wrap a copy.
+	 */
+	static class GenomeKey {
+		private final double[] values;
+		private final long hash;
+		
+		GenomeKey(double[] values) {
+			this.values = values;
+			hash = Specimen.hashGenome(values, 0, values.length);
+		}
+		
+		public int hashCode() {
+			return (int) (hash ^ (hash >>> 32));
+		}
+		
+		public boolean equals(Object o) {
+			if(!(o instanceof GenomeKey)) {
+				return false;
+			}
+			GenomeKey other = (GenomeKey) o;
+			return hash == other.hash && Arrays.equals(values, other.values);
+		}
+	}
+}
@@ -11,4 +11,19 @@ public class FitnessFunction {
 	public double calculateFitness(Specimen s) {
 		throw new UnsupportedOperationException("### MUST OVERRIDE DEFAULT FITNESS FUNCTION ###");
 	}
+	
+	/**
+	 * Calculates the fitness of a specimen whose trait values are stored contiguously in a gene array,
+	 * such as a row of a {@link PackedPopulation}. Override this to score packed populations without per-trait indirection;
+	 * by default the values are copied into a {@link Specimen} and passed to {@link #calculateFitness(Specimen)}.
+	 * @param genes The array holding the specimen's trait values.
+	 * @param offset The index in genes of the specimen's first trait value.
+	 * @param traits The name and bounds of each trait. The specimen has traits.length values.
+	 * @return The specimen's fitness.
+	 */
+	public double calculateFitness(double[] genes, int offset, Trait[] traits) {
+		Specimen s = new Specimen(-1, traits);
+		System.arraycopy(genes, offset, s.getValues(), 0, traits.length);
+		return calculateFitness(s);
+	}
 }
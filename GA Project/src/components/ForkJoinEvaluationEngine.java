@@ -0,0 +1,93 @@
+package components;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Class representing an {@link EvaluationEngine} that splits a generation into ranges
+ * and scores them concurrently on a dedicated {@link ForkJoinPool}.
+ */
+public class ForkJoinEvaluationEngine implements EvaluationEngine {
+	// number of ranges created per worker thread, so that idle workers can steal work from slow ones
+	private final static int RANGES_PER_THREAD = 4;
+	
+	private final ForkJoinPool pool;
+	
+	/**
+	 * Creates an engine whose pool uses the given number of worker threads.
+	 * @param parallelism The number of worker threads to use. 
+	 */
+	public ForkJoinEvaluationEngine(int parallelism) {
+		if(parallelism < 1) {
+			throw new IllegalArgumentException("### PARALLELISM MUST BE AT LEAST 1, GOT " + parallelism + " ###");
+		}
+		pool = new ForkJoinPool(parallelism);
+	}
+	
+	/**
+	 * Creates an engine with one worker thread per available processor. 
+	 */
+	public ForkJoinEvaluationEngine() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+	
+	/**
+	 * Runs the given task for every index, splitting the indices into ranges that the pool's workers share. 
+	 * @param count The number of indices to process.
+	 * @param task The task to run for each index. 
+	 */
+	public void run(int count, IntConsumer task) {
+		if(count == 0) {
+			return;
+		}
+		int grain = Math.max(1, count / (pool.getParallelism() * RANGES_PER_THREAD));
+		pool.invoke(new RangeTask(0, count, grain, task));
+	}
+	
+	/**
+	 * @return the number of worker threads in this engine's pool. 
+	 */
+	public int getParallelism() {
+		return pool.getParallelism();
+	}
+	
+	/**
+	 * Shuts down this engine's pool.
+	 */
+	public void shutdown() {
+		pool.shutdown();
+	}
+	
+	/**
+	 * Task that runs the wrapped task over [from, to), splitting in half until the range is no larger than grain. 
+	 */
+	private static class RangeTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private final int from;
+		private final int to;
+		private final int grain;
+		private final IntConsumer task;
+		
+		RangeTask(int from, int to, int grain, IntConsumer task) {
+			this.from = from;
+			this.to = to;
+			this.grain = grain;
+			this.task = task;
+		}
+		
+		protected void compute() {
+			if(to - from <= grain) {
+				for(int i = from; i < to; i++) {
+					task.accept(i);
+				}
+			}
+			else {
+				int mid = (from + to) >>> 1;
+				invokeAll(new RangeTask(from, mid, grain, task), new RangeTask(mid, to, grain, task));
+			}
+		}
+	}
+}
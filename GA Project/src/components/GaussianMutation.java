@@ -0,0 +1,52 @@
+package components;
+
+import java.util.SplittableRandom;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Class representing a {@link MutationOperator} that adds normally distributed noise to a gene, 
+ * with a standard deviation proportional to the width of the gene's trait bounds, then clamps it to the bounds.
+ */
+public class GaussianMutation implements MutationOperator {
+	private final double scale;
+	
+	/**
+	 * Creates a Gaussian mutation. 
+	 * @param scale The standard deviation of the noise as a fraction of each trait's range, e.g. 0.1 for 10%.
+	 */
+	public GaussianMutation(double scale) {
+		if(scale <= 0) {
+			throw new IllegalArgumentException("### GAUSSIAN MUTATION SCALE MUST BE POSITIVE, GOT " + scale + " ###");
+		}
+		this.scale = scale;
+	}
+	
+	/**
+	 * Creates a Gaussian mutation whose standard deviation is 10% of each trait's range.
+	 */
+	public GaussianMutation() {
+		this(0.1);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * A mutated gene gains normally distributed noise scaled to its trait's range.
+	 */
+	public void mutate(double[] genes, int offset, Trait[] traits, double mutationRate, SplittableRandom rand) {
+		for(int i = 0; i < traits.length; i++) {
+			if(rand.nextDouble() < mutationRate) {
+				Trait t = traits[i];
+				double sigma = scale * (t.getMaxValue() - t.getMinValue());
+				genes[offset + i] = t.clamp(genes[offset + i] + sigma * RandomService.nextGaussian(rand));
+			}
+		}
+	}
+	
+	/**
+	 * @return the standard deviation of the noise as a fraction of each trait's range.
+	 */
+	public double getScale() {
+		return scale;
+	}
+}
@@ -0,0 +1,75 @@
+package components;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Java Flight Recorder event holding one generation's {@link GenerationMetrics}, committed by {@link JfrMetricsListener}.
+ * The event's own duration spans nothing; the time spent is in its timespan fields.
+ */
+@Name("edu.ycp.ga.Generation")
+@Label("GA Generation")
+@Category("Genetic Algorithm")
+@Description("Time, allocation and fitness statistics of one generation")
+class GenerationEvent extends Event {
+	@Label("Generation")
+	long generation;
+	
+	@Label("Selection Time")
+	@Timespan(Timespan.NANOSECONDS)
+	long selectionNanos;
+	
+	@Label("Breeding Time")
+	@Timespan(Timespan.NANOSECONDS)
+	long breedingNanos;
+	
+	@Label("Evaluation Time")
+	@Timespan(Timespan.NANOSECONDS)
+	long evaluationNanos;
+	
+	@Label("Local Search Time")
+	@Timespan(Timespan.NANOSECONDS)
+	long localSearchNanos;
+	
+	@Label("Total Time")
+	@Timespan(Timespan.NANOSECONDS)
+	long totalNanos;
+	
+	@Label("Evaluations")
+	long evaluations;
+	
+	@Label("Evaluations Per Second")
+	double evaluationsPerSecond;
+	
+	@Label("Allocated")
+	@DataAmount
+	long allocatedBytes;
+	
+	@Label("Duplicates")
+	long duplicates;
+	
+	@Label("Best Fitness")
+	double bestFitness;
+	
+	@Label("Mean Fitness")
+	double meanFitness;
+	
+	@Label("Fitness Std Dev")
+	double fitnessStdDev;
+	
+	@Label("Diversity")
+	double diversity;
+	
+	@Label("Genome Diversity")
+	double genomeDiversity;
+	
+	@Label("Mutation Rate")
+	double mutationRate;
+}
@@ -0,0 +1,183 @@
+package components;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Class that holds the measurements the {@link Controller} takes while creating one generation: where the time went, how much was allocated,
+ * and how fitness and diversity look afterwards. The controller reuses a single instance and overwrites it every generation,
+ * so listeners should read the values they need during {@link ExperimentListener#onGenerationMetrics(GenerationMetrics)} rather than keep the object.
+ */
+public final class GenerationMetrics {
+	long generation;
+	long selectionNanos;
+	long breedingNanos;
+	long evaluationNanos;
+	long localSearchNanos;
+	long totalNanos;
+	long evaluations;
+	long allocatedBytes;
+	long duplicates;
+	double bestFitness;
+	double meanFitness;
+	double fitnessStdDev;
+	double diversity;
+	double genomeDiversity;
+	double mutationRate;
+	
+	GenerationMetrics() {
+	}
+	
+	/**
+	 * Copies every measurement of the given metrics into this one.
+	 * @param other The metrics to copy.
+	 */
+	public void copyFrom(GenerationMetrics other) {
+		generation = other.generation;
+		selectionNanos = other.selectionNanos;
+		breedingNanos = other.breedingNanos;
+		evaluationNanos = other.evaluationNanos;
+		localSearchNanos = other.localSearchNanos;
+		totalNanos = other.totalNanos;
+		evaluations = other.evaluations;
+		allocatedBytes = other.allocatedBytes;
+		duplicates = other.duplicates;
+		bestFitness = other.bestFitness;
+		meanFitness = other.meanFitness;
+		fitnessStdDev = other.fitnessStdDev;
+		diversity = other.diversity;
+		genomeDiversity = other.genomeDiversity;
+		mutationRate = other.mutationRate;
+	}
+	
+	/**
+	 * @return a new copy of these metrics that is not overwritten by later generations.
+	 */
+	public GenerationMetrics snapshot() {
+		GenerationMetrics copy = new GenerationMetrics();
+		copy.copyFrom(this);
+		return copy;
+	}
+	
+	/**
+	 * @return the number of the generation that was created. 
+	 */
+	public long getGeneration() {
+		return generation;
+	}
+	
+	/**
+	 * @return the nanoseconds spent ordering the fittest specimens and preparing the {@link SelectionStrategy}.
+	 */
+	public long getSelectionNanos() {
+		return selectionNanos;
+	}
+	
+	/**
+	 * @return the nanoseconds spent choosing parents and breeding children.
+	 */
+	public long getBreedingNanos() {
+		return breedingNanos;
+	}
+	
+	/**
+	 * @return the nanoseconds spent scoring children, including fitness cache lookups.
+	 */
+	public long getEvaluationNanos() {
+		return evaluationNanos;
+	}
+	
+	/**
+	 * @return the nanoseconds the {@link LocalSearch} spent refining the generation's fittest specimens, 0 when there is none.
+	 */
+	public long getLocalSearchNanos() {
+		return localSearchNanos;
+	}
+	
+	/**
+	 * @return the nanoseconds spent creating the whole generation.
+	 */
+	public long getTotalNanos() {
+		return totalNanos;
+	}
+	
+	/**
+	 * @return the number of times the fitness function was called, including by the {@link LocalSearch}, which excludes fitness cache hits.
+	 */
+	public long getEvaluations() {
+		return evaluations;
+	}
+	
+	/**
+	 * @return the fitness function calls per second of evaluation and local search time, or 0 if no time was measured.
+	 */
+	public double getEvaluationsPerSecond() {
+		long nanos = evaluationNanos + localSearchNanos;
+		return nanos == 0 ? 0 : evaluations * 1e9 / nanos;
+	}
+	
+	/**
+	 * @return the bytes the breeding thread allocated while creating the generation, or -1 if the JVM cannot measure it.
+	 */
+	public long getAllocatedBytes() {
+		return allocatedBytes;
+	}
+	
+	/**
+	 * @return the number of children found to duplicate another specimen, which is 0 under {@link Controller#DUPLICATES_ALLOW}.
+	 */
+	public long getDuplicates() {
+		return duplicates;
+	}
+	
+	/**
+	 * @return the fitness of the generation's fittest specimen.
+	 */
+	public double getBestFitness() {
+		return bestFitness;
+	}
+	
+	/**
+	 * @return the generation's mean fitness.
+	 */
+	public double getMeanFitness() {
+		return meanFitness;
+	}
+	
+	/**
+	 * @return the standard deviation of the generation's fitness values.
+	 */
+	public double getFitnessStdDev() {
+		return fitnessStdDev;
+	}
+	
+	/**
+	 * @return the generation's diversity as measured by {@link Controller#getPopulationDiversity()}.
+	 */
+	public double getDiversity() {
+		return diversity;
+	}
+	
+	/**
+	 * @return the generation's fraction of distinct genomes as measured by {@link Controller#getGenomeDiversity()}.
+	 */
+	public double getGenomeDiversity() {
+		return genomeDiversity;
+	}
+	
+	/**
+	 * @return the mutation rate that will breed the next generation.
+	 */
+	public double getMutationRate() {
+		return mutationRate;
+	}
+	
+	/**
+	 * Formats the metrics on one console friendly line.
+	 */
+	public String toString() {
+		return "generation " + generation + ": total " + totalNanos / 1000 + "us (selection " + selectionNanos / 1000 + "us, breeding " + breedingNanos / 1000
+				+ "us, evaluation " + evaluationNanos / 1000 + "us, local search " + localSearchNanos / 1000 + "us), " + evaluations + " evaluations (" + (long) getEvaluationsPerSecond() + "/s), "
+				+ allocatedBytes + " bytes allocated, " + duplicates + " duplicates, fitness best " + bestFitness + " mean " + meanFitness + " std-dev " + fitnessStdDev
+				+ ", diversity " + diversity + ", distinct genomes " + genomeDiversity + ", mutation rate " + mutationRate;
+	}
+}
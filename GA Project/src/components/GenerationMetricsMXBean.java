@@ -0,0 +1,36 @@
+package components;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Management interface through which {@link JmxMetricsListener} publishes the latest {@link GenerationMetrics} of an experiment,
+ * so tools such as JConsole and VisualVM can follow a run.
+ */
+public interface GenerationMetricsMXBean {
+	long getGeneration();
+	long getSelectionNanos();
+	long getBreedingNanos();
+	long getEvaluationNanos();
+	long getLocalSearchNanos();
+	long getTotalNanos();
+	long getEvaluations();
+	double getEvaluationsPerSecond();
+	long getAllocatedBytes();
+	long getDuplicates();
+	double getBestFitness();
+	double getMeanFitness();
+	double getFitnessStdDev();
+	double getDiversity();
+	double getGenomeDiversity();
+	double getMutationRate();
+	
+	/**
+	 * @return the total number of fitness function calls over the whole run.
+	 */
+	long getTotalEvaluations();
+	
+	/**
+	 * @return the total nanoseconds spent creating generations over the whole run.
+	 */
+	long getTotalGenerationNanos();
+}
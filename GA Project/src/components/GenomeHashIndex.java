@@ -0,0 +1,182 @@
+package components;
+
+import java.util.Arrays;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Class that maps 64-bit genome hashes, as computed by {@link Specimen#getGenomeHash()}, to the row of the specimen holding the genome.
+ * It is an open addressing table of primitive longs and ints with linear probing, so indexing a generation allocates nothing once the
+ * table is big enough, and clearing it for the next generation is a single fill.
+ * Two genomes count as equal when their hashes are equal; with 64-bit hashes a false match between different genomes is about as
+ * likely as 1 in 2^64 per pair, so the genomes themselves are not compared.
+ */
+public class GenomeHashIndex {
+	// hash that marks an empty slot; a genome that really hashes to it is stored under EMPTY_SUBSTITUTE instead
+	private final static long EMPTY = 0;
+	private final static long EMPTY_SUBSTITUTE = 0x9E3779B97F4A7C15L;
+	private long[] hashes;
+	private int[] rows;
+	private int mask;
+	private int size;
+	
+	/**
+	 * Creates an index that holds the given number of genomes before it has to grow.
+	 * @param expectedSize The number of genomes expected, e.g. the population size.
+	 */
+	public GenomeHashIndex(int expectedSize) {
+		if(expectedSize < 0) {
+			throw new IllegalArgumentException("### GENOME INDEX SIZE MUST NOT BE NEGATIVE, GOT " + expectedSize + " ###");
+		}
+		allocate(capacityFor(expectedSize));
+	}
+	
+	/**
+	 * @return the smallest power of two table size that keeps the given number of genomes at most half full.
+	 */
+	private static int capacityFor(int expectedSize) {
+		int capacity = 16;
+		while(capacity < 2L * expectedSize) {
+			capacity <<= 1;
+		}
+		return capacity;
+	}
+	
+	/**
+	 * Replaces the table with an empty one of the given power of two size.
+	 */
+	private void allocate(int capacity) {
+		hashes = new long[capacity];
+		rows = new int[capacity];
+		mask = capacity - 1;
+		size = 0;
+	}
+	
+	/**
+	 * @return the slot holding the given hash, or the empty slot where it would be stored.
+	 */
+	private int slotOf(long hash) {
+		int slot = (int) (hash ^ (hash >>> 32)) & mask;
+		while(hashes[slot] != EMPTY && hashes[slot] != hash) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+	
+	/**
+	 * @param hash The genome hash to look up.
+	 * @return The row stored for the genome, or -1 if it is not indexed.
+	 */
+	public int get(long hash) {
+		if(hash == EMPTY) {
+			hash = EMPTY_SUBSTITUTE;
+		}
+		int slot = slotOf(hash);
+		return hashes[slot] == EMPTY ? -1 : rows[slot];
+	}
+	
+	/**
+	 * @param hash The genome hash to look up.
+	 * @return True if the genome is indexed.
+	 */
+	public boolean contains(long hash) {
+		return get(hash) >= 0;
+	}
+	
+	/**
+	 * Stores the row of the given genome, replacing any row stored for it before.
+	 * @param hash The genome hash.
+	 * @param row The row of the specimen holding the genome, at least 0.
+	 */
+	public void put(long hash, int row) {
+		insert(hash, row, true);
+	}
+	
+	/**
+	 * Stores the row of the given genome unless the genome is already indexed.
+	 * @param hash The genome hash.
+	 * @param row The row of the specimen holding the genome, at least 0.
+	 * @return The row already stored for the genome, or -1 if the given row was stored.
+	 */
+	public int putIfAbsent(long hash, int row) {
+		return insert(hash, row, false);
+	}
+	
+	/**
+	 * Stores a row, growing the table first when it would become more than half full.
+	 * @return The row stored for the genome before, or -1 if it was not indexed.
+	 */
+	private int insert(long hash, int row, boolean replace) {
+		if(row < 0) {
+			throw new IllegalArgumentException("### GENOME INDEX ROWS MUST NOT BE NEGATIVE, GOT " + row + " ###");
+		}
+		if(hash == EMPTY) {
+			hash = EMPTY_SUBSTITUTE;
+		}
+		int slot = slotOf(hash);
+		if(hashes[slot] != EMPTY) {
+			int previous = rows[slot];
+			if(replace) {
+				rows[slot] = row;
+			}
+			return previous;
+		}
+		if(2 * (size + 1) > hashes.length) {
+			grow();
+			slot = slotOf(hash);
+		}
+		hashes[slot] = hash;
+		rows[slot] = row;
+		size++;
+		return -1;
+	}
+	
+	/**
+	 * Doubles the table and reinserts every genome.
+	 */
+	private void grow() {
+		long[] oldHashes = hashes;
+		int[] oldRows = rows;
+		int oldSize = size;
+		allocate(oldHashes.length * 2);
+		for(int i = 0; i < oldHashes.length; i++) {
+			if(oldHashes[i] != EMPTY) {
+				int slot = slotOf(oldHashes[i]);
+				hashes[slot] = oldHashes[i];
+				rows[slot] = oldRows[i];
+			}
+		}
+		size = oldSize;
+	}
+	
+	/**
+	 * @return the number of distinct genomes indexed.
+	 */
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * Forgets every genome while keeping the table, so the next generation can be indexed without allocating.
+	 */
+	public void clear() {
+		if(size > 0) {
+			Arrays.fill(hashes, EMPTY);
+			size = 0;
+		}
+	}
+	
+	/**
+	 * Counts the distinct genomes among the first count specimens of the given array. The index is cleared first and left holding them.
+	 * @param specimens The array holding the specimens.
+	 * @param count The number of specimens, starting at index 0, to count.
+	 * @return The number of distinct genomes.
+	 */
+	public int countDistinct(Specimen[] specimens, int count) {
+		clear();
+		for(int i = 0; i < count; i++) {
+			putIfAbsent(specimens[i].getGenomeHash(), i);
+		}
+		return size;
+	}
+}
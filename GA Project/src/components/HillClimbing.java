@@ -0,0 +1,87 @@
+package components;
+
+import java.util.SplittableRandom;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Class representing a {@link LocalSearch} that moves every continuous trait at once by normally distributed noise and keeps the move
+ * only if the specimen gets fitter, i.e. a (1+1) evolution strategy. The noise's standard deviation, a fraction of each trait's range,
+ * follows Rechenberg's 1/5th success rule: it grows after every improvement and shrinks after every failure, so that it settles where about
+ * one move in five succeeds. The search stops once the step falls below the minimum step or the budget is spent.
+ */
+public class HillClimbing implements LocalSearch {
+	// step factors after a success and a failure; four failures undo one success, which balances at one success in five
+	private final static double GROW = 1.5;
+	private final static double SHRINK = Math.pow(GROW, -0.25);
+	
+	private final double initialStep;
+	private final double minStep;
+	
+	/**
+	 * Creates a hill climber.
+	 * @param initialStep The starting standard deviation of each move, as a fraction of each trait's range.
+	 * @param minStep The standard deviation, as a fraction of each trait's range, below which the search stops.
+	 */
+	public HillClimbing(double initialStep, double minStep) {
+		if(initialStep <= 0 || minStep <= 0) {
+			throw new IllegalArgumentException("### HILL CLIMBING STEPS MUST BE POSITIVE, GOT " + initialStep + " AND " + minStep + " ###");
+		}
+		this.initialStep = initialStep;
+		this.minStep = minStep;
+	}
+	
+	/**
+	 * Creates a hill climber whose steps start at 1% of each trait's range and stop below 1e-12 of it.
+	 */
+	public HillClimbing() {
+		this(0.01, 1e-12);
+	}
+	
+	public int improve(Specimen s, FitnessFunction func, int budget, SplittableRandom rand) {
+		Trait[] traits = s.getTraitMetadata();
+		int[] positions = Trait.continuousPositions(traits);
+		if(positions.length == 0) {
+			return 0;
+		}
+		Specimen candidate = new Specimen(s);
+		double[] values = candidate.getValues();
+		double[] current = s.getValues();
+		double step = initialStep;
+		int evaluations = 0;
+		while(evaluations < budget && step >= minStep) {
+			for(int p : positions) {
+				Trait t = traits[p];
+				values[p] = t.clamp(current[p] + step * (t.getMaxValue() - t.getMinValue()) * RandomService.nextGaussian(rand));
+			}
+			double fitness = func.calculateFitness(candidate);
+			evaluations++;
+			if(fitness > s.getFitness()) {
+				candidate.setFitness(fitness);
+				s.copyFrom(candidate);
+				step *= GROW;
+			}
+			else {
+				for(int p : positions) {
+					values[p] = current[p];
+				}
+				step *= SHRINK;
+			}
+		}
+		return evaluations;
+	}
+	
+	/**
+	 * @return the starting standard deviation of each move, as a fraction of each trait's range.
+	 */
+	public double getInitialStep() {
+		return initialStep;
+	}
+	
+	/**
+	 * @return the standard deviation, as a fraction of each trait's range, below which the search stops.
+	 */
+	public double getMinStep() {
+		return minStep;
+	}
+}
@@ -0,0 +1,205 @@
+package components;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Class that runs several {@link Controller}s, called islands, side by side on their own threads.
+ * Every few generations each island sends copies of its fittest specimens to other islands, which replace their least fit specimens with them.
+ * Migrants travel through lock-free queues, so islands never wait on each other, and the separate populations keep diversity longer than one large population.
+ * NOTE: because islands run at their own pace, which migrants arrive when is not reproducible even with seeded islands.
+ */
+public class IslandModel {
+	// constant that makes every island send migrants to the next island, the last sending to the first
+	public final static int TOPOLOGY_RING = 0;
+	
+	// constant that makes every island send migrants to every other island
+	public final static int TOPOLOGY_FULLY_CONNECTED = 1;
+	
+	// constant that makes every island send migrants to one other island chosen at random at each migration
+	public final static int TOPOLOGY_RANDOM = 2;
+	
+	private Controller[] islands;
+	private ArrayList<ConcurrentLinkedQueue<Specimen[]>> inboxes;
+	private int topology;
+	private int migrationInterval;
+	private int migrantCount;
+	private AtomicBoolean thresholdMet;
+	
+	/**
+	 * Creates an island model from the given islands. Each island must be fully configured, with its population initialized,
+	 * and should use its own {@link FitnessFunction} instance unless that function is safe to call from several threads.
+	 * @param islands The controllers that will run as islands.
+	 */
+	public IslandModel(Controller... islands) {
+		if(islands.length == 0) {
+			throw new IllegalArgumentException("### ISLAND MODEL NEEDS AT LEAST 1 ISLAND ###");
+		}
+		this.islands = islands;
+		inboxes = new ArrayList<ConcurrentLinkedQueue<Specimen[]>>();
+		for(int i = 0; i < islands.length; i++) {
+			inboxes.add(new ConcurrentLinkedQueue<Specimen[]>());
+		}
+		topology = TOPOLOGY_RING;
+		migrationInterval = 10;
+		migrantCount = 1;
+		thresholdMet = new AtomicBoolean(false);
+	}
+	
+	/**
+	 * Sets which islands each island sends migrants to. Defaults to {@link #TOPOLOGY_RING}.
+	 * @param topology One of the TOPOLOGY_ constants.
+	 */
+	public void setTopology(int topology) {
+		if(topology < TOPOLOGY_RING || topology > TOPOLOGY_RANDOM) {
+			throw new IllegalArgumentException("### UNKNOWN MIGRATION TOPOLOGY " + topology + " ###");
+		}
+		this.topology = topology;
+	}
+	
+	/**
+	 * Sets how many generations each island runs between migrations. Defaults to 10.
+	 * @param generations The number of generations between migrations.
+	 */
+	public void setMigrationInterval(int generations) {
+		if(generations < 1) {
+			throw new IllegalArgumentException("### MIGRATION INTERVAL MUST BE AT LEAST 1, GOT " + generations + " ###");
+		}
+		migrationInterval = generations;
+	}
+	
+	/**
+	 * Sets how many of its fittest specimens an island sends at each migration. Defaults to 1.
+	 * @param count The number of migrants to send.
+	 */
+	public void setMigrantCount(int count) {
+		if(count < 0) {
+			throw new IllegalArgumentException("### MIGRANT COUNT MUST NOT BE NEGATIVE, GOT " + count + " ###");
+		}
+		migrantCount = count;
+	}
+	
+	/**
+	 * @return the islands this model runs.
+	 */
+	public Controller[] getIslands() {
+		return islands;
+	}
+	
+	/**
+	 * Runs every island on its own thread until one island reaches its fitness threshold or every island meets its end conditions.
+	 * @param breedingMethod The method of breeding each island uses, one of the Controller BREEDING_ constants.
+	 * @return The fittest {@link Specimen} found on any island.
+	 */
+	public Specimen run(int breedingMethod) {
+		thresholdMet.set(false);
+		AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+		Thread[] threads = new Thread[islands.length];
+		for(int i = 0; i < islands.length; i++) {
+			int island = i;
+			threads[i] = new Thread(() -> {
+				try {
+					runIsland(island, breedingMethod);
+				}
+				catch(Throwable t) {
+					failure.compareAndSet(null, t);
+					// stop the other islands too
+					thresholdMet.set(true);
+				}
+			}, "island-" + i);
+			threads[i].start();
+		}
+		
+		for(Thread thread : threads) {
+			try {
+				thread.join();
+			}
+			catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("### INTERRUPTED WHILE WAITING FOR ISLANDS ###", e);
+			}
+		}
+		if(failure.get() != null) {
+			throw new IllegalStateException("### AN ISLAND FAILED ###", failure.get());
+		}
+		return getFittestSpecimen();
+	}
+	
+	/**
+	 * Generation loop of a single island.
+	 * @param island The index of the island to run.
+	 * @param breedingMethod The method of breeding to use.
+	 */
+	private void runIsland(int island, int breedingMethod) {
+		Controller controller = islands[island];
+		ConcurrentLinkedQueue<Specimen[]> inbox = inboxes.get(island);
+		controller.findFittestSpecimen();
+		
+		// island-specific stream, numbered well away from the generation streams
+		SplittableRandom rand = controller.getRandomService().forStream(-1 - island);
+		long generations = 0;
+		while(!thresholdMet.get() && !controller.areEndConditionsMet()) {
+			// absorb any migrants that arrived since the last generation
+			Specimen[] migrants;
+			while((migrants = inbox.poll()) != null) {
+				controller.replaceWeakestSpecimens(migrants);
+			}
+			
+			controller.createNextGeneration(breedingMethod);
+			generations++;
+			if(islands.length > 1 && migrantCount > 0 && generations % migrationInterval == 0) {
+				emigrate(island, controller.copyFittestSpecimens(migrantCount), rand);
+			}
+		}
+		if(controller.isFitnessThresholdMet()) {
+			thresholdMet.set(true);
+		}
+	}
+	
+	/**
+	 * Sends the given migrants to the islands the topology connects the given island to.
+	 * @param island The index of the sending island.
+	 * @param migrants The migrants to send.
+	 * @param rand The sending island's random number generator.
+	 */
+	private void emigrate(int island, Specimen[] migrants, SplittableRandom rand) {
+		switch(topology) {
+			case TOPOLOGY_RING:
+				inboxes.get((island + 1) % islands.length).offer(migrants);
+			break;
+			
+			case TOPOLOGY_FULLY_CONNECTED:
+				for(int i = 0; i < islands.length; i++) {
+					if(i != island) {
+						inboxes.get(i).offer(migrants);
+					}
+				}
+			break;
+			
+			case TOPOLOGY_RANDOM:
+				// draw from every island but the sender
+				int target = rand.nextInt(islands.length - 1);
+				inboxes.get(target >= island ? target + 1 : target).offer(migrants);
+			break;
+		}
+	}
+	
+	/**
+	 * @return The fittest {@link Specimen} found so far on any island.
+	 */
+	public Specimen getFittestSpecimen() {
+		Specimen fittest = null;
+		for(Controller controller : islands) {
+			Specimen s = controller.getFittestSpecimen();
+			if(s != null && (fittest == null || s.getFitness() > fittest.getFitness())) {
+				fittest = s;
+			}
+		}
+		return fittest;
+	}
+}
@@ -0,0 +1,42 @@
+package components;
+
+import jdk.jfr.EventType;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Class representing an {@link ExperimentListener} that commits a Java Flight Recorder event named edu.ycp.ga.Generation for every generation,
+ * so a recording started with -XX:StartFlightRecording or jcmd shows where each generation's time went next to GC and JIT activity.
+ * When no recording has the event enabled, nothing is allocated. Enable metrics with {@link Controller#setMetricsEnabled(boolean)}.
+ */
+public class JfrMetricsListener implements ExperimentListener {
+	private final static EventType EVENT_TYPE = EventType.getEventType(GenerationEvent.class);
+	
+	/**
+	 * Commits the generation's metrics as a flight recorder event if a recording wants it.
+	 * @param metrics The generation's metrics.
+	 */
+	public void onGenerationMetrics(GenerationMetrics metrics) {
+		if(!EVENT_TYPE.isEnabled()) {
+			return;
+		}
+		GenerationEvent event = new GenerationEvent();
+		event.generation = metrics.getGeneration();
+		event.selectionNanos = metrics.getSelectionNanos();
+		event.breedingNanos = metrics.getBreedingNanos();
+		event.evaluationNanos = metrics.getEvaluationNanos();
+		event.localSearchNanos = metrics.getLocalSearchNanos();
+		event.totalNanos = metrics.getTotalNanos();
+		event.evaluations = metrics.getEvaluations();
+		event.evaluationsPerSecond = metrics.getEvaluationsPerSecond();
+		event.allocatedBytes = metrics.getAllocatedBytes();
+		event.duplicates = metrics.getDuplicates();
+		event.bestFitness = metrics.getBestFitness();
+		event.meanFitness = metrics.getMeanFitness();
+		event.fitnessStdDev = metrics.getFitnessStdDev();
+		event.diversity = metrics.getDiversity();
+		event.genomeDiversity = metrics.getGenomeDiversity();
+		event.mutationRate = metrics.getMutationRate();
+		event.commit();
+	}
+}
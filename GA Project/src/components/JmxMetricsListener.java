@@ -0,0 +1,129 @@
+package components;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Class representing an {@link ExperimentListener} that publishes each generation's {@link GenerationMetrics} as a platform MXBean
+ * named edu.ycp.ga:type=Experiment,name=&lt;name&gt;. It keeps its own copy of the latest metrics, so management clients can read it
+ * from other threads at any time. Enable metrics with {@link Controller#setMetricsEnabled(boolean)}.
+ */
+public class JmxMetricsListener implements ExperimentListener, GenerationMetricsMXBean {
+	private final GenerationMetrics latest;
+	private final ObjectName objectName;
+	private long totalEvaluations;
+	private long totalGenerationNanos;
+	
+	/**
+	 * Creates the listener and registers it with the platform MBean server.
+	 * @param name The experiment name used in the object name, e.g. "island-0".
+	 */
+	public JmxMetricsListener(String name) {
+		latest = new GenerationMetrics();
+		try {
+			objectName = new ObjectName("edu.ycp.ga:type=Experiment,name=" + ObjectName.quote(name));
+			ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+		}
+		catch(JMException e) {
+			throw new IllegalStateException("### COULD NOT REGISTER METRICS MXBEAN FOR " + name + " ###", e);
+		}
+	}
+	
+	/**
+	 * Removes this listener's MXBean from the platform MBean server.
+	 */
+	public void unregister() {
+		try {
+			ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+		}
+		catch(JMException e) {
+			throw new IllegalStateException("### COULD NOT UNREGISTER METRICS MXBEAN " + objectName + " ###", e);
+		}
+	}
+	
+	/**
+	 * Copies the generation's metrics so management clients can read them.
+	 * @param metrics The generation's metrics.
+	 */
+	public synchronized void onGenerationMetrics(GenerationMetrics metrics) {
+		latest.copyFrom(metrics);
+		totalEvaluations += metrics.getEvaluations();
+		totalGenerationNanos += metrics.getTotalNanos();
+	}
+	
+	public synchronized long getGeneration() {
+		return latest.getGeneration();
+	}
+	
+	public synchronized long getSelectionNanos() {
+		return latest.getSelectionNanos();
+	}
+	
+	public synchronized long getBreedingNanos() {
+		return latest.getBreedingNanos();
+	}
+	
+	public synchronized long getEvaluationNanos() {
+		return latest.getEvaluationNanos();
+	}
+	
+	public synchronized long getLocalSearchNanos() {
+		return latest.getLocalSearchNanos();
+	}
+	
+	public synchronized long getTotalNanos() {
+		return latest.getTotalNanos();
+	}
+	
+	public synchronized long getEvaluations() {
+		return latest.getEvaluations();
+	}
+	
+	public synchronized double getEvaluationsPerSecond() {
+		return latest.getEvaluationsPerSecond();
+	}
+	
+	public synchronized long getAllocatedBytes() {
+		return latest.getAllocatedBytes();
+	}
+	
+	public synchronized long getDuplicates() {
+		return latest.getDuplicates();
+	}
+	
+	public synchronized double getBestFitness() {
+		return latest.getBestFitness();
+	}
+	
+	public synchronized double getMeanFitness() {
+		return latest.getMeanFitness();
+	}
+	
+	public synchronized double getFitnessStdDev() {
+		return latest.getFitnessStdDev();
+	}
+	
+	public synchronized double getDiversity() {
+		return latest.getDiversity();
+	}
+	
+	public synchronized double getGenomeDiversity() {
+		return latest.getGenomeDiversity();
+	}
+	
+	public synchronized double getMutationRate() {
+		return latest.getMutationRate();
+	}
+	
+	public synchronized long getTotalEvaluations() {
+		return totalEvaluations;
+	}
+	
+	public synchronized long getTotalGenerationNanos() {
+		return totalGenerationNanos;
+	}
+}
@@ -0,0 +1,142 @@
+package components;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Class representing a {@link SurrogateModel} that predicts a genome's fitness from the k most similar genomes it has seen, weighting each
+ * by the inverse of its distance. Distances are measured with every trait scaled to its range, so wide traits do not drown out narrow ones.
+ * The model remembers the most recent samples in a ring buffer of fixed capacity: learning a sample overwrites the oldest one in O(traits),
+ * and the model follows the population as it moves into new regions. A prediction scans every remembered sample, O(capacity * traits).
+ */
+public class KNearestSurrogate implements SurrogateModel {
+	private final int k;
+	private final int capacity;
+	private int numTraits;
+	// scaled genomes, one row of numTraits values per sample, and their fitness values
+	private double[] samples;
+	private double[] fitnesses;
+	private int numSamples;
+	// row the next sample overwrites
+	private int next;
+	
+	/**
+	 * Creates a model.
+	 * @param k The number of nearest samples each prediction combines.
+	 * @param capacity The number of most recent samples remembered.
+	 */
+	public KNearestSurrogate(int k, int capacity) {
+		if(k < 1 || capacity < k) {
+			throw new IllegalArgumentException("### K NEAREST SURROGATE NEEDS 1 <= K <= CAPACITY, GOT K = " + k + " AND CAPACITY " + capacity + " ###");
+		}
+		this.k = k;
+		this.capacity = capacity;
+		numTraits = -1;
+		numSamples = 0;
+		next = 0;
+	}
+	
+	/**
+	 * Creates a model that combines the 5 nearest of the 1000 most recent samples.
+	 */
+	public KNearestSurrogate() {
+		this(5, 1000);
+	}
+	
+	public void update(double[] genes, int offset, Trait[] traits, double fitness) {
+		if(numTraits < 0) {
+			numTraits = traits.length;
+			samples = new double[capacity * numTraits];
+			fitnesses = new double[capacity];
+		}
+		else if(traits.length != numTraits) {
+			throw new IllegalArgumentException("### SURROGATE LEARNT GENOMES OF " + numTraits + " TRAITS, GOT " + traits.length + " ###");
+		}
+		int row = next * numTraits;
+		for(int j = 0; j < numTraits; j++) {
+			samples[row + j] = scale(genes[offset + j], traits[j]);
+		}
+		fitnesses[next] = fitness;
+		next = next + 1 == capacity ? 0 : next + 1;
+		if(numSamples < capacity) {
+			numSamples++;
+		}
+	}
+	
+	public double predict(double[] genes, int offset, Trait[] traits) {
+		if(numSamples == 0) {
+			throw new IllegalStateException("### SURROGATE CANNOT PREDICT BEFORE LEARNING ANY SAMPLE ###");
+		}
+		if(traits.length != numTraits) {
+			throw new IllegalArgumentException("### SURROGATE LEARNT GENOMES OF " + numTraits + " TRAITS, GOT " + traits.length + " ###");
+		}
+		double[] query = new double[numTraits];
+		for(int j = 0; j < numTraits; j++) {
+			query[j] = scale(genes[offset + j], traits[j]);
+		}
+		
+		// the nearest samples so far, sorted by squared distance; a sample is abandoned as soon as it is farther than the farthest of them
+		int numNearest = Math.min(k, numSamples);
+		double[] nearestDistances = new double[numNearest];
+		double[] nearestFitnesses = new double[numNearest];
+		int found = 0;
+		for(int s = 0; s < numSamples; s++) {
+			int row = s * numTraits;
+			double limit = found < numNearest ? Double.POSITIVE_INFINITY : nearestDistances[numNearest - 1];
+			double distance = 0;
+			for(int j = 0; j < numTraits && distance < limit; j++) {
+				double d = samples[row + j] - query[j];
+				distance += d * d;
+			}
+			if(distance >= limit) {
+				continue;
+			}
+			
+			// an identical genome is not predicted, it is known
+			if(distance == 0) {
+				return fitnesses[s];
+			}
+			int i = found < numNearest ? found++ : numNearest - 1;
+			while(i > 0 && nearestDistances[i - 1] > distance) {
+				nearestDistances[i] = nearestDistances[i - 1];
+				nearestFitnesses[i] = nearestFitnesses[i - 1];
+				i--;
+			}
+			nearestDistances[i] = distance;
+			nearestFitnesses[i] = fitnesses[s];
+		}
+		double weightedSum = 0;
+		double totalWeight = 0;
+		for(int i = 0; i < found; i++) {
+			double weight = 1 / Math.sqrt(nearestDistances[i]);
+			weightedSum += weight * nearestFitnesses[i];
+			totalWeight += weight;
+		}
+		return weightedSum / totalWeight;
+	}
+	
+	/**
+	 * @return the value's position within the trait's range, from 0 at its minimum to 1 at its maximum, or 0 for a trait of one value.
+	 */
+	private static double scale(double value, Trait t) {
+		double range = t.getMaxValue() - t.getMinValue();
+		return range > 0 ? (value - t.getMinValue()) / range : 0;
+	}
+	
+	public int getNumSamples() {
+		return numSamples;
+	}
+	
+	/**
+	 * @return the number of nearest samples each prediction combines.
+	 */
+	public int getK() {
+		return k;
+	}
+	
+	/**
+	 * @return the number of most recent samples remembered.
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+}
@@ -0,0 +1,53 @@
+package components;
+
+import java.util.SplittableRandom;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Class representing a {@link CrossoverOperator} that cuts both parents at k distinct random points
+ * and gives the child alternating segments from each parent.
+ */
+public class KPointCrossover implements CrossoverOperator {
+	private final int numPoints;
+	
+	/**
+	 * Creates an operator that cuts the parents at the given number of points, or at every gene boundary if there are fewer.
+	 * @param numPoints The number of cut points, at least 1.
+	 */
+	public KPointCrossover(int numPoints) {
+		if(numPoints < 1) {
+			throw new IllegalArgumentException("### K-POINT CROSSOVER NEEDS AT LEAST 1 POINT, GOT " + numPoints + " ###");
+		}
+		this.numPoints = numPoints;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * Copies the genes, choosing the cut points in order as it goes (selection sampling), so no list of points is stored.
+	 */
+	public void crossover(double[] p1, int p1Offset, double[] p2, int p2Offset, double[] child, int childOffset, Trait[] traits, SplittableRandom rand) {
+		int numTraits = traits.length;
+		// a cut at boundary i switches parents before gene i, for i in [1, numTraits)
+		int remainingBoundaries = numTraits - 1;
+		int remainingCuts = Math.min(numPoints, remainingBoundaries);
+		boolean fromFirst = rand.nextBoolean();
+		for(int i = 0; i < numTraits; i++) {
+			if(i > 0) {
+				if(remainingCuts > 0 && rand.nextInt(remainingBoundaries) < remainingCuts) {
+					fromFirst = !fromFirst;
+					remainingCuts--;
+				}
+				remainingBoundaries--;
+			}
+			child[childOffset + i] = fromFirst ? p1[p1Offset + i] : p2[p2Offset + i];
+		}
+	}
+	
+	/**
+	 * @return the number of cut points. 
+	 */
+	public int getNumPoints() {
+		return numPoints;
+	}
+}
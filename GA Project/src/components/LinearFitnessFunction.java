@@ -0,0 +1,77 @@
+package components;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Class representing a {@link BatchFitnessFunction} for affine objectives of the form w0*x0 + w1*x1 + ... + bias = target.
+ * A specimen's fitness is 1 / (1 + |w . x + bias - target|), so it reaches 1 exactly when the equality holds.
+ */
+public class LinearFitnessFunction extends BatchFitnessFunction {
+	private final double[] weights;
+	private final double bias;
+	private final double target;
+	
+	/**
+	 * Creates a function whose fitness peaks where the weighted sum of the traits plus bias equals target.
+	 * @param weights The weight of each trait. Specimens must have weights.length traits.
+	 * @param bias The constant added to the weighted sum.
+	 * @param target The value the weighted sum plus bias should equal.
+	 */
+	public LinearFitnessFunction(double[] weights, double bias, double target) {
+		if(weights.length == 0) {
+			throw new IllegalArgumentException("### A LINEAR FITNESS FUNCTION NEEDS AT LEAST ONE WEIGHT ###");
+		}
+		this.weights = weights.clone();
+		this.bias = bias;
+		this.target = target;
+	}
+	
+	/**
+	 * Creates a function whose fitness peaks where the weighted sum of the traits equals target.
+	 * @param weights The weight of each trait. Specimens must have weights.length traits.
+	 * @param target The value the weighted sum should equal.
+	 */
+	public LinearFitnessFunction(double[] weights, double target) {
+		this(weights, 0, target);
+	}
+	
+	/**
+	 * Scores every row in the range with one dot product per row.
+	 * The dot product keeps four independent partial sums so that consecutive multiply-adds do not wait on each other.
+	 * @param genes The row-major gene matrix.
+	 * @param numTraits The number of trait values in each row.
+	 * @param fromRow The first row to score, inclusive.
+	 * @param toRow The last row to score, exclusive.
+	 * @param fitnesses The array that receives the fitness of row i at index i.
+	 */
+	public void calculateFitnesses(double[] genes, int numTraits, int fromRow, int toRow, double[] fitnesses) {
+		if(numTraits != weights.length) {
+			throw new IllegalArgumentException("### EXPECTED " + weights.length + " TRAITS, GOT " + numTraits + " ###");
+		}
+		double[] w = weights;
+		int unrolled = numTraits & ~3;
+		for(int row = fromRow; row < toRow; row++) {
+			int offset = row * numTraits;
+			double sum0 = 0, sum1 = 0, sum2 = 0, sum3 = 0;
+			int j = 0;
+			for(; j < unrolled; j += 4) {
+				sum0 += w[j] * genes[offset + j];
+				sum1 += w[j + 1] * genes[offset + j + 1];
+				sum2 += w[j + 2] * genes[offset + j + 2];
+				sum3 += w[j + 3] * genes[offset + j + 3];
+			}
+			for(; j < numTraits; j++) {
+				sum0 += w[j] * genes[offset + j];
+			}
+			double value = (sum0 + sum1) + (sum2 + sum3) + bias;
+			fitnesses[row] = 1.0 / (1.0 + Math.abs(value - target));
+		}
+	}
+	
+	/**
+	 * @return the number of traits this function expects.
+	 */
+	public int getNumTraits() {
+		return weights.length;
+	}
+}
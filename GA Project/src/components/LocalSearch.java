@@ -0,0 +1,26 @@
+package components;
+
+import java.util.SplittableRandom;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Interface representing a local search that refines one specimen by small moves of its continuous trait values, keeping only moves
+ * that raise its fitness. Paired with the GA it makes a memetic algorithm: the GA finds the right region of the search space, and the
+ * {@link Controller} hands the fittest specimens of each generation to the local search to climb to the top of it.
+ * See {@link Controller#setLocalSearch(LocalSearch, int, int)}.
+ */
+public interface LocalSearch {
+	
+	/**
+	 * Refines the given, already scored, specimen in place. On return it holds the fittest values found and their fitness.
+	 * Integer, boolean and permutation traits are left unchanged.
+	 * NOTE: different specimens may be refined concurrently when the engine is parallel.
+	 * @param s The specimen to refine.
+	 * @param func The fitness function that scores each move.
+	 * @param budget The maximum number of times func may be called.
+	 * @param rand The random number generator to draw from.
+	 * @return The number of times func was called.
+	 */
+	int improve(Specimen s, FitnessFunction func, int budget, SplittableRandom rand);
+}
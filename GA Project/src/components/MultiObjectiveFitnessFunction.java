@@ -0,0 +1,50 @@
+package components;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Class representing a {@link FitnessFunction} that scores a specimen on several objectives at once instead of squashing them into one value.
+ * Every objective is maximized; negate an objective that should be minimized. The objectives are stored on the {@link Specimen},
+ * where {@link Controller#BREEDING_NSGA2} ranks them by Pareto dominance. The scalar fitness, which end conditions, listeners and
+ * the fittest specimen still use, is the mean of the objectives unless {@link #aggregate(double[])} is overridden.
+ * NOTE: objectives are only recorded when scoring a {@link Specimen}, so the {@link FitnessCache} is bypassed for these functions.
+ */
+public abstract class MultiObjectiveFitnessFunction extends FitnessFunction {
+	
+	/**
+	 * @return the number of objectives every specimen is scored on.
+	 */
+	public abstract int getNumObjectives();
+	
+	/**
+	 * Calculates every objective of the given specimen.
+	 * NOTE: different specimens may be scored concurrently when the engine is parallel.
+	 * @param s The specimen to score.
+	 * @param objectives The array of length {@link #getNumObjectives()} that receives the objective values, larger being better.
+	 */
+	public abstract void calculateObjectives(Specimen s, double[] objectives);
+	
+	/**
+	 * Combines a specimen's objectives into its scalar fitness.
+	 * @param objectives The specimen's objective values.
+	 * @return The mean of the objective values.
+	 */
+	public double aggregate(double[] objectives) {
+		double sum = 0;
+		for(double objective : objectives) {
+			sum += objective;
+		}
+		return sum / objectives.length;
+	}
+	
+	/**
+	 * Calculates and stores the specimen's objectives, then combines them into its fitness.
+	 * @param s The specimen to score.
+	 * @return The specimen's scalar fitness.
+	 */
+	public double calculateFitness(Specimen s) {
+		double[] objectives = s.objectiveBuffer(getNumObjectives());
+		calculateObjectives(s, objectives);
+		return aggregate(objectives);
+	}
+}
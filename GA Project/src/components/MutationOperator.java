@@ -0,0 +1,31 @@
+package components;
+
+import java.util.SplittableRandom;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Interface representing a way of randomly changing some of a child's genes after crossover.
+ * Operators change genes in place at an offset, so the same operator works on {@link Specimen} values and on rows of a
+ * {@link PackedPopulation}, and they must not allocate per gene. Operators hold only configuration, so one instance can be shared.
+ */
+public interface MutationOperator {
+	
+	/**
+	 * Mutates each gene independently with the given probability. Every mutated gene stays within its trait's bounds.
+	 * @param genes The array holding the genes to mutate.
+	 * @param offset The index in genes of the first gene.
+	 * @param traits The name and bounds of each gene. There are traits.length genes.
+	 * @param mutationRate The probability, between 0 and 1, that each gene is mutated.
+	 * @param rand The random number generator to draw from.
+	 */
+	void mutate(double[] genes, int offset, Trait[] traits, double mutationRate, SplittableRandom rand);
+	
+	/**
+	 * Operators that treat each gene on its own, such as {@link GaussianMutation}, would give a genome duplicate and missing elements.
+	 * @return true if the genome's {@link Trait#TYPE_PERMUTATION} traits still form a permutation after mutation.
+	 */
+	default boolean preservesPermutations() {
+		return false;
+	}
+}
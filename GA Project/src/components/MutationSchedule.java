@@ -0,0 +1,19 @@
+package components;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Interface representing a rule that adapts an experiment's mutation rate as it runs.
+ * The {@link Controller} asks its schedule for a new rate after creating each generation.
+ */
+public interface MutationSchedule {
+	
+	/**
+	 * Chooses the mutation rate used to breed the next generation.
+	 * @param currentRate The mutation rate used to breed the generation just created.
+	 * @param controller The experiment, whose statistics such as {@link Controller#getLastSuccessRatio()} and
+	 * {@link Controller#getPopulationDiversity()} describe the generation just created.
+	 * @return The new mutation rate, between 0 and 1.
+	 */
+	double nextMutationRate(double currentRate, Controller controller);
+}
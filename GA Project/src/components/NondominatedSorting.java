@@ -0,0 +1,366 @@
+package components;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Class that ranks specimens into Pareto fronts by their objectives and measures the crowding distance of each within its front.
+ * Front 0 holds every specimen no other specimen dominates, front 1 those only front 0 dominates, and so on. A specimen dominates another
+ * when it is at least as good in every objective and better in at least one, larger objective values being better.
+ *
+ * Sorting uses the efficient non-dominated sort with binary search (ENS-BS): specimens are visited in lexicographic order, so no specimen
+ * can be dominated by a later one, and each is placed by binary search over the fronts found so far. With one or two objectives, a front dominates
+ * a specimen exactly when the front's most recently added member does, so sorting costs O(N log N); with more objectives each probe scans
+ * the front from its newest member, which is far below the O(MN^2) of the naive sort on typical populations.
+ * Buffers are kept between calls, so ranking a population of the same size again allocates nothing.
+ */
+public class NondominatedSorting {
+	// ranges at most this long are finished with an insertion sort
+	private final static int INSERTION_SORT_THRESHOLD = 16;
+	
+	private int size;
+	private int numObjectives;
+	// row-major objective matrix, where specimen i's objectives start at i * numObjectives
+	private double[] objectives;
+	private int[] order;
+	private int[] buffer;
+	private int[] ranks;
+	private double[] crowding;
+	// newest member of each front, and for each specimen the member added to its front before it
+	private int[] frontNewest;
+	private int[] previousInFront;
+	private int numFronts;
+	// members of front k are frontMembers[frontStart[k]] to frontMembers[frontStart[k + 1] - 1]
+	private int[] frontStart;
+	private int[] frontMembers;
+	
+	public NondominatedSorting() {
+		size = 0;
+		numFronts = 0;
+		objectives = new double[0];
+		order = new int[0];
+		buffer = new int[0];
+		ranks = new int[0];
+		crowding = new double[0];
+		frontNewest = new int[1];
+		previousInFront = new int[0];
+		frontStart = new int[1];
+		frontMembers = new int[0];
+	}
+	
+	/**
+	 * Ranks the first count specimens of the given array into fronts and measures their crowding distances.
+	 * @param specimens The array holding the specimens, which must all have the same number of objectives.
+	 * @param count The number of specimens, starting at index 0, to rank.
+	 * @return The number of fronts.
+	 */
+	public int sort(Specimen[] specimens, int count) {
+		size = count;
+		numFronts = 0;
+		if(count == 0) {
+			frontStart[0] = 0;
+			return 0;
+		}
+		numObjectives = specimens[0].getNumObjectives();
+		ensureCapacity(count);
+		for(int i = 0; i < count; i++) {
+			Specimen s = specimens[i];
+			if(s.getNumObjectives() != numObjectives || numObjectives == 0) {
+				throw new IllegalStateException("### SPECIMEN #" + s.getId() + " HAS " + s.getNumObjectives() + " OBJECTIVES, EXPECTED " + Math.max(1, numObjectives) + " ###");
+			}
+			for(int m = 0; m < numObjectives; m++) {
+				objectives[i * numObjectives + m] = s.getObjective(m);
+			}
+			order[i] = i;
+		}
+		
+		// visit specimens best first, lexicographically, so every specimen that could dominate one is placed before it
+		sortIndices(order, 0, count, -1);
+		for(int i = 0; i < count; i++) {
+			int s = order[i];
+			int lo = 0;
+			int hi = numFronts;
+			while(lo < hi) {
+				int mid = (lo + hi) >>> 1;
+				if(isDominatedByFront(mid, s)) {
+					lo = mid + 1;
+				}
+				else {
+					hi = mid;
+				}
+			}
+			if(lo == numFronts) {
+				frontNewest[numFronts++] = -1;
+			}
+			previousInFront[s] = frontNewest[lo];
+			frontNewest[lo] = s;
+			ranks[s] = lo;
+		}
+		
+		groupFronts();
+		for(int k = 0; k < numFronts; k++) {
+			measureCrowding(frontStart[k], frontStart[k + 1]);
+		}
+		return numFronts;
+	}
+	
+	/**
+	 * @return the number of fronts found by the last sort.
+	 */
+	public int getNumFronts() {
+		return numFronts;
+	}
+	
+	/**
+	 * @param index The index of a specimen in the last sorted array.
+	 * @return The index of the specimen's front, 0 being the non-dominated front.
+	 */
+	public int getRank(int index) {
+		return ranks[index];
+	}
+	
+	/**
+	 * @param index The index of a specimen in the last sorted array.
+	 * @return The specimen's crowding distance within its front, infinite for the extremes of each objective.
+	 */
+	public double getCrowdingDistance(int index) {
+		return crowding[index];
+	}
+	
+	/**
+	 * @param front The index of a front.
+	 * @return The number of specimens in the front.
+	 */
+	public int getFrontSize(int front) {
+		return frontStart[front + 1] - frontStart[front];
+	}
+	
+	/**
+	 * @param front The index of a front.
+	 * @param i The position of the member within the front.
+	 * @return The index, in the last sorted array, of the front's i-th member.
+	 */
+	public int getFrontMember(int front, int i) {
+		return frontMembers[frontStart[front] + i];
+	}
+	
+	/**
+	 * Compares two specimens of the last sorted array by rank and then by crowding distance, as NSGA-II does.
+	 * @param a The index of the first specimen.
+	 * @param b The index of the second specimen.
+	 * @return True if the first specimen is in a better front, or in the same front and less crowded.
+	 */
+	public boolean isBetter(int a, int b) {
+		return ranks[a] < ranks[b] || (ranks[a] == ranks[b] && crowding[a] > crowding[b]);
+	}
+	
+	/**
+	 * Chooses the best specimens of the last sorted array: whole fronts in order, and then the least crowded members of the first front that does not fit.
+	 * @param count The number of specimens to choose.
+	 * @param chosen The array that receives true at the index of every chosen specimen.
+	 */
+	public void selectBest(int count, boolean[] chosen) {
+		for(int i = 0; i < size; i++) {
+			chosen[i] = false;
+		}
+		int remaining = count;
+		for(int k = 0; k < numFronts && remaining > 0; k++) {
+			int from = frontStart[k];
+			int to = frontStart[k + 1];
+			if(to - from > remaining) {
+				// order the overflowing front from most to least crowded and keep its least crowded members
+				sortByCrowding(from, to);
+				to = from + remaining;
+			}
+			for(int i = from; i < to; i++) {
+				chosen[frontMembers[i]] = true;
+			}
+			remaining -= to - from;
+		}
+	}
+	
+	/**
+	 * @return true if any member of the given front dominates the given specimen. Only called for specimens that follow every member lexicographically.
+	 */
+	private boolean isDominatedByFront(int front, int s) {
+		if(numObjectives <= 2) {
+			return dominates(frontNewest[front], s);
+		}
+		for(int p = frontNewest[front]; p >= 0; p = previousInFront[p]) {
+			if(dominates(p, s)) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * @return true if specimen p is at least as good as specimen s in every objective and better in at least one.
+	 */
+	private boolean dominates(int p, int s) {
+		int pOffset = p * numObjectives;
+		int sOffset = s * numObjectives;
+		boolean better = false;
+		for(int m = 0; m < numObjectives; m++) {
+			double pValue = objectives[pOffset + m];
+			double sValue = objectives[sOffset + m];
+			if(pValue < sValue) {
+				return false;
+			}
+			if(pValue > sValue) {
+				better = true;
+			}
+		}
+		return better;
+	}
+	
+	/**
+	 * Lays the members of each front out contiguously in frontMembers, in the order they were visited, with a counting sort on rank.
+	 */
+	private void groupFronts() {
+		if(frontStart.length < numFronts + 1) {
+			frontStart = new int[numFronts + 1];
+		}
+		for(int k = 0; k <= numFronts; k++) {
+			frontStart[k] = 0;
+		}
+		for(int i = 0; i < size; i++) {
+			frontStart[ranks[i] + 1]++;
+		}
+		for(int k = 1; k <= numFronts; k++) {
+			frontStart[k] += frontStart[k - 1];
+		}
+		for(int k = 0; k < numFronts; k++) {
+			frontNewest[k] = frontStart[k];
+		}
+		for(int i = 0; i < size; i++) {
+			int s = order[i];
+			frontMembers[frontNewest[ranks[s]]++] = s;
+		}
+	}
+	
+	/**
+	 * Measures the crowding distance of the members of one front: for each objective, the extremes get an infinite distance and every
+	 * other member adds the normalized gap between its neighbours on that objective.
+	 */
+	private void measureCrowding(int from, int to) {
+		for(int i = from; i < to; i++) {
+			crowding[frontMembers[i]] = 0;
+		}
+		if(to - from <= 2) {
+			for(int i = from; i < to; i++) {
+				crowding[frontMembers[i]] = Double.POSITIVE_INFINITY;
+			}
+			return;
+		}
+		for(int m = 0; m < numObjectives; m++) {
+			sortIndices(frontMembers, from, to, m);
+			double min = objectives[frontMembers[to - 1] * numObjectives + m];
+			double max = objectives[frontMembers[from] * numObjectives + m];
+			crowding[frontMembers[from]] = Double.POSITIVE_INFINITY;
+			crowding[frontMembers[to - 1]] = Double.POSITIVE_INFINITY;
+			if(max == min) {
+				continue;
+			}
+			double scale = 1.0 / (max - min);
+			for(int i = from + 1; i < to - 1; i++) {
+				double gap = objectives[frontMembers[i - 1] * numObjectives + m] - objectives[frontMembers[i + 1] * numObjectives + m];
+				crowding[frontMembers[i]] += gap * scale;
+			}
+		}
+	}
+	
+	/**
+	 * Sorts a range of frontMembers by decreasing crowding distance with an insertion sort, since only one front per generation needs it.
+	 */
+	private void sortByCrowding(int from, int to) {
+		for(int i = from + 1; i < to; i++) {
+			int member = frontMembers[i];
+			double distance = crowding[member];
+			int j = i - 1;
+			while(j >= from && crowding[frontMembers[j]] < distance) {
+				frontMembers[j + 1] = frontMembers[j];
+				j--;
+			}
+			frontMembers[j + 1] = member;
+		}
+	}
+	
+	/**
+	 * Stably sorts a range of specimen indices from best to worst with a merge sort, either on one objective or lexicographically on all of them.
+	 * @param a The array of indices to sort.
+	 * @param from The first index of the range, inclusive.
+	 * @param to The last index of the range, exclusive.
+	 * @param objective The objective to sort on, or -1 to compare every objective in turn.
+	 */
+	private void sortIndices(int[] a, int from, int to, int objective) {
+		if(to - from <= INSERTION_SORT_THRESHOLD) {
+			for(int i = from + 1; i < to; i++) {
+				int value = a[i];
+				int j = i - 1;
+				while(j >= from && compare(a[j], value, objective) > 0) {
+					a[j + 1] = a[j];
+					j--;
+				}
+				a[j + 1] = value;
+			}
+			return;
+		}
+		int mid = (from + to) >>> 1;
+		sortIndices(a, from, mid, objective);
+		sortIndices(a, mid, to, objective);
+		if(compare(a[mid - 1], a[mid], objective) <= 0) {
+			return;
+		}
+		System.arraycopy(a, from, buffer, from, to - from);
+		int i = from;
+		int j = mid;
+		for(int k = from; k < to; k++) {
+			if(j >= to || (i < mid && compare(buffer[i], buffer[j], objective) <= 0)) {
+				a[k] = buffer[i++];
+			}
+			else {
+				a[k] = buffer[j++];
+			}
+		}
+	}
+	
+	/**
+	 * Compares with the same operators as {@link #dominates(int, int)}, so that e.g. 0.0 and -0.0 tie here just as they do there.
+	 * @return a negative value if specimen a sorts before specimen b, i.e. has the larger objective value, 0 if they tie, and a positive value otherwise.
+	 */
+	private int compare(int a, int b, int objective) {
+		int aOffset = a * numObjectives;
+		int bOffset = b * numObjectives;
+		int m = objective >= 0 ? objective : 0;
+		int end = objective >= 0 ? objective + 1 : numObjectives;
+		for(; m < end; m++) {
+			double aValue = objectives[aOffset + m];
+			double bValue = objectives[bOffset + m];
+			if(aValue > bValue) {
+				return -1;
+			}
+			if(aValue < bValue) {
+				return 1;
+			}
+		}
+		return 0;
+	}
+	
+	/**
+	 * Grows the buffers to hold the given number of specimens.
+	 */
+	private void ensureCapacity(int count) {
+		if(objectives.length < count * numObjectives) {
+			objectives = new double[count * numObjectives];
+		}
+		if(order.length < count) {
+			order = new int[count];
+			buffer = new int[count];
+			ranks = new int[count];
+			crowding = new double[count];
+			previousInFront = new int[count];
+			frontMembers = new int[count];
+			frontNewest = new int[count + 1];
+		}
+	}
+}
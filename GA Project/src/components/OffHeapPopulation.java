@@ -0,0 +1,244 @@
+package components;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Class that stores a population's gene matrix and fitness column outside of the Java heap, in direct or memory-mapped {@link ByteBuffer}s.
+ * The garbage collector never scans or copies them, so a population of tens of millions of specimens costs one small object graph no matter its size.
+ *
+ * A single buffer holds at most 2 GB, so both columns are split into chunks of whole rows, each at most {@link #CHUNK_BYTES} long.
+ * Row i of the gene matrix lives in chunk i / rowsPerChunk, so a row never straddles two chunks.
+ * NOTE: direct buffers count against -XX:MaxDirectMemorySize, which defaults to the maximum heap size, so raise it for large populations
+ * or use {@link #mapFile(Path, Trait[], int)}, whose pages the operating system can also write out to the file when memory runs short.
+ */
+public class OffHeapPopulation implements PopulationStore {
+	// largest chunk of either column, in bytes
+	public final static int CHUNK_BYTES = 1 << 30;
+	
+	private final Trait[] traits;
+	private final int size;
+	private final int numTraits;
+	private final int rowsPerChunk;
+	private final DoubleBuffer[] geneChunks;
+	private final int fitnessesPerChunk;
+	private final DoubleBuffer[] fitnessChunks;
+	
+	/**
+	 * Creates a population of the given size in direct buffers, with every gene and fitness 0.
+	 * @param traits The blueprint {@link Trait}s that give each gene its name and bounds.
+	 * @param size The number of specimens in the population.
+	 */
+	public OffHeapPopulation(Trait[] traits, int size) {
+		this(traits, size, null);
+	}
+	
+	/**
+	 * Creates a population backed by direct buffers, or by chunks of the given file when one is given.
+	 */
+	private OffHeapPopulation(Trait[] traits, int size, FileChannel file) {
+		if(traits.length == 0 || (long) traits.length * Double.BYTES > CHUNK_BYTES) {
+			throw new IllegalArgumentException("### AN OFF-HEAP POPULATION NEEDS BETWEEN 1 AND " + CHUNK_BYTES / Double.BYTES + " TRAITS, GOT " + traits.length + " ###");
+		}
+		this.traits = traits;
+		this.size = size;
+		this.numTraits = traits.length;
+		rowsPerChunk = CHUNK_BYTES / (numTraits * Double.BYTES);
+		fitnessesPerChunk = CHUNK_BYTES / Double.BYTES;
+		geneChunks = new DoubleBuffer[(size + rowsPerChunk - 1) / rowsPerChunk];
+		fitnessChunks = new DoubleBuffer[(size + fitnessesPerChunk - 1) / fitnessesPerChunk];
+		
+		long position = 0;
+		for(int c = 0; c < geneChunks.length; c++) {
+			int rows = Math.min(rowsPerChunk, size - c * rowsPerChunk);
+			long bytes = (long) rows * numTraits * Double.BYTES;
+			geneChunks[c] = allocate(file, position, bytes);
+			position += bytes;
+		}
+		for(int c = 0; c < fitnessChunks.length; c++) {
+			long bytes = (long) Math.min(fitnessesPerChunk, size - c * fitnessesPerChunk) * Double.BYTES;
+			fitnessChunks[c] = allocate(file, position, bytes);
+			position += bytes;
+		}
+	}
+	
+	/**
+	 * Creates a population whose columns are memory-mapped from the given file, which is created or grown as needed.
+	 * The file holds the gene matrix followed by the fitness column, as native-order doubles.
+	 * @param file The file that backs the population.
+	 * @param traits The blueprint {@link Trait}s that give each gene its name and bounds.
+	 * @param size The number of specimens in the population.
+	 * @return The mapped population.
+	 */
+	public static OffHeapPopulation mapFile(Path file, Trait[] traits, int size) {
+		try(FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			// mappings stay valid after the channel is closed
+			return new OffHeapPopulation(traits, size, channel);
+		}
+		catch(IOException e) {
+			throw new UncheckedIOException("### COULD NOT MAP POPULATION FILE " + file + " ###", e);
+		}
+	}
+	
+	/**
+	 * Allocates one chunk, directly or by mapping the given region of the file.
+	 */
+	private static DoubleBuffer allocate(FileChannel file, long position, long bytes) {
+		ByteBuffer buffer;
+		if(file == null) {
+			buffer = ByteBuffer.allocateDirect((int) bytes);
+		}
+		else {
+			try {
+				buffer = file.map(FileChannel.MapMode.READ_WRITE, position, bytes);
+			}
+			catch(IOException e) {
+				throw new UncheckedIOException("### COULD NOT MAP " + bytes + " BYTES OF POPULATION FILE ###", e);
+			}
+		}
+		return buffer.order(ByteOrder.nativeOrder()).asDoubleBuffer();
+	}
+	
+	/**
+	 * @return the number of specimens in this population.
+	 */
+	public int getSize() {
+		return size;
+	}
+	
+	/**
+	 * @return the number of traits each specimen has.
+	 */
+	public int getNumTraits() {
+		return numTraits;
+	}
+	
+	/**
+	 * @return the blueprint {@link Trait}s that give each gene its name and bounds.
+	 */
+	public Trait[] getTraits() {
+		return traits;
+	}
+	
+	/**
+	 * @return the number of bytes the gene matrix and fitness column take up outside of the heap.
+	 */
+	public long getOffHeapBytes() {
+		return (long) size * (numTraits + 1) * Double.BYTES;
+	}
+	
+	/**
+	 * @param index The specimen's row.
+	 * @param trait The trait's index.
+	 * @return The value of the given trait of the given specimen.
+	 */
+	public double getGene(int index, int trait) {
+		return geneChunks[index / rowsPerChunk].get((index % rowsPerChunk) * numTraits + trait);
+	}
+	
+	/**
+	 * Sets the value of the given trait of the given specimen.
+	 * @param index The specimen's row.
+	 * @param trait The trait's index.
+	 * @param value The value to set.
+	 */
+	public void setGene(int index, int trait, double value) {
+		geneChunks[index / rowsPerChunk].put((index % rowsPerChunk) * numTraits + trait, value);
+	}
+	
+	/**
+	 * @param index The specimen's row.
+	 * @return The fitness of the given specimen.
+	 */
+	public double getFitness(int index) {
+		return fitnessChunks[index / fitnessesPerChunk].get(index % fitnessesPerChunk);
+	}
+	
+	/**
+	 * Sets the fitness of the given specimen.
+	 * @param index The specimen's row.
+	 * @param fitness The fitness value to set.
+	 */
+	public void setFitness(int index, double fitness) {
+		fitnessChunks[index / fitnessesPerChunk].put(index % fitnessesPerChunk, fitness);
+	}
+	
+	/**
+	 * Copies every gene of a row into an array.
+	 * @param index The specimen's row.
+	 * @param dst The array to copy into.
+	 * @param offset The index in dst that receives the first gene.
+	 */
+	public void readRow(int index, double[] dst, int offset) {
+		DoubleBuffer chunk = geneChunks[index / rowsPerChunk];
+		int start = (index % rowsPerChunk) * numTraits;
+		for(int j = 0; j < numTraits; j++) {
+			dst[offset + j] = chunk.get(start + j);
+		}
+	}
+	
+	/**
+	 * Overwrites every gene of a row from an array.
+	 * @param index The specimen's row.
+	 * @param src The array to copy from.
+	 * @param offset The index in src of the first gene.
+	 */
+	public void writeRow(int index, double[] src, int offset) {
+		DoubleBuffer chunk = geneChunks[index / rowsPerChunk];
+		int start = (index % rowsPerChunk) * numTraits;
+		for(int j = 0; j < numTraits; j++) {
+			chunk.put(start + j, src[offset + j]);
+		}
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * Rows copied to another off-heap population go straight between the buffers.
+	 */
+	public void copyRow(int index, PopulationStore target, int targetIndex) {
+		if(target instanceof OffHeapPopulation) {
+			copyRow(index, (OffHeapPopulation) target, targetIndex);
+		}
+		else {
+			PopulationStore.super.copyRow(index, target, targetIndex);
+		}
+	}
+	
+	/**
+	 * Copies the genes and fitness of one row of this population into a row of another off-heap population of the same shape,
+	 * straight between their buffers.
+	 * @param index The row to copy.
+	 * @param target The population to copy into.
+	 * @param targetIndex The row of target to overwrite.
+	 */
+	public void copyRow(int index, OffHeapPopulation target, int targetIndex) {
+		DoubleBuffer from = geneChunks[index / rowsPerChunk];
+		DoubleBuffer to = target.geneChunks[targetIndex / target.rowsPerChunk];
+		int fromStart = (index % rowsPerChunk) * numTraits;
+		int toStart = (targetIndex % target.rowsPerChunk) * numTraits;
+		for(int j = 0; j < numTraits; j++) {
+			to.put(toStart + j, from.get(fromStart + j));
+		}
+		target.setFitness(targetIndex, getFitness(index));
+	}
+	
+	/**
+	 * Unpacks the given row into a new {@link Specimen} that shares this population's trait names and bounds.
+	 * @param index The row to unpack.
+	 * @return A specimen holding a copy of the row's values and fitness.
+	 */
+	public Specimen toSpecimen(int index) {
+		Specimen s = new Specimen(index, traits);
+		readRow(index, s.getValues(), 0);
+		s.setFitness(getFitness(index));
+		return s;
+	}
+}
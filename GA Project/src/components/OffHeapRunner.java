@@ -0,0 +1,130 @@
+package components;
+
+import java.util.SplittableRandom;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Class that runs a generational GA entirely against two {@link PopulationStore}s, by default {@link OffHeapPopulation}s, so the population
+ * never exists as {@link Specimen} objects; a {@link PackedPopulation} pair drives the same run on the heap. Generations, tournaments
+ * and the carried over fittest specimen work as described by {@link BlockedRunner}, and after the first generation nothing proportional
+ * to the population size is allocated, so the garbage collector has nothing to trace.
+ *
+ * Breeding and scoring are fused: the {@link EvaluationEngine} breeds each block into a small per-thread gene matrix, scores it,
+ * and writes it out. A {@link BatchFitnessFunction} scores each block in one call.
+ */
+public class OffHeapRunner extends BlockedRunner<PopulationStore> {
+	private final Trait[] traits;
+	private final int numTraits;
+	private final FitnessFunction func;
+	private CrossoverOperator crossoverOperator;
+	private MutationOperator mutationOperator;
+	// per-thread gene matrix, fitness column and parent rows that one block is bred into
+	private final ThreadLocal<BlockScratch> scratch;
+	
+	/**
+	 * Creates a runner whose two populations live in direct buffers.
+	 * NOTE: the populations take 2 * populationSize * (traits.length + 1) * 8 bytes of direct memory; see {@link OffHeapPopulation}.
+	 * @param traits The blueprint {@link Trait}s that give each gene its name and bounds.
+	 * @param populationSize The number of specimens in each generation.
+	 * @param func The fitness function used to score each specimen.
+	 */
+	public OffHeapRunner(Trait[] traits, int populationSize, FitnessFunction func) {
+		this(new OffHeapPopulation(traits, populationSize), new OffHeapPopulation(traits, populationSize), func);
+	}
+	
+	/**
+	 * Creates a runner that breeds back and forth between the two given populations, e.g. ones made with {@link OffHeapPopulation#mapFile},
+	 * or two {@link PackedPopulation}s.
+	 * @param first The population the first generation is created in.
+	 * @param second The population the second generation is bred into.
+	 * @param func The fitness function used to score each specimen.
+	 */
+	public OffHeapRunner(PopulationStore first, PopulationStore second, FitnessFunction func) {
+		super(first, second);
+		traits = first.getTraits();
+		numTraits = traits.length;
+		this.func = func;
+		crossoverOperator = new UniformCrossover();
+		mutationOperator = new GaussianMutation();
+		scratch = ThreadLocal.withInitial(() -> new BlockScratch(numTraits));
+	}
+	
+	/**
+	 * Sets the operator that combines two parents' traits into a child's. Defaults to {@link UniformCrossover}.
+	 * @param crossover The crossover operator to use.
+	 */
+	public void setCrossoverOperator(CrossoverOperator crossover) {
+		crossoverOperator = crossover;
+	}
+	
+	/**
+	 * Sets the operator that mutates each child's traits, each with probability equal to the mutation rate. Defaults to {@link GaussianMutation}.
+	 * @param mutation The mutation operator to use.
+	 */
+	public void setMutationOperator(MutationOperator mutation) {
+		mutationOperator = mutation;
+	}
+	
+	/**
+	 * Fills rows [fromRow, toRow) with random genes within each trait's bounds and scores them.
+	 */
+	void initializeBlock(PopulationStore population, int fromRow, int toRow, SplittableRandom rand) {
+		BlockScratch s = scratch.get();
+		int rows = toRow - fromRow;
+		for(int i = 0; i < rows; i++) {
+			Trait.generateGenome(traits, s.genes, i * numTraits, rand);
+		}
+		scoreAndStore(s, fromRow, rows, population);
+	}
+	
+	/**
+	 * Breeds rows [fromRow, toRow) of the children into the thread's gene matrix, then scores them and writes them out.
+	 */
+	void breedBlock(PopulationStore parents, PopulationStore children, int fromRow, int toRow, SplittableRandom rand) {
+		BlockScratch s = scratch.get();
+		int rows = toRow - fromRow;
+		for(int i = 0; i < rows; i++) {
+			parents.readRow(select(parents, rand), s.parent1, 0);
+			parents.readRow(select(parents, rand), s.parent2, 0);
+			crossoverOperator.crossover(s.parent1, 0, s.parent2, 0, s.genes, i * numTraits, traits, rand);
+			mutationOperator.mutate(s.genes, i * numTraits, traits, mutationRate, rand);
+		}
+		scoreAndStore(s, fromRow, rows, children);
+	}
+	
+	/**
+	 * Scores the first rows rows of a block's gene matrix and copies them into the given population from fromRow on.
+	 */
+	private void scoreAndStore(BlockScratch s, int fromRow, int rows, PopulationStore target) {
+		if(func instanceof BatchFitnessFunction) {
+			((BatchFitnessFunction) func).calculateFitnesses(s.genes, numTraits, 0, rows, s.fitnesses);
+		}
+		else {
+			for(int i = 0; i < rows; i++) {
+				s.fitnesses[i] = func.calculateFitness(s.genes, i * numTraits, traits);
+			}
+		}
+		for(int i = 0; i < rows; i++) {
+			target.writeRow(fromRow + i, s.genes, i * numTraits);
+			target.setFitness(fromRow + i, s.fitnesses[i]);
+		}
+	}
+	
+	/**
+	 * The gene matrix of one block plus room for two parent rows, kept per thread so breeding a block allocates nothing.
+	 */
+	private static class BlockScratch {
+		private final double[] genes;
+		private final double[] fitnesses;
+		private final double[] parent1;
+		private final double[] parent2;
+		
+		BlockScratch(int numTraits) {
+			genes = new double[EvaluationEngine.BATCH_ROWS * numTraits];
+			fitnesses = new double[EvaluationEngine.BATCH_ROWS];
+			parent1 = new double[numTraits];
+			parent2 = new double[numTraits];
+		}
+	}
+}
@@ -0,0 +1,56 @@
+package components;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Class representing Rechenberg's 1/5th success rule applied to the mutation rate: when more than one child in five is fitter than
+ * its fitter parent the search is making progress and the rate grows to take larger steps, and when fewer are it shrinks to search more locally.
+ */
+public class OneFifthSuccessRule implements MutationSchedule {
+	private final static double TARGET_SUCCESS_RATIO = 0.2;
+	
+	private final double factor;
+	private final double minRate;
+	private final double maxRate;
+	
+	/**
+	 * Creates the rule.
+	 * @param factor The factor, between 0 and 1, the rate is multiplied by when it shrinks and divided by when it grows. 0.85 is typical.
+	 * @param minRate The smallest rate the rule will choose.
+	 * @param maxRate The largest rate the rule will choose.
+	 */
+	public OneFifthSuccessRule(double factor, double minRate, double maxRate) {
+		if(factor <= 0 || factor >= 1) {
+			throw new IllegalArgumentException("### 1/5TH RULE FACTOR MUST BE BETWEEN 0 AND 1, GOT " + factor + " ###");
+		}
+		if(minRate < 0 || minRate > maxRate || maxRate > 1) {
+			throw new IllegalArgumentException("### INVALID MUTATION RATE RANGE [" + minRate + ", " + maxRate + "] ###");
+		}
+		this.factor = factor;
+		this.minRate = minRate;
+		this.maxRate = maxRate;
+	}
+	
+	/**
+	 * Creates the rule with factor 0.85 and rates between 0.001 and 0.5.
+	 */
+	public OneFifthSuccessRule() {
+		this(0.85, 0.001, 0.5);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * The rate grows by the factor's inverse when more than a fifth of the children improved on their parents, and shrinks by the factor when fewer did, within the rule's bounds.
+	 */
+	public double nextMutationRate(double currentRate, Controller controller) {
+		double successRatio = controller.getLastSuccessRatio();
+		double rate = currentRate;
+		if(successRatio > TARGET_SUCCESS_RATIO) {
+			rate = currentRate / factor;
+		}
+		else if(successRatio < TARGET_SUCCESS_RATIO) {
+			rate = currentRate * factor;
+		}
+		return Math.max(minRate, Math.min(maxRate, rate));
+	}
+}
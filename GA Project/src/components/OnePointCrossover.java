@@ -0,0 +1,32 @@
+package components;
+
+import java.util.SplittableRandom;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Class representing a {@link CrossoverOperator} that cuts both parents at one random point, 
+ * giving the child the genes of one parent before the cut and of the other parent after it.
+ */
+public class OnePointCrossover implements CrossoverOperator {
+	
+	/**
+	 * {@inheritDoc}
+	 * Genes before a random cut come from one parent and the rest from the other.
+	 */
+	public void crossover(double[] p1, int p1Offset, double[] p2, int p2Offset, double[] child, int childOffset, Trait[] traits, SplittableRandom rand) {
+		int numTraits = traits.length;
+		int cut = numTraits > 1 ? 1 + rand.nextInt(numTraits - 1) : numTraits;
+		// randomly choose which parent gives the head so that neither parent is favoured
+		if(rand.nextBoolean()) {
+			double[] swap = p1;
+			p1 = p2;
+			p2 = swap;
+			int swapOffset = p1Offset;
+			p1Offset = p2Offset;
+			p2Offset = swapOffset;
+		}
+		System.arraycopy(p1, p1Offset, child, childOffset, cut);
+		System.arraycopy(p2, p2Offset + cut, child, childOffset + cut, numTraits - cut);
+	}
+}
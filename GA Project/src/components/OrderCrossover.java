@@ -0,0 +1,76 @@
+package components;
+
+import java.util.SplittableRandom;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Class representing a {@link CrossoverOperator} for genomes with {@link Trait#TYPE_PERMUTATION} traits that keeps the child a permutation,
+ * using Davis's order crossover (OX1): the child copies a random segment of the first parent's permutation, then fills the remaining places,
+ * starting after the segment, with the missing elements in the order they appear in the second parent, also starting after the segment.
+ * Any other traits are inherited uniformly from either parent.
+ */
+public class OrderCrossover implements CrossoverOperator {
+	private volatile PermutationLayout layout;
+	// per-thread marks of the elements already placed in the child
+	private final ThreadLocal<boolean[]> placed = ThreadLocal.withInitial(() -> new boolean[0]);
+	
+	/**
+	 * {@inheritDoc}
+	 * Permutation genes follow order crossover and the other genes come from either parent with equal probability.
+	 */
+	public void crossover(double[] p1, int p1Offset, double[] p2, int p2Offset, double[] child, int childOffset, Trait[] traits, SplittableRandom rand) {
+		PermutationLayout l = layout = PermutationLayout.of(layout, traits);
+		int[] positions = l.positions;
+		int k = positions.length;
+		for(int i = 0; i < traits.length; i++) {
+			if(traits[i].getType() != Trait.TYPE_PERMUTATION) {
+				child[childOffset + i] = rand.nextBoolean() ? p1[p1Offset + i] : p2[p2Offset + i];
+			}
+		}
+		if(k == 0) {
+			return;
+		}
+		
+		boolean[] used = placed.get();
+		if(used.length < k) {
+			used = new boolean[k];
+			placed.set(used);
+		}
+		for(int i = 0; i < k; i++) {
+			used[i] = false;
+		}
+		
+		// copy the segment [from, to] of the first parent's permutation
+		int from = rand.nextInt(k);
+		int to = rand.nextInt(k);
+		if(from > to) {
+			int swap = from;
+			from = to;
+			to = swap;
+		}
+		for(int j = from; j <= to; j++) {
+			int element = l.element(p1, p1Offset + positions[j]);
+			child[childOffset + positions[j]] = element;
+			used[element] = true;
+		}
+		
+		// fill the rest in the second parent's order, both wrapping around from just after the segment
+		int write = (to + 1) % k;
+		for(int n = 1; n <= k; n++) {
+			int element = l.element(p2, p2Offset + positions[(to + n) % k]);
+			if(!used[element]) {
+				child[childOffset + positions[write]] = element;
+				used[element] = true;
+				write = (write + 1) % k;
+			}
+		}
+	}
+	
+	/**
+	 * @return true, since order crossover only ever copies and reorders the parents' permutation elements.
+	 */
+	public boolean preservesPermutations() {
+		return true;
+	}
+}
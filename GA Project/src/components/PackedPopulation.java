@@ -0,0 +1,217 @@
+package components;
+
+import java.util.SplittableRandom;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Class that stores a whole population as primitive arrays rather than as {@link Specimen} objects.
+ * Trait values live in one row-major gene matrix (specimen i's values start at i * numTraits),
+ * fitness values live in one array, and trait names and bounds are stored once for the whole population. 
+ */
+public class PackedPopulation implements PopulationStore {
+	private Trait[] traits;
+	private int size;
+	private int numTraits;
+	private double[] genes;
+	private double[] fitnesses;
+	private int[] ids;
+	
+	/**
+	 * Creates a population of the given size whose genes are all 0.
+	 * @param traits The blueprint {@link Trait}s that give each gene its name and bounds.
+	 * @param size The number of specimens in the population. 
+	 */
+	public PackedPopulation(Trait[] traits, int size) {
+		long numGenes = (long) size * traits.length;
+		if(numGenes > Integer.MAX_VALUE - 8) {
+			throw new IllegalArgumentException("### " + size + " SPECIMENS OF " + traits.length + " TRAITS DO NOT FIT IN ONE GENE ARRAY ###");
+		}
+		this.traits = traits;
+		this.size = size;
+		this.numTraits = traits.length;
+		genes = new double[(int) numGenes];
+		fitnesses = new double[size];
+		ids = new int[size];
+	}
+	
+	/**
+	 * Packs the given specimens into a new population.
+	 * @param traits The blueprint {@link Trait}s that give each gene its name and bounds.
+	 * @param specimens The specimens to copy. 
+	 * @return A population holding a copy of every given specimen's values, fitness and id. 
+	 */
+	public static PackedPopulation fromSpecimens(Trait[] traits, Specimen[] specimens) {
+		PackedPopulation population = new PackedPopulation(traits, specimens.length);
+		for(int i = 0; i < specimens.length; i++) {
+			population.load(i, specimens[i]);
+		}
+		return population;
+	}
+	
+	/**
+	 * Gives every gene a random value within its trait's bounds and clears every fitness.
+	 * @param rand The random number generator to draw from.
+	 */
+	public void randomize(SplittableRandom rand) {
+		for(int i = 0; i < size; i++) {
+			Trait.generateGenome(traits, genes, i * numTraits, rand);
+			fitnesses[i] = 0;
+		}
+	}
+	
+	/**
+	 * Copies the values, fitness and id of a {@link Specimen} into the given row.
+	 * @param index The row to overwrite.
+	 * @param s The specimen to copy. 
+	 */
+	public void load(int index, Specimen s) {
+		System.arraycopy(s.getValues(), 0, genes, index * numTraits, numTraits);
+		fitnesses[index] = s.getFitness();
+		ids[index] = s.getId();
+	}
+	
+	/**
+	 * Unpacks the given row into a new {@link Specimen} that shares this population's trait names and bounds.
+	 * @param index The row to unpack.
+	 * @return A specimen holding a copy of the row's values, fitness and id. 
+	 */
+	public Specimen toSpecimen(int index) {
+		Specimen s = new Specimen(ids[index], traits);
+		System.arraycopy(genes, index * numTraits, s.getValues(), 0, numTraits);
+		s.setFitness(fitnesses[index]);
+		return s;
+	}
+	
+	/**
+	 * @return the number of specimens in this population.
+	 */
+	public int getSize() {
+		return size;
+	}
+	
+	/**
+	 * @return the number of traits each specimen has.
+	 */
+	public int getNumTraits() {
+		return numTraits;
+	}
+	
+	/**
+	 * @return the blueprint {@link Trait}s that give each gene its name and bounds.
+	 */
+	public Trait[] getTraits() {
+		return traits;
+	}
+	
+	/**
+	 * @param index The specimen's row.
+	 * @return The index in the gene array of the given specimen's first trait value.
+	 */
+	public int getOffset(int index) {
+		return index * numTraits;
+	}
+	
+	/**
+	 * @return the row-major gene matrix. Changes to it change this population.
+	 */
+	public double[] getGenes() {
+		return genes;
+	}
+	
+	/**
+	 * @return the fitness of every specimen, indexed by row. Changes to it change this population.
+	 */
+	public double[] getFitnesses() {
+		return fitnesses;
+	}
+	
+	/**
+	 * @param index The specimen's row.
+	 * @param trait The trait's index.
+	 * @return The value of the given trait of the given specimen.
+	 */
+	public double getGene(int index, int trait) {
+		return genes[index * numTraits + trait];
+	}
+	
+	/**
+	 * Sets the value of the given trait of the given specimen.
+	 * @param index The specimen's row.
+	 * @param trait The trait's index.
+	 * @param value The value to set.
+	 */
+	public void setGene(int index, int trait, double value) {
+		genes[index * numTraits + trait] = value;
+	}
+	
+	/**
+	 * @param index The specimen's row.
+	 * @return The fitness of the given specimen.
+	 */
+	public double getFitness(int index) {
+		return fitnesses[index];
+	}
+	
+	/**
+	 * Sets the fitness of the given specimen.
+	 * @param index The specimen's row.
+	 * @param fitness The fitness value to set.
+	 */
+	public void setFitness(int index, double fitness) {
+		fitnesses[index] = fitness;
+	}
+	
+	/**
+	 * Copies every gene of a row into an array.
+	 * @param index The specimen's row.
+	 * @param dst The array to copy into.
+	 * @param offset The index in dst that receives the first gene.
+	 */
+	public void readRow(int index, double[] dst, int offset) {
+		System.arraycopy(genes, index * numTraits, dst, offset, numTraits);
+	}
+	
+	/**
+	 * Overwrites every gene of a row from an array.
+	 * @param index The specimen's row.
+	 * @param src The array to copy from.
+	 * @param offset The index in src of the first gene.
+	 */
+	public void writeRow(int index, double[] src, int offset) {
+		System.arraycopy(src, offset, genes, index * numTraits, numTraits);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * Rows copied to another packed population go straight between the arrays, keeping the specimen's id.
+	 */
+	public void copyRow(int index, PopulationStore target, int targetIndex) {
+		if(target instanceof PackedPopulation) {
+			PackedPopulation packed = (PackedPopulation) target;
+			System.arraycopy(genes, index * numTraits, packed.genes, targetIndex * numTraits, numTraits);
+			packed.fitnesses[targetIndex] = fitnesses[index];
+			packed.ids[targetIndex] = ids[index];
+		}
+		else {
+			PopulationStore.super.copyRow(index, target, targetIndex);
+		}
+	}
+	
+	/**
+	 * @param index The specimen's row.
+	 * @return The id of the given specimen.
+	 */
+	public int getId(int index) {
+		return ids[index];
+	}
+	
+	/**
+	 * Sets the id of the given specimen.
+	 * @param index The specimen's row.
+	 * @param id The id to set.
+	 */
+	public void setId(int index, int id) {
+		ids[index] = id;
+	}
+}
@@ -0,0 +1,41 @@
+package components;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Class that remembers where the permutation traits of a genome sit, so permutation operators do not search the traits for every child.
+ * Operators keep the layout of the last traits array they saw, which is normally the experiment's shared blueprint array.
+ */
+final class PermutationLayout {
+	final Trait[] traits;
+	// index of every permutation trait, in order
+	final int[] positions;
+	
+	private PermutationLayout(Trait[] traits) {
+		this.traits = traits;
+		positions = Trait.permutationPositions(traits);
+	}
+	
+	/**
+	 * @param cached The layout found last time, or null.
+	 * @param traits The traits of the genome about to be rearranged.
+	 * @return The cached layout if it describes the same traits array, or a new one.
+	 */
+	static PermutationLayout of(PermutationLayout cached, Trait[] traits) {
+		return cached != null && cached.traits == traits ? cached : new PermutationLayout(traits);
+	}
+	
+	/**
+	 * Reads a permutation gene as an element of the permutation.
+	 * @param genes The array holding the gene.
+	 * @param index The index of the gene.
+	 * @return The gene's value as a whole number in [0, positions.length).
+	 */
+	int element(double[] genes, int index) {
+		int element = (int) genes[index];
+		if(element < 0 || element >= positions.length || element != genes[index]) {
+			throw new IllegalArgumentException("### PERMUTATION GENE " + genes[index] + " IS NOT A WHOLE NUMBER IN [0, " + positions.length + ") ###");
+		}
+		return element;
+	}
+}
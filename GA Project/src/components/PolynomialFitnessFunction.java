@@ -0,0 +1,76 @@
+package components;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Class representing a {@link BatchFitnessFunction} for separable polynomial objectives of the form p0(x0) + p1(x1) + ... = target,
+ * where each trait has its own polynomial. A specimen's fitness is 1 / (1 + |p0(x0) + p1(x1) + ... - target|).
+ */
+public class PolynomialFitnessFunction extends BatchFitnessFunction {
+	// coefficients stored trait by trait, highest power first, each trait padded to the same degree with leading zeros
+	private final double[] coefficients;
+	private final int numTraits;
+	private final int numCoefficients;
+	private final double target;
+	
+	/**
+	 * Creates a function whose fitness peaks where the sum of every trait's polynomial equals target.
+	 * @param coefficients coefficients[i][k] is the coefficient of x_i^k. Specimens must have coefficients.length traits.
+	 * @param target The value the sum of the polynomials should equal.
+	 */
+	public PolynomialFitnessFunction(double[][] coefficients, double target) {
+		if(coefficients.length == 0) {
+			throw new IllegalArgumentException("### A POLYNOMIAL FITNESS FUNCTION NEEDS AT LEAST ONE TRAIT ###");
+		}
+		int maxCoefficients = 1;
+		for(double[] c : coefficients) {
+			maxCoefficients = Math.max(maxCoefficients, c.length);
+		}
+		this.numTraits = coefficients.length;
+		this.numCoefficients = maxCoefficients;
+		this.coefficients = new double[numTraits * numCoefficients];
+		for(int i = 0; i < numTraits; i++) {
+			for(int k = 0; k < coefficients[i].length; k++) {
+				this.coefficients[i * numCoefficients + numCoefficients - 1 - k] = coefficients[i][k];
+			}
+		}
+		this.target = target;
+	}
+	
+	/**
+	 * Scores every row in the range, evaluating each trait's polynomial with Horner's rule.
+	 * @param genes The row-major gene matrix.
+	 * @param numTraits The number of trait values in each row.
+	 * @param fromRow The first row to score, inclusive.
+	 * @param toRow The last row to score, exclusive.
+	 * @param fitnesses The array that receives the fitness of row i at index i.
+	 */
+	public void calculateFitnesses(double[] genes, int numTraits, int fromRow, int toRow, double[] fitnesses) {
+		if(numTraits != this.numTraits) {
+			throw new IllegalArgumentException("### EXPECTED " + this.numTraits + " TRAITS, GOT " + numTraits + " ###");
+		}
+		double[] c = coefficients;
+		int degree = numCoefficients;
+		for(int row = fromRow; row < toRow; row++) {
+			int offset = row * numTraits;
+			double sum = 0;
+			for(int j = 0; j < numTraits; j++) {
+				double x = genes[offset + j];
+				int base = j * degree;
+				double p = c[base];
+				for(int k = 1; k < degree; k++) {
+					p = p * x + c[base + k];
+				}
+				sum += p;
+			}
+			fitnesses[row] = 1.0 / (1.0 + Math.abs(sum - target));
+		}
+	}
+	
+	/**
+	 * @return the number of traits this function expects.
+	 */
+	public int getNumTraits() {
+		return numTraits;
+	}
+}
@@ -0,0 +1,47 @@
+package components;
+
+import java.util.SplittableRandom;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Class representing polynomial mutation: a gene moves by a random fraction of its trait's range drawn from a polynomial distribution
+ * that favours small steps, then is clamped to the trait's bounds. 
+ */
+public class PolynomialMutation implements MutationOperator {
+	private final double distributionIndex;
+	
+	/**
+	 * Creates a polynomial mutation.
+	 * @param distributionIndex How small steps tend to be; larger values give smaller steps. Values from 20 to 100 are typical.
+	 */
+	public PolynomialMutation(double distributionIndex) {
+		if(distributionIndex < 0) {
+			throw new IllegalArgumentException("### POLYNOMIAL MUTATION DISTRIBUTION INDEX MUST NOT BE NEGATIVE, GOT " + distributionIndex + " ###");
+		}
+		this.distributionIndex = distributionIndex;
+	}
+	
+	/**
+	 * Creates a polynomial mutation with distribution index 20.
+	 */
+	public PolynomialMutation() {
+		this(20);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * A mutated gene moves by a polynomially distributed fraction of its trait's range.
+	 */
+	public void mutate(double[] genes, int offset, Trait[] traits, double mutationRate, SplittableRandom rand) {
+		double exponent = 1.0 / (distributionIndex + 1);
+		for(int i = 0; i < traits.length; i++) {
+			if(rand.nextDouble() < mutationRate) {
+				Trait t = traits[i];
+				double u = rand.nextDouble();
+				double delta = u < 0.5 ? Math.pow(2 * u, exponent) - 1 : 1 - Math.pow(2 * (1 - u), exponent);
+				genes[offset + i] = t.clamp(genes[offset + i] + delta * (t.getMaxValue() - t.getMinValue()));
+			}
+		}
+	}
+}
@@ -0,0 +1,140 @@
+package components;
+
+import java.util.Arrays;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Class of helpers that put a population into just enough order for selection, instead of sorting it completely.
+ */
+public final class PopulationOrdering {
+	// ranges at most this long are finished with an insertion sort
+	private final static int INSERTION_SORT_THRESHOLD = 16;
+	
+	private PopulationOrdering() {
+	}
+	
+	/**
+	 * Moves the k fittest specimens to the end of the array, sorted from least fit to most fit, using quickselect.
+	 * Every other specimen ends up, in no particular order, before them. Costs O(n + k log k) on average rather than O(n log n).
+	 * @param population The population to reorder.
+	 * @param k The number of fittest specimens to order at the end of the array.
+	 */
+	public static void selectTop(Specimen[] population, int k) {
+		int n = population.length;
+		if(k <= 0) {
+			return;
+		}
+		if(k >= n) {
+			Arrays.sort(population);
+			return;
+		}
+		int nth = n - k;
+		select(population, nth);
+		Arrays.sort(population, nth, n);
+	}
+	
+	/**
+	 * Moves the k least fit specimens to the start of the array, in no particular order, using quickselect.
+	 * @param population The population to reorder.
+	 * @param k The number of least fit specimens to move to the start of the array.
+	 */
+	public static void selectBottom(Specimen[] population, int k) {
+		if(k <= 0 || k >= population.length) {
+			return;
+		}
+		select(population, k);
+	}
+	
+	/**
+	 * Reorders the array so that the specimen at index nth is the one a full sort would put there,
+	 * with no fitter specimen before it and no less fit specimen after it.
+	 * @param a The array to reorder.
+	 * @param nth The index to settle.
+	 */
+	private static void select(Specimen[] a, int nth) {
+		int lo = 0;
+		int hi = a.length - 1;
+		
+		// fall back to sorting the remaining range if pivots keep splitting badly
+		int depthLimit = 2 * (32 - Integer.numberOfLeadingZeros(a.length));
+		while(hi - lo > INSERTION_SORT_THRESHOLD) {
+			if(depthLimit-- == 0) {
+				Arrays.sort(a, lo, hi + 1);
+				return;
+			}
+			
+			// order lo, mid and hi, then use the median of the three as the pivot
+			int mid = (lo + hi) >>> 1;
+			if(a[mid].getFitness() < a[lo].getFitness()) {
+				swap(a, lo, mid);
+			}
+			if(a[hi].getFitness() < a[lo].getFitness()) {
+				swap(a, lo, hi);
+			}
+			if(a[hi].getFitness() < a[mid].getFitness()) {
+				swap(a, mid, hi);
+			}
+			double pivot = a[mid].getFitness();
+			
+			int i = lo;
+			int j = hi;
+			while(i <= j) {
+				while(a[i].getFitness() < pivot) {
+					i++;
+				}
+				while(a[j].getFitness() > pivot) {
+					j--;
+				}
+				if(i <= j) {
+					swap(a, i, j);
+					i++;
+					j--;
+				}
+			}
+			
+			// [lo, j] holds fitness <= pivot and [i, hi] holds fitness >= pivot; anything between equals the pivot
+			if(nth <= j) {
+				hi = j;
+			}
+			else if(nth >= i) {
+				lo = i;
+			}
+			else {
+				return;
+			}
+		}
+		
+		for(int i = lo + 1; i <= hi; i++) {
+			Specimen s = a[i];
+			int j = i - 1;
+			while(j >= lo && a[j].getFitness() > s.getFitness()) {
+				a[j + 1] = a[j];
+				j--;
+			}
+			a[j + 1] = s;
+		}
+	}
+	
+	/**
+	 * @param population The population to search.
+	 * @param from The first index to search.
+	 * @param to One past the last index to search.
+	 * @return The fittest specimen in [from, to), or null if the range is empty.
+	 */
+	public static Specimen findFittest(Specimen[] population, int from, int to) {
+		Specimen fittest = null;
+		for(int i = from; i < to; i++) {
+			if(fittest == null || population[i].getFitness() > fittest.getFitness()) {
+				fittest = population[i];
+			}
+		}
+		return fittest;
+	}
+	
+	private static void swap(Specimen[] a, int i, int j) {
+		Specimen temp = a[i];
+		a[i] = a[j];
+		a[j] = temp;
+	}
+}
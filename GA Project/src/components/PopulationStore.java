@@ -0,0 +1,92 @@
+package components;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Interface representing storage for a whole population as a gene matrix and a fitness column rather than as {@link Specimen} objects,
+ * addressed by row. {@link PackedPopulation} keeps both on the heap in primitive arrays; {@link OffHeapPopulation} keeps them
+ * outside the heap so very large populations neither need a giant heap nor give the garbage collector anything to trace.
+ */
+public interface PopulationStore {
+	
+	/**
+	 * @return the number of specimens in this population.
+	 */
+	int getSize();
+	
+	/**
+	 * @return the number of traits each specimen has.
+	 */
+	int getNumTraits();
+	
+	/**
+	 * @return the blueprint {@link Trait}s that give each gene its name and bounds.
+	 */
+	Trait[] getTraits();
+	
+	/**
+	 * @param index The specimen's row.
+	 * @param trait The trait's index.
+	 * @return The value of the given trait of the given specimen.
+	 */
+	double getGene(int index, int trait);
+	
+	/**
+	 * Sets the value of the given trait of the given specimen.
+	 * @param index The specimen's row.
+	 * @param trait The trait's index.
+	 * @param value The value to set.
+	 */
+	void setGene(int index, int trait, double value);
+	
+	/**
+	 * @param index The specimen's row.
+	 * @return The fitness of the given specimen.
+	 */
+	double getFitness(int index);
+	
+	/**
+	 * Sets the fitness of the given specimen.
+	 * @param index The specimen's row.
+	 * @param fitness The fitness value to set.
+	 */
+	void setFitness(int index, double fitness);
+	
+	/**
+	 * Copies every gene of a row into an array.
+	 * @param index The specimen's row.
+	 * @param dst The array to copy into.
+	 * @param offset The index in dst that receives the first gene.
+	 */
+	void readRow(int index, double[] dst, int offset);
+	
+	/**
+	 * Overwrites every gene of a row from an array.
+	 * @param index The specimen's row.
+	 * @param src The array to copy from.
+	 * @param offset The index in src of the first gene.
+	 */
+	void writeRow(int index, double[] src, int offset);
+	
+	/**
+	 * Copies the genes and fitness of one row of this population into a row of another population with the same traits.
+	 * Implementations override this with a faster copy when the target is stored the same way.
+	 * @param index The row to copy.
+	 * @param target The population to copy into.
+	 * @param targetIndex The row of target to overwrite.
+	 */
+	default void copyRow(int index, PopulationStore target, int targetIndex) {
+		int numTraits = getNumTraits();
+		for(int j = 0; j < numTraits; j++) {
+			target.setGene(targetIndex, j, getGene(index, j));
+		}
+		target.setFitness(targetIndex, getFitness(index));
+	}
+	
+	/**
+	 * Unpacks the given row into a new {@link Specimen} that shares this population's trait names and bounds.
+	 * @param index The row to unpack.
+	 * @return A specimen holding a copy of the row's values and fitness.
+	 */
+	Specimen toSpecimen(int index);
+}
@@ -0,0 +1,100 @@
+package components;
+
+import java.util.SplittableRandom;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Class that hands out the random number generators used by an experiment, all derived from a single master seed.
+ * 
+ * Work that must be reproducible asks for a numbered stream with {@link #forStream(long)}: the same seed and stream number
+ * always give the same sequence, whichever thread draws from it. Work that only needs fast, uncontended randomness asks for
+ * {@link #current()}, which gives each thread its own generator split from the master seed.
+ */
+public class RandomService {
+	// process-wide service used by code that runs outside of any experiment, such as creating blueprint traits
+	private final static RandomService DEFAULT = new RandomService();
+	
+	private final long seed;
+	// generator that thread-local generators are split from; guarded by itself
+	private final SplittableRandom splitter;
+	private final ThreadLocal<SplittableRandom> threadGenerators;
+	
+	/**
+	 * Creates a service whose generators all derive from the given seed.
+	 * @param seed The master seed.
+	 */
+	public RandomService(long seed) {
+		this.seed = seed;
+		splitter = new SplittableRandom(mix(seed));
+		threadGenerators = ThreadLocal.withInitial(() -> {
+			synchronized(splitter) {
+				return splitter.split();
+			}
+		});
+	}
+	
+	/**
+	 * Creates a service with an unpredictable master seed.
+	 */
+	public RandomService() {
+		this(new SplittableRandom().nextLong());
+	}
+	
+	/**
+	 * @return the master seed every generator of this service derives from.
+	 */
+	public long getSeed() {
+		return seed;
+	}
+	
+	/**
+	 * Creates the generator for the given stream. Calls with the same master seed and stream number return generators
+	 * that produce the same sequence, so a stream can be handed to any thread without affecting reproducibility.
+	 * @param stream The stream number, e.g. a generation number.
+	 * @return A new generator for the stream.
+	 */
+	public SplittableRandom forStream(long stream) {
+		return new SplittableRandom(mix(seed ^ mix(stream + 1)));
+	}
+	
+	/**
+	 * @return the calling thread's own generator. Its sequence depends on which threads asked first, so use {@link #forStream(long)} for reproducible work.
+	 */
+	public SplittableRandom current() {
+		return threadGenerators.get();
+	}
+	
+	/**
+	 * @return the calling thread's generator from a process-wide service with an unpredictable seed, for use outside of any experiment.
+	 */
+	public static SplittableRandom defaultGenerator() {
+		return DEFAULT.current();
+	}
+	
+	/**
+	 * Draws a normally distributed value with mean 0 and standard deviation 1, using the Marsaglia polar method.
+	 * @param rand The random number generator to draw from.
+	 * @return The drawn value.
+	 */
+	public static double nextGaussian(SplittableRandom rand) {
+		double x, y, s;
+		do {
+			x = 2 * rand.nextDouble() - 1;
+			y = 2 * rand.nextDouble() - 1;
+			s = x * x + y * y;
+		} while(s >= 1 || s == 0);
+		return x * Math.sqrt(-2 * Math.log(s) / s);
+	}
+	
+	/**
+	 * Scrambles the bits of a value so that nearby inputs give unrelated outputs (the MurmurHash3 64-bit finalizer).
+	 * @param z The value to scramble.
+	 * @return The scrambled value. 
+	 */
+	static long mix(long z) {
+		z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+		z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+		return z ^ (z >>> 33);
+	}
+}
@@ -0,0 +1,606 @@
+package components;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Class representing an {@link EvaluationEngine} that scores specimens in separate worker processes, so heavy or crash-prone fitness code
+ * does not share the experiment's heap, garbage collector or fate. Each generation is packed into a gene matrix and cut into batches of rows,
+ * which idle workers take from a shared queue. Each worker keeps several batches in flight over its stdin and stdout pipes, so it never waits
+ * for the engine between batches. The wire format is described by {@link RemoteProtocol}.
+ *
+ * When a worker process dies, breaks the protocol or takes longer than the batch timeout to answer, it is restarted and its unanswered
+ * batches are sent again, to any worker. A batch that was being scored during {@link #MAX_ATTEMPTS} crashes, or that makes the fitness
+ * function throw, fails the evaluation with an {@link IllegalStateException}, which is only thrown once no batch of the evaluation is
+ * still being scored, so no late answer can land in the caller's arrays afterwards.
+ *
+ * A worker whose process fails to start {@link #MAX_ATTEMPTS} times in a row gives up and leaves the batches to the other workers.
+ * Evaluations only fail for this reason once no worker can be started at all.
+ *
+ * NOTE: the workers score with their own fitness function, so the {@link FitnessFunction} passed to the evaluate methods is ignored.
+ * {@link #run(int, IntConsumer)} cannot send arbitrary code to a worker and runs on the calling thread instead.
+ */
+public class RemoteEvaluationEngine implements EvaluationEngine {
+	// number of crashes a batch may be blamed for, and of failed starts in a row a worker may have, before giving up
+	public final static int MAX_ATTEMPTS = 3;
+	
+	// time a worker may take to answer its next batch, or to greet, before it is taken to be hung and restarted
+	public final static long DEFAULT_BATCH_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(5);
+	private final static int BUFFER_SIZE = 1 << 16;
+	// batch that tells a worker thread to stop
+	private final static Batch STOP = new Batch(null, null, 0, 0, 0, null, null);
+	
+	private final int batchRows;
+	private final int pipelineDepth;
+	private final LinkedBlockingQueue<Batch> queue;
+	private final Worker[] workers;
+	private final AtomicInteger nextBatchId;
+	private final AtomicLong numRestarts;
+	// workers that have not given up starting their process
+	private final AtomicInteger liveWorkers;
+	private final SerialEvaluationEngine localEngine;
+	// thread that kills workers which miss their deadline
+	private final ScheduledExecutorService watchdog;
+	private volatile long batchTimeoutMillis;
+	// reused gene matrix and fitness array that specimens are packed into
+	private double[] packedGenes;
+	private double[] packedFitnesses;
+	
+	/**
+	 * Creates an engine whose workers run {@link RemoteWorker} in new JVMs with this JVM's class path, scoring with the named fitness function.
+	 * @param fitnessClassName The binary name of a public {@link FitnessFunction} class with a public no-argument constructor.
+	 * @param numWorkers The number of worker processes.
+	 */
+	public RemoteEvaluationEngine(String fitnessClassName, int numWorkers) {
+		this(javaWorkerCommand(fitnessClassName), numWorkers, 256, 4);
+	}
+	
+	/**
+	 * Creates an engine whose workers run the given command, which must speak the {@link RemoteProtocol} over its stdin and stdout.
+	 * Each batch's fitness values must fit in the pipe buffer alongside the other batches in flight, so keep batchRows * pipelineDepth modest.
+	 * @param command The worker program and its arguments.
+	 * @param numWorkers The number of worker processes.
+	 * @param batchRows The number of specimens sent in each batch.
+	 * @param pipelineDepth The number of batches each worker may have in flight at once.
+	 */
+	public RemoteEvaluationEngine(List<String> command, int numWorkers, int batchRows, int pipelineDepth) {
+		this(sameCommand(command, numWorkers), batchRows, pipelineDepth);
+	}
+	
+	/**
+	 * Creates an engine with one worker for each of the given commands, which must all speak the {@link RemoteProtocol} over their
+	 * stdin and stdout and score with the same fitness function, e.g. to run workers on different hosts through ssh.
+	 * @param commands The worker program and its arguments, for each worker.
+	 * @param batchRows The number of specimens sent in each batch.
+	 * @param pipelineDepth The number of batches each worker may have in flight at once.
+	 */
+	public RemoteEvaluationEngine(List<List<String>> commands, int batchRows, int pipelineDepth) {
+		int numWorkers = commands.size();
+		if(numWorkers < 1 || batchRows < 1 || pipelineDepth < 1) {
+			throw new IllegalArgumentException("### WORKERS, BATCH ROWS AND PIPELINE DEPTH MUST BE AT LEAST 1, GOT "
+					+ numWorkers + ", " + batchRows + ", " + pipelineDepth + " ###");
+		}
+		this.batchRows = batchRows;
+		this.pipelineDepth = pipelineDepth;
+		queue = new LinkedBlockingQueue<Batch>();
+		nextBatchId = new AtomicInteger();
+		numRestarts = new AtomicLong();
+		liveWorkers = new AtomicInteger(numWorkers);
+		localEngine = new SerialEvaluationEngine();
+		watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread thread = new Thread(r, "remote-evaluation-watchdog");
+			thread.setDaemon(true);
+			return thread;
+		});
+		batchTimeoutMillis = DEFAULT_BATCH_TIMEOUT_MILLIS;
+		workers = new Worker[numWorkers];
+		for(int i = 0; i < numWorkers; i++) {
+			workers[i] = new Worker(i, commands.get(i));
+			workers[i].start();
+		}
+	}
+	
+	/**
+	 * @return a list holding the given command once for each worker.
+	 */
+	private static List<List<String>> sameCommand(List<String> command, int numWorkers) {
+		List<List<String>> commands = new ArrayList<List<String>>();
+		for(int i = 0; i < numWorkers; i++) {
+			commands.add(command);
+		}
+		return commands;
+	}
+	
+	/**
+	 * Builds the command that runs {@link RemoteWorker} in a new JVM with this JVM's java executable and class path.
+	 * @param fitnessClassName The binary name of the fitness function class the worker should use.
+	 * @return The command and its arguments.
+	 */
+	public static List<String> javaWorkerCommand(String fitnessClassName) {
+		List<String> command = new ArrayList<String>();
+		command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+		command.add("-cp");
+		command.add(System.getProperty("java.class.path"));
+		command.add(RemoteWorker.class.getName());
+		command.add(fitnessClassName);
+		return command;
+	}
+	
+	/**
+	 * Runs the given task for every index in order on the calling thread, since tasks cannot be sent to a worker.
+	 * @param count The number of indices to process.
+	 * @param task The task to run for each index.
+	 */
+	public void run(int count, IntConsumer task) {
+		localEngine.run(count, task);
+	}
+	
+	/**
+	 * Scores the first count specimens in the worker processes, packing their values into one gene matrix.
+	 * @param specimens The array holding the specimens whose fitness will be calculated.
+	 * @param count The number of specimens, starting at index 0, to score.
+	 * @param func Ignored; the workers use their own fitness function.
+	 */
+	public synchronized void evaluate(Specimen[] specimens, int count, FitnessFunction func) {
+		if(count == 0) {
+			return;
+		}
+		Trait[] traits = specimens[0].getTraitMetadata();
+		int numTraits = traits.length;
+		if(packedFitnesses == null || packedFitnesses.length < count || packedGenes.length != packedFitnesses.length * numTraits) {
+			packedFitnesses = new double[count];
+			packedGenes = new double[count * numTraits];
+		}
+		for(int i = 0; i < count; i++) {
+			System.arraycopy(specimens[i].getValues(), 0, packedGenes, i * numTraits, numTraits);
+		}
+		evaluateRows(packedGenes, numTraits, count, packedFitnesses, traits);
+		for(int i = 0; i < count; i++) {
+			specimens[i].setFitness(packedFitnesses[i]);
+		}
+	}
+	
+	/**
+	 * Scores every specimen of the given population in the worker processes, sending its gene matrix as it is.
+	 * @param population The population whose fitness will be calculated.
+	 * @param func Ignored; the workers use their own fitness function.
+	 */
+	public synchronized void evaluate(PackedPopulation population, FitnessFunction func) {
+		evaluateRows(population.getGenes(), population.getNumTraits(), population.getSize(), population.getFitnesses(), population.getTraits());
+	}
+	
+	/**
+	 * Scores the first count rows of a gene matrix in the worker processes. The workers receive no trait names or bounds.
+	 * @param genes The row-major gene matrix, where row i starts at index i * numTraits.
+	 * @param numTraits The number of trait values in each row.
+	 * @param count The number of rows, starting at row 0, to score.
+	 * @param fitnesses The array that receives the fitness of row i at index i.
+	 * @param func Ignored; the workers use their own fitness function.
+	 */
+	public synchronized void evaluate(double[] genes, int numTraits, int count, double[] fitnesses, BatchFitnessFunction func) {
+		evaluateRows(genes, numTraits, count, fitnesses, null);
+	}
+	
+	/**
+	 * Cuts the rows into batches, queues them for the workers and waits until all are answered.
+	 */
+	private void evaluateRows(double[] genes, int numTraits, int count, double[] fitnesses, Trait[] traits) {
+		if(count == 0) {
+			return;
+		}
+		int numBatches = (count + batchRows - 1) / batchRows;
+		Job job = new Job(numBatches);
+		for(int b = 0; b < numBatches; b++) {
+			int fromRow = b * batchRows;
+			queue.offer(new Batch(job, genes, numTraits, fromRow, Math.min(count, fromRow + batchRows), fitnesses, traits));
+		}
+		job.await();
+	}
+	
+	/**
+	 * Sets how long a worker may take to answer its next batch, or to greet after starting, before it is taken to be hung,
+	 * killed and restarted like a crashed worker. Defaults to {@link #DEFAULT_BATCH_TIMEOUT_MILLIS}.
+	 * @param millis The timeout in milliseconds, or 0 to wait forever.
+	 */
+	public void setBatchTimeout(long millis) {
+		if(millis < 0) {
+			throw new IllegalArgumentException("### BATCH TIMEOUT MUST NOT BE NEGATIVE, GOT " + millis + " ###");
+		}
+		batchTimeoutMillis = millis;
+	}
+	
+	/**
+	 * @return the time in milliseconds a worker may take to answer its next batch, or 0 if it may take forever.
+	 */
+	public long getBatchTimeout() {
+		return batchTimeoutMillis;
+	}
+	
+	/**
+	 * @return the number of worker processes.
+	 */
+	public int getParallelism() {
+		return workers.length;
+	}
+	
+	/**
+	 * @return the number of workers that have not given up starting their process.
+	 */
+	public int getNumLiveWorkers() {
+		return liveWorkers.get();
+	}
+	
+	/**
+	 * @return the number of times a worker process has been restarted after crashing or breaking the protocol.
+	 */
+	public long getNumRestarts() {
+		return numRestarts.get();
+	}
+	
+	/**
+	 * Asks every worker process to exit and stops the threads that talk to them.
+	 */
+	public void shutdown() {
+		for(int i = 0; i < workers.length; i++) {
+			queue.offer(STOP);
+		}
+		for(Worker worker : workers) {
+			try {
+				worker.join(TimeUnit.SECONDS.toMillis(5));
+			}
+			catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+		}
+		watchdog.shutdownNow();
+	}
+	
+	/**
+	 * One evaluation call, which is finished once every one of its batches is answered, failed or, after another batch failed, dropped.
+	 * Waiting for all of them, even after a failure, keeps late answers from writing into arrays the caller has moved on from.
+	 */
+	private static class Job {
+		private int remaining;
+		private RuntimeException failure;
+		
+		Job(int numBatches) {
+			remaining = numBatches;
+		}
+		
+		synchronized void complete() {
+			remaining--;
+			notifyAll();
+		}
+		
+		synchronized void fail(RuntimeException e) {
+			if(failure == null) {
+				failure = e;
+			}
+			remaining--;
+			notifyAll();
+		}
+		
+		/**
+		 * Settles a batch that is not sent because the job has already failed.
+		 */
+		synchronized void drop() {
+			remaining--;
+			notifyAll();
+		}
+		
+		synchronized boolean isFailed() {
+			return failure != null;
+		}
+		
+		synchronized void await() {
+			while(remaining > 0) {
+				try {
+					wait();
+				}
+				catch(InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new IllegalStateException("### INTERRUPTED WHILE WAITING FOR REMOTE EVALUATION ###", e);
+				}
+			}
+			if(failure != null) {
+				throw failure;
+			}
+		}
+	}
+	
+	/**
+	 * A range of rows of a gene matrix, scored by one worker in one message.
+	 */
+	private static class Batch {
+		final Job job;
+		final double[] genes;
+		final int numTraits;
+		final int fromRow;
+		final int toRow;
+		final double[] fitnesses;
+		// trait names and bounds, or null when the rows were handed over without them
+		final Trait[] traits;
+		int id;
+		int attempts;
+		
+		Batch(Job job, double[] genes, int numTraits, int fromRow, int toRow, double[] fitnesses, Trait[] traits) {
+			this.job = job;
+			this.genes = genes;
+			this.numTraits = numTraits;
+			this.fromRow = fromRow;
+			this.toRow = toRow;
+			this.fitnesses = fitnesses;
+			this.traits = traits;
+		}
+	}
+	
+	/**
+	 * Thread that owns one worker process: it takes batches from the shared queue, keeps up to pipelineDepth of them in flight,
+	 * and reads the answers, which arrive in the order the batches were sent.
+	 */
+	private class Worker extends Thread {
+		private final List<String> command;
+		private final ArrayDeque<Batch> inFlight;
+		private Process process;
+		private DataOutputStream out;
+		private DataInputStream in;
+		// traits most recently described to the process
+		private Trait[] sentTraits;
+		private int failedStarts;
+		private IOException startFailure;
+		// set by the watchdog when it kills the process for missing its deadline
+		private volatile boolean timedOut;
+		
+		Worker(int index, List<String> command) {
+			super("remote-evaluation-worker-" + index);
+			setDaemon(true);
+			this.command = new ArrayList<String>(command);
+			inFlight = new ArrayDeque<Batch>();
+		}
+		
+		public void run() {
+			try {
+				while(true) {
+					if(process == null && !startProcess()) {
+						if(failedStarts < MAX_ATTEMPTS) {
+							continue;
+						}
+						// nothing is in flight after a failed start, so leave the queue to the others; the last worker to give up fails it
+						if(liveWorkers.decrementAndGet() == 0) {
+							failQueuedBatches();
+						}
+						return;
+					}
+					try {
+						// wait for work only when nothing is in flight, then top the pipeline up without waiting
+						Batch batch = inFlight.isEmpty() ? queue.take() : queue.poll();
+						while(batch != null) {
+							if(batch == STOP) {
+								stopProcess();
+								return;
+							}
+							if(batch.job.isFailed()) {
+								batch.job.drop();
+							}
+							else {
+								send(batch);
+							}
+							batch = inFlight.size() < pipelineDepth ? queue.poll() : null;
+						}
+						out.flush();
+						if(!inFlight.isEmpty()) {
+							receive();
+						}
+					}
+					catch(IOException e) {
+						recoverFromCrash(e);
+					}
+				}
+			}
+			catch(InterruptedException e) {
+				stopProcess();
+			}
+		}
+		
+		/**
+		 * Fails every batch taken from the queue until told to stop, once no worker is left to score them.
+		 */
+		private void failQueuedBatches() throws InterruptedException {
+			while(true) {
+				Batch batch = queue.take();
+				if(batch == STOP) {
+					return;
+				}
+				batch.job.fail(new IllegalStateException("### COULD NOT START ANY WORKER PROCESS, LAST TRIED " + command + " ###", startFailure));
+			}
+		}
+		
+		/**
+		 * Starts the worker process and checks its greeting.
+		 * @return True if the process is ready for batches.
+		 */
+		private boolean startProcess() {
+			if(failedStarts >= MAX_ATTEMPTS) {
+				return false;
+			}
+			try {
+				ProcessBuilder builder = new ProcessBuilder(command);
+				builder.redirectError(ProcessBuilder.Redirect.INHERIT);
+				process = builder.start();
+				out = new DataOutputStream(new BufferedOutputStream(process.getOutputStream(), BUFFER_SIZE));
+				in = new DataInputStream(new BufferedInputStream(process.getInputStream(), BUFFER_SIZE));
+				ScheduledFuture<?> deadline = armDeadline();
+				try {
+					if(in.readInt() != RemoteProtocol.MAGIC || in.readInt() != RemoteProtocol.VERSION) {
+						throw new IOException("### WORKER DID NOT GREET WITH THE EXPECTED PROTOCOL ###");
+					}
+				}
+				catch(IOException e) {
+					throw timedOut ? new IOException("### WORKER DID NOT GREET WITHIN " + batchTimeoutMillis + " MS ###", e) : e;
+				}
+				finally {
+					disarm(deadline);
+				}
+				sentTraits = null;
+				failedStarts = 0;
+				return true;
+			}
+			catch(IOException e) {
+				startFailure = e;
+				failedStarts++;
+				destroyProcess();
+				return false;
+			}
+		}
+		
+		/**
+		 * Writes one batch to the process and remembers it as in flight.
+		 */
+		private void send(Batch batch) throws IOException {
+			if(batch.traits != null && batch.traits != sentTraits) {
+				RemoteProtocol.writeTraits(out, batch.traits);
+				sentTraits = batch.traits;
+			}
+			batch.id = nextBatchId.getAndIncrement();
+			out.writeByte(RemoteProtocol.MESSAGE_BATCH);
+			out.writeInt(batch.id);
+			out.writeInt(batch.toRow - batch.fromRow);
+			out.writeInt(batch.numTraits);
+			int end = batch.toRow * batch.numTraits;
+			for(int i = batch.fromRow * batch.numTraits; i < end; i++) {
+				out.writeDouble(batch.genes[i]);
+			}
+			inFlight.add(batch);
+		}
+		
+		/**
+		 * Has the watchdog kill the process unless it is disarmed within the batch timeout, which ends any blocked read with an IOException.
+		 * @return The pending kill, or null when there is no timeout.
+		 */
+		private ScheduledFuture<?> armDeadline() {
+			long timeout = batchTimeoutMillis;
+			if(timeout == 0) {
+				return null;
+			}
+			Process watched = process;
+			timedOut = false;
+			return watchdog.schedule(() -> {
+				timedOut = true;
+				watched.destroyForcibly();
+			}, timeout, TimeUnit.MILLISECONDS);
+		}
+		
+		private void disarm(ScheduledFuture<?> deadline) {
+			if(deadline != null) {
+				deadline.cancel(false);
+			}
+		}
+		
+		/**
+		 * Reads the answer to the oldest batch in flight, treating a worker that misses the batch timeout as crashed.
+		 */
+		private void receive() throws IOException {
+			ScheduledFuture<?> deadline = armDeadline();
+			try {
+				readAnswer();
+			}
+			catch(IOException e) {
+				throw timedOut ? new IOException("### WORKER DID NOT ANSWER WITHIN " + batchTimeoutMillis + " MS ###", e) : e;
+			}
+			finally {
+				disarm(deadline);
+			}
+		}
+		
+		private void readAnswer() throws IOException {
+			Batch batch = inFlight.peek();
+			int id = in.readInt();
+			if(id != batch.id) {
+				throw new IOException("### WORKER ANSWERED BATCH " + id + " BUT BATCH " + batch.id + " WAS NEXT ###");
+			}
+			int numRows = in.readInt();
+			if(numRows == RemoteProtocol.FAILED) {
+				String message = in.readUTF();
+				inFlight.poll();
+				batch.job.fail(new IllegalStateException("### FITNESS FUNCTION FAILED IN WORKER: " + message + " ###"));
+				return;
+			}
+			if(numRows != batch.toRow - batch.fromRow) {
+				throw new IOException("### WORKER ANSWERED " + numRows + " ROWS FOR A BATCH OF " + (batch.toRow - batch.fromRow) + " ###");
+			}
+			for(int i = batch.fromRow; i < batch.toRow; i++) {
+				batch.fitnesses[i] = in.readDouble();
+			}
+			inFlight.poll();
+			batch.job.complete();
+		}
+		
+		/**
+		 * Kills the crashed process and sends its unanswered batches again, failing any batch that keeps crashing workers.
+		 * Workers answer in order, so only the oldest batch in flight was being scored and is blamed for the crash.
+		 */
+		private void recoverFromCrash(IOException cause) {
+			destroyProcess();
+			numRestarts.incrementAndGet();
+			Batch suspect = inFlight.peek();
+			if(suspect != null) {
+				suspect.attempts++;
+			}
+			Batch batch;
+			while((batch = inFlight.poll()) != null) {
+				if(batch.attempts >= MAX_ATTEMPTS) {
+					batch.job.fail(new IllegalStateException("### BATCH OF " + (batch.toRow - batch.fromRow) + " SPECIMENS WAS BEING SCORED DURING "
+							+ batch.attempts + " WORKER CRASHES ###", cause));
+				}
+				else {
+					queue.offer(batch);
+				}
+			}
+		}
+		
+		/**
+		 * Asks the process to exit, killing it if it does not.
+		 */
+		private void stopProcess() {
+			if(process == null) {
+				return;
+			}
+			try {
+				out.writeByte(RemoteProtocol.MESSAGE_SHUTDOWN);
+				out.flush();
+				if(!process.waitFor(1, TimeUnit.SECONDS)) {
+					process.destroyForcibly();
+				}
+			}
+			catch(IOException | InterruptedException e) {
+				process.destroyForcibly();
+			}
+			process = null;
+		}
+		
+		private void destroyProcess() {
+			if(process != null) {
+				process.destroyForcibly();
+				process = null;
+			}
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package components;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Class holding the binary protocol that {@link RemoteEvaluationEngine} and {@link RemoteWorker} speak over a worker's stdin and stdout.
+ * All values are big-endian, as written by {@link DataOutputStream}.
+ *
+ * On start the worker writes MAGIC and VERSION as two ints. The engine then sends messages, each starting with a one byte type:
+ * MESSAGE_TRAITS is an int count followed by each trait's UTF name, double minimum, double maximum and int type, and names the traits of later batches;
+ * MESSAGE_BATCH is an int batch id, an int row count, an int trait count and then the row-major gene matrix as doubles;
+ * MESSAGE_SHUTDOWN asks the worker to exit. The worker answers each batch, in order, with the batch id, the row count and one double fitness per row,
+ * or with the batch id, -1 and a UTF error message if the fitness function failed.
+ */
+final class RemoteProtocol {
+	// "GARW"
+	final static int MAGIC = 0x47415257;
+	final static int VERSION = 2;
+	
+	final static byte MESSAGE_TRAITS = 1;
+	final static byte MESSAGE_BATCH = 2;
+	final static byte MESSAGE_SHUTDOWN = 3;
+	
+	// row count of a batch response that reports a failed fitness function
+	final static int FAILED = -1;
+	
+	private RemoteProtocol() {
+	}
+	
+	/**
+	 * Writes a MESSAGE_TRAITS message.
+	 * @param out The stream to write to.
+	 * @param traits The traits to describe.
+	 * @throws IOException If the stream cannot be written.
+	 */
+	static void writeTraits(DataOutputStream out, Trait[] traits) throws IOException {
+		out.writeByte(MESSAGE_TRAITS);
+		out.writeInt(traits.length);
+		for(Trait t : traits) {
+			out.writeUTF(t.getName());
+			out.writeDouble(t.getMinValue());
+			out.writeDouble(t.getMaxValue());
+			out.writeInt(t.getType());
+		}
+	}
+	
+	/**
+	 * Reads the body of a MESSAGE_TRAITS message, after its type byte.
+	 * @param in The stream to read from.
+	 * @return The described traits, each holding the value 0.
+	 * @throws IOException If the stream cannot be read.
+	 */
+	static Trait[] readTraits(DataInputStream in) throws IOException {
+		Trait[] traits = new Trait[in.readInt()];
+		for(int i = 0; i < traits.length; i++) {
+			String name = in.readUTF();
+			double minValue = in.readDouble();
+			double maxValue = in.readDouble();
+			int type = in.readInt();
+			traits[i] = new Trait(name, minValue, maxValue, 0, type);
+		}
+		return traits;
+	}
+	
+	/**
+	 * Creates placeholder traits for batches whose traits were never described, e.g. those scored by a {@link BatchFitnessFunction}.
+	 * @param numTraits The number of traits.
+	 * @return Traits named trait-0, trait-1, ... with unlimited bounds.
+	 */
+	static Trait[] anonymousTraits(int numTraits) {
+		Trait[] traits = new Trait[numTraits];
+		for(int i = 0; i < numTraits; i++) {
+			traits[i] = new Trait("trait-" + i, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, 0);
+		}
+		return traits;
+	}
+}
@@ -0,0 +1,139 @@
+package components;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Program run as a worker process by {@link RemoteEvaluationEngine}: it scores batches of genomes read from stdin with a
+ * {@link FitnessFunction} and writes their fitness values to stdout, speaking the {@link RemoteProtocol}.
+ * The fitness function is named on the command line and must be a public class with a public no-argument constructor.
+ * Anything the fitness function prints to System.out is sent to stderr instead, so it cannot corrupt the protocol.
+ *
+ * Usage: java -cp &lt;classpath&gt; components.RemoteWorker &lt;fitness function class&gt;
+ */
+public final class RemoteWorker {
+	private final static int BUFFER_SIZE = 1 << 16;
+	
+	private RemoteWorker() {
+	}
+	
+	public static void main(String[] args) throws IOException {
+		if(args.length != 1) {
+			System.err.println("### USAGE: RemoteWorker <fitness function class> ###");
+			System.exit(2);
+		}
+		FitnessFunction func;
+		try {
+			func = (FitnessFunction) Class.forName(args[0]).getDeclaredConstructor().newInstance();
+		}
+		catch(ReflectiveOperationException | ClassCastException e) {
+			System.err.println("### COULD NOT CREATE FITNESS FUNCTION " + args[0] + ": " + e + " ###");
+			System.exit(2);
+			return;
+		}
+		
+		// take the real stdout for the protocol before anything can print to it
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out), BUFFER_SIZE));
+		System.setOut(System.err);
+		DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(FileDescriptor.in), BUFFER_SIZE));
+		serve(func, in, out);
+	}
+	
+	/**
+	 * Answers batches until the engine asks the worker to shut down or closes its stdin.
+	 * @param func The fitness function that scores each batch.
+	 * @param in The stream messages arrive on.
+	 * @param out The stream responses are written to.
+	 * @throws IOException If either stream fails.
+	 */
+	static void serve(FitnessFunction func, DataInputStream in, DataOutputStream out) throws IOException {
+		out.writeInt(RemoteProtocol.MAGIC);
+		out.writeInt(RemoteProtocol.VERSION);
+		out.flush();
+		
+		Trait[] traits = new Trait[0];
+		double[] genes = new double[0];
+		double[] fitnesses = new double[0];
+		while(true) {
+			byte type;
+			try {
+				type = in.readByte();
+			}
+			catch(EOFException e) {
+				return;
+			}
+			switch(type) {
+				case RemoteProtocol.MESSAGE_TRAITS:
+					traits = RemoteProtocol.readTraits(in);
+				break;
+				
+				case RemoteProtocol.MESSAGE_BATCH:
+					int batchId = in.readInt();
+					int numRows = in.readInt();
+					int numTraits = in.readInt();
+					if(genes.length < numRows * numTraits) {
+						genes = new double[numRows * numTraits];
+					}
+					if(fitnesses.length < numRows) {
+						fitnesses = new double[numRows];
+					}
+					for(int i = 0; i < numRows * numTraits; i++) {
+						genes[i] = in.readDouble();
+					}
+					if(traits.length != numTraits) {
+						traits = RemoteProtocol.anonymousTraits(numTraits);
+					}
+					
+					String error = null;
+					try {
+						score(func, genes, numRows, traits, fitnesses);
+					}
+					catch(RuntimeException e) {
+						error = e.toString();
+					}
+					
+					out.writeInt(batchId);
+					if(error == null) {
+						out.writeInt(numRows);
+						for(int i = 0; i < numRows; i++) {
+							out.writeDouble(fitnesses[i]);
+						}
+					}
+					else {
+						out.writeInt(RemoteProtocol.FAILED);
+						out.writeUTF(error);
+					}
+					out.flush();
+				break;
+				
+				case RemoteProtocol.MESSAGE_SHUTDOWN:
+					return;
+				
+				default:
+					throw new IOException("### UNKNOWN MESSAGE TYPE " + type + " ###");
+			}
+		}
+	}
+	
+	/**
+	 * Scores every row of a gene matrix, in one call when the fitness function is a {@link BatchFitnessFunction}.
+	 */
+	private static void score(FitnessFunction func, double[] genes, int numRows, Trait[] traits, double[] fitnesses) {
+		if(func instanceof BatchFitnessFunction) {
+			((BatchFitnessFunction) func).calculateFitnesses(genes, traits.length, 0, numRows, fitnesses);
+			return;
+		}
+		for(int i = 0; i < numRows; i++) {
+			fitnesses[i] = func.calculateFitness(genes, i * traits.length, traits);
+		}
+	}
+}
@@ -0,0 +1,24 @@
+package components;
+
+import java.util.SplittableRandom;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Class representing a {@link MutationOperator} that replaces a gene with a new uniformly random value within its trait's bounds,
+ * which is how breeding mutated genes before mutation operators existed. 
+ */
+public class ResetMutation implements MutationOperator {
+	
+	/**
+	 * {@inheritDoc}
+	 * A mutated gene is replaced by a uniformly random value within its trait's bounds.
+	 */
+	public void mutate(double[] genes, int offset, Trait[] traits, double mutationRate, SplittableRandom rand) {
+		for(int i = 0; i < traits.length; i++) {
+			if(rand.nextDouble() < mutationRate) {
+				genes[offset + i] = traits[i].clamp(traits[i].generateValue(rand));
+			}
+		}
+	}
+}
@@ -0,0 +1,69 @@
+package components;
+
+import java.util.function.Consumer;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Class representing a {@link SpecimenHistory} that keeps only the most recent generations in memory.
+ * Once full, recording a generation overwrites the oldest one, so memory use stays constant however long the experiment runs.
+ * Generations are stored as copies held in recycled specimens, so the history stays correct when the controller reuses its own specimens. 
+ */
+public class RingBufferHistory implements SpecimenHistory {
+	private Specimen[][] generations;
+	// index of the slot the next generation will be written to
+	private int next;
+	private int numStored;
+	
+	/**
+	 * Creates a history that keeps the given number of generations.
+	 * @param numGenerations The number of most recent generations to keep.
+	 */
+	public RingBufferHistory(int numGenerations) {
+		if(numGenerations < 1) {
+			throw new IllegalArgumentException("### RING BUFFER HISTORY MUST KEEP AT LEAST 1 GENERATION, GOT " + numGenerations + " ###");
+		}
+		generations = new Specimen[numGenerations][];
+		next = 0;
+		numStored = 0;
+	}
+	
+	/**
+	 * Stores the given generation, dropping the oldest stored generation if the buffer is full.
+	 * @param generation The number of the generation being recorded.
+	 * @param specimens The specimens of the generation.
+	 */
+	public void record(long generation, Specimen[] specimens) {
+		// copy into the slot's specimens, which are reused once the buffer has wrapped around
+		Specimen[] slot = generations[next];
+		if(slot == null || slot.length != specimens.length) {
+			slot = new Specimen[specimens.length];
+			generations[next] = slot;
+		}
+		for(int i = 0; i < specimens.length; i++) {
+			if(slot[i] == null) {
+				slot[i] = new Specimen(specimens[i]);
+			}
+			else {
+				slot[i].copyFrom(specimens[i]);
+			}
+		}
+		next = (next + 1) % generations.length;
+		if(numStored < generations.length) {
+			numStored++;
+		}
+	}
+	
+	/**
+	 * Passes every specimen of every stored generation to the given action, oldest generation first.
+	 * @param action The action to perform on each stored specimen.
+	 */
+	public void forEach(Consumer<Specimen> action) {
+		int first = (next - numStored + generations.length) % generations.length;
+		for(int i = 0; i < numStored; i++) {
+			for(Specimen s : generations[(first + i) % generations.length]) {
+				action.accept(s);
+			}
+		}
+	}
+}
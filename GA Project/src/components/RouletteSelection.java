@@ -0,0 +1,65 @@
+package components;
+
+import java.util.SplittableRandom;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Class representing a {@link SelectionStrategy} that draws parents with probability proportional to their fitness.
+ * Cumulative fitness sums are built once per generation, so each draw is a binary search costing O(log n) rather than a linear scan.
+ * If any fitness is negative, every fitness is shifted up by the lowest fitness before weighting. 
+ */
+public class RouletteSelection implements SelectionStrategy {
+	// cumulativeFitness[i] holds the sum of the weights of specimens 0 through i; reused across generations
+	private double[] cumulativeFitness = new double[0];
+	private int populationSize;
+	private double totalFitness;
+	
+	/**
+	 * Builds the cumulative fitness sums of the given population.
+	 * @param population The current population, in any order.
+	 */
+	public void prepare(Specimen[] population) {
+		populationSize = population.length;
+		if(cumulativeFitness.length < populationSize) {
+			cumulativeFitness = new double[populationSize];
+		}
+		
+		double lowest = 0;
+		for(Specimen s : population) {
+			lowest = Math.min(lowest, s.getFitness());
+		}
+		
+		double sum = 0;
+		for(int i = 0; i < populationSize; i++) {
+			sum += population[i].getFitness() - lowest;
+			cumulativeFitness[i] = sum;
+		}
+		totalFitness = sum;
+	}
+	
+	/**
+	 * @param rand The random number generator to draw from.
+	 * @return The index of a specimen drawn with probability proportional to its fitness, or uniformly if every weight is 0.
+	 */
+	public int select(SplittableRandom rand) {
+		if(!(totalFitness > 0)) {
+			return rand.nextInt(populationSize);
+		}
+		double target = rand.nextDouble() * totalFitness;
+		
+		// binary search for the first cumulative sum above target, which skips specimens whose weight is 0
+		int low = 0;
+		int high = populationSize - 1;
+		while(low < high) {
+			int mid = (low + high) >>> 1;
+			if(cumulativeFitness[mid] > target) {
+				high = mid;
+			}
+			else {
+				low = mid + 1;
+			}
+		}
+		return low;
+	}
+}
@@ -0,0 +1,66 @@
+package components;
+
+import java.util.SplittableRandom;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Interface representing a method of choosing which {@link Specimen}s of the current population become parents of the next generation.
+ * A strategy is prepared once per generation and then asked for one parent at a time, so implementations should keep
+ * the cost of each draw independent of the population size and should not allocate while drawing. 
+ */
+public interface SelectionStrategy {
+	
+	/**
+	 * Prepares the strategy to draw parents from the given population.
+	 * @param population The current population, whose {@link #getNumRequiredTop(int)} fittest specimens sit at its end, sorted from least fit to most fit.
+	 */
+	void prepare(Specimen[] population);
+	
+	/**
+	 * Draws one parent from the population given to the last call of {@link #prepare(Specimen[])}.
+	 * @param rand The random number generator to draw from.
+	 * @return The index in the population of the chosen parent.
+	 */
+	int select(SplittableRandom rand);
+	
+	/**
+	 * Draws the second parent of a child, which should differ from the first where the strategy allows.
+	 * By default a draw that picks the first parent again is redrawn once.
+	 * @param rand The random number generator to draw from.
+	 * @param first The index in the population of the first parent.
+	 * @return The index in the population of the chosen parent.
+	 */
+	default int selectOther(SplittableRandom rand, int first) {
+		int other = select(rand);
+		return other == first ? select(rand) : other;
+	}
+	
+	/**
+	 * @param populationSize The number of specimens in the population.
+	 * @return The number of fittest specimens that are carried over unchanged into the next generation.
+	 */
+	default int getNumElites(int populationSize) {
+		return 0;
+	}
+	
+	/**
+	 * The controller only orders as much of the population as the strategy asks for, rather than sorting all of it.
+	 * @param populationSize The number of specimens in the population.
+	 * @return The number of fittest specimens that must sit, sorted, at the end of the population given to {@link #prepare(Specimen[])}.
+	 */
+	default int getNumRequiredTop(int populationSize) {
+		return 0;
+	}
+	
+	/**
+	 * Chooses which specimens form the next generation once its children have been scored, letting parents compete with their children.
+	 * By default the children and elites simply replace the parents. Implementations may only exchange specimens between the two arrays,
+	 * leaving the survivors in offspring and the rest in parents, since the controller recycles the parents' array when pooling generations.
+	 * A strategy that overrides this should not also keep elites.
+	 * @param parents The current population.
+	 * @param offspring The next generation, holding the scored children.
+	 */
+	default void selectSurvivors(Specimen[] parents, Specimen[] offspring) {
+	}
+}
@@ -0,0 +1,29 @@
+package components;
+
+import java.util.function.IntConsumer;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Class representing an {@link EvaluationEngine} that scores one {@link Specimen} at a time on the calling thread.
+ */
+public class SerialEvaluationEngine implements EvaluationEngine {
+	
+	/**
+	 * Runs the given task for every index in order on the calling thread. 
+	 * @param count The number of indices to process.
+	 * @param task The task to run for each index. 
+	 */
+	public void run(int count, IntConsumer task) {
+		for(int i = 0; i < count; i++) {
+			task.accept(i);
+		}
+	}
+	
+	/**
+	 * @return 1, as every evaluation happens on the calling thread. 
+	 */
+	public int getParallelism() {
+		return 1;
+	}
+}
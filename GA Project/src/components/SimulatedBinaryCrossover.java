@@ -0,0 +1,47 @@
+package components;
+
+import java.util.SplittableRandom;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Class representing simulated binary crossover (SBX): each child gene is one of the two offspring that SBX creates from the parents' genes,
+ * which spread around the parents with a spread controlled by the distribution index, then clamped to the trait's bounds.
+ */
+public class SimulatedBinaryCrossover implements CrossoverOperator {
+	private final double distributionIndex;
+	
+	/**
+	 * Creates an SBX operator.
+	 * @param distributionIndex How closely children resemble their parents; larger values keep children closer. Values from 2 to 20 are typical.
+	 */
+	public SimulatedBinaryCrossover(double distributionIndex) {
+		if(distributionIndex < 0) {
+			throw new IllegalArgumentException("### SBX DISTRIBUTION INDEX MUST NOT BE NEGATIVE, GOT " + distributionIndex + " ###");
+		}
+		this.distributionIndex = distributionIndex;
+	}
+	
+	/**
+	 * Creates an SBX operator with distribution index 15.
+	 */
+	public SimulatedBinaryCrossover() {
+		this(15);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * Each gene is one of the two SBX offspring of the parents' genes.
+	 */
+	public void crossover(double[] p1, int p1Offset, double[] p2, int p2Offset, double[] child, int childOffset, Trait[] traits, SplittableRandom rand) {
+		double exponent = 1.0 / (distributionIndex + 1);
+		for(int i = 0; i < traits.length; i++) {
+			double a = p1[p1Offset + i];
+			double b = p2[p2Offset + i];
+			double u = rand.nextDouble();
+			double beta = u <= 0.5 ? Math.pow(2 * u, exponent) : Math.pow(1 / (2 * (1 - u)), exponent);
+			double value = rand.nextBoolean() ? 0.5 * ((1 + beta) * a + (1 - beta) * b) : 0.5 * ((1 - beta) * a + (1 + beta) * b);
+			child[childOffset + i] = traits[i].clamp(value);
+		}
+	}
+}
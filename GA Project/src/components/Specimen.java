@@ -1,7 +1,8 @@
 package components;
 
 import java.util.ArrayList;
-import java.util.Random;
+import java.util.Arrays;
+import java.util.SplittableRandom;
 
 /**
  * @author jgross11@ycp.edu
@@ -10,8 +11,22 @@ import java.util.Random;
  */
 public class Specimen implements Comparable<Specimen>{
 	private int id;
+	// trait names and bounds, usually the experiment's blueprint array shared by every specimen
 	private Trait[] traits;
+	// true when the traits array may be referenced by other specimens and must be copied before it is modified
+	private boolean sharedTraits;
+	// trait values, stored as primitives so a specimen does not need a Trait object per gene
+	private double[] values;
 	private double fitness;
+	// true once a fitness value has been set, so that a genuine fitness of 0 is not mistaken for "not computed"
+	private boolean evaluated;
+	// true when the fitness is a SurrogateModel's prediction rather than the fitness function's value
+	private boolean estimated;
+	// objective values set by a MultiObjectiveFitnessFunction, null when the specimen has only its scalar fitness
+	private double[] objectives;
+	// operators used when breeding without naming any
+	private final static CrossoverOperator DEFAULT_CROSSOVER = new UniformCrossover();
+	private final static MutationOperator DEFAULT_MUTATION = new GaussianMutation();
 	
 	
 	/**
@@ -22,10 +37,10 @@ public class Specimen implements Comparable<Specimen>{
 	public Specimen(int id, int numTraits) {
 		this.id = id;
 		fitness = 0;
+		evaluated = false;
 		traits = new Trait[numTraits];
-		for(int i = 0; i < numTraits; i++) {
-			traits[i] = null;
-		}
+		values = new double[numTraits];
+		sharedTraits = false;
 	}
 	
 	/**
@@ -33,11 +48,75 @@ public class Specimen implements Comparable<Specimen>{
 	 * @param numTraits The number of traits this specimen will contain. 
 	 */
 	public Specimen(int numTraits) {
-		this.id = -1;
+		this(-1, numTraits);
+	}
+	
+	/**
+	 * Inits a specimen whose traits take their names and bounds from the given blueprint array.
+	 * The blueprint array is shared rather than copied, and every value starts at 0. 
+	 * @param id The Specimen's id.
+	 * @param blueprintTraits The {@link Trait}s whose names and bounds this specimen will use. 
+	 */
+	public Specimen(int id, Trait[] blueprintTraits) {
+		this.id = id;
 		fitness = 0;
-		traits = new Trait[numTraits];
-		for(int i = 0; i < numTraits; i++) {
-			traits[i] = null;
+		evaluated = false;
+		traits = blueprintTraits;
+		values = new double[blueprintTraits.length];
+		sharedTraits = true;
+	}
+	
+	/**
+	 * Creates a copy of the given specimen holding its own copy of the trait values, with the same id and fitness.
+	 * @param other The specimen to copy.
+	 */
+	public Specimen(Specimen other) {
+		id = other.id;
+		fitness = other.fitness;
+		evaluated = other.evaluated;
+		estimated = other.estimated;
+		traits = other.getTraitMetadata();
+		sharedTraits = true;
+		values = other.values.clone();
+		objectives = other.objectives == null ? null : other.objectives.clone();
+	}
+	
+	/**
+	 * Overwrites this specimen with the id, trait values and fitness of the given specimen, reusing this specimen's value array when it is large enough.
+	 * @param other The specimen to copy.
+	 */
+	public void copyFrom(Specimen other) {
+		id = other.id;
+		fitness = other.fitness;
+		evaluated = other.evaluated;
+		estimated = other.estimated;
+		traits = other.getTraitMetadata();
+		sharedTraits = true;
+		if(values.length != other.values.length) {
+			values = new double[other.values.length];
+		}
+		System.arraycopy(other.values, 0, values, 0, values.length);
+		if(other.objectives == null) {
+			objectives = null;
+		}
+		else {
+			System.arraycopy(other.objectives, 0, objectiveBuffer(other.objectives.length), 0, other.objectives.length);
+		}
+	}
+	
+	/**
+	 * Copies the fitness, objectives and evaluated flag of a specimen with the same genome into this one, so it need not be scored again.
+	 * @param other The specimen whose score to copy.
+	 */
+	void copyScoreFrom(Specimen other) {
+		fitness = other.fitness;
+		evaluated = other.evaluated;
+		estimated = other.estimated;
+		if(other.objectives == null) {
+			objectives = null;
+		}
+		else {
+			System.arraycopy(other.objectives, 0, objectiveBuffer(other.objectives.length), 0, other.objectives.length);
 		}
 	}
 	
@@ -62,9 +141,8 @@ public class Specimen implements Comparable<Specimen>{
 	 */
 	public void setNumTraits(int numTraits) {
 		traits = new Trait[numTraits];
-		for(int i = 0; i < numTraits; i++) {
-			traits[i] = null;
-		}
+		values = new double[numTraits];
+		sharedTraits = false;
 	}
 	
 	/**
@@ -80,21 +158,65 @@ public class Specimen implements Comparable<Specimen>{
 	 * @param t The Trait to store. 
 	 */
 	public void addTraitAtIndex(int index, Trait t) {
-		traits[index] = t;
+		if(traits[index] != t) {
+			if(sharedTraits) {
+				traits = traits.clone();
+				sharedTraits = false;
+			}
+			traits[index] = t;
+		}
+		values[index] = t.getValue();
 	}
 	
 	/**
 	 * @param index The index whose {@link Trait} will be returned.
-	 * @return The {@link Trait} at the given index. 
+	 * @return A {@link Trait} holding the name, bounds and value at the given index, or null if no trait was added there. 
 	 */
 	public Trait getTrait(int index) {
-		return traits[index];
+		return traits[index] == null ? null : new Trait(traits[index], values[index]);
 	}
 	
 	/**
 	 * @return this specimen's {@link Trait} list.
 	 */
 	public Trait[] getTraitList(){
+		Trait[] traitList = new Trait[traits.length];
+		for(int i = 0; i < traits.length; i++) {
+			traitList[i] = getTrait(i);
+		}
+		return traitList;
+	}
+	
+	/**
+	 * Shortcut that reads the value of a trait without creating a {@link Trait}.
+	 * @param index The index of the trait whose value will be returned.
+	 * @return The value of the trait at the given index. 
+	 */
+	public double getValue(int index) {
+		return values[index];
+	}
+	
+	/**
+	 * Sets the value of the trait at the given index, keeping its name and bounds. 
+	 * @param index The index of the trait whose value will be set.
+	 * @param value The value to set. 
+	 */
+	public void setValue(int index, double value) {
+		values[index] = value;
+	}
+	
+	/**
+	 * @return the array backing this specimen's trait values. Changes to it change this specimen.
+	 */
+	double[] getValues() {
+		return values;
+	}
+	
+	/**
+	 * @return the array holding the name and bounds of each trait. It may be shared with other specimens and must not be modified.
+	 */
+	Trait[] getTraitMetadata() {
+		sharedTraits = true;
 		return traits;
 	}
 	
@@ -102,19 +224,81 @@ public class Specimen implements Comparable<Specimen>{
 	 * Formats information of this Specimen's {@link Trait}s in console-friendly string.
 	 */
 	public String toString() {
-		String traitString = "";
-		for(Trait t : traits) {
-			traitString += t.toString() + "\n";
+		StringBuilder builder = new StringBuilder("Specimen #").append(id).append('\n');
+		for(int i = 0; i < traits.length; i++) {
+			builder.append(getTrait(i).toString()).append('\n');
+		}
+		builder.append("Fitness: ").append(fitness).append(estimated ? " (estimated)\n" : "\n");
+		if(objectives != null) {
+			builder.append("Objectives: ").append(Arrays.toString(objectives)).append('\n');
 		}
-		return "Specimen #" + id + "\n" + traitString + "Fitness: " + fitness + "\n";
+		return builder.toString();
 	}
 	
 	/**
-	 * Sets the fitness of this specimen.
+	 * Sets the fitness of this specimen and marks it as evaluated.
 	 * @param fitness the fitness value to set. 
 	 */
 	public void setFitness(double fitness) {
 		this.fitness = fitness;
+		evaluated = true;
+		estimated = false;
+	}
+	
+	/**
+	 * Sets this specimen's fitness to a {@link SurrogateModel}'s prediction and marks it as evaluated, but estimated.
+	 * @param fitness The predicted fitness value.
+	 */
+	void setEstimatedFitness(double fitness) {
+		this.fitness = fitness;
+		evaluated = true;
+		estimated = true;
+	}
+	
+	/**
+	 * @return true if this specimen's fitness was predicted by a {@link SurrogateModel} rather than calculated by the fitness function.
+	 */
+	public boolean isFitnessEstimated() {
+		return estimated;
+	}
+	
+	/**
+	 * @return true if this specimen's fitness has been set since it was created or last cleared.
+	 */
+	public boolean isEvaluated() {
+		return evaluated;
+	}
+	
+	/**
+	 * Resets this specimen's fitness to 0 and marks it as not evaluated, e.g. after its trait values change.
+	 */
+	public void clearFitness() {
+		fitness = 0;
+		evaluated = false;
+		estimated = false;
+	}
+	
+	/**
+	 * Computes a 64-bit hash of this specimen's trait values. Specimens with equal values always have equal hashes.
+	 * @return The hash of this specimen's genome.
+	 */
+	public long getGenomeHash() {
+		return hashGenome(values, 0, values.length);
+	}
+	
+	/**
+	 * Computes a 64-bit hash of a genome stored in a gene array.
+	 * @param genes The array holding the genome.
+	 * @param offset The index of the genome's first value.
+	 * @param length The number of values in the genome.
+	 * @return The hash of the genome.
+	 */
+	static long hashGenome(double[] genes, int offset, int length) {
+		long hash = length;
+		for(int i = offset; i < offset + length; i++) {
+			hash = RandomService.mix(hash ^ Double.doubleToLongBits(genes[i])) + i - offset;
+		}
+		return hash;
 	}
 	
 	/**
@@ -124,6 +308,32 @@ public class Specimen implements Comparable<Specimen>{
 		return fitness;
 	}
 	
+	/**
+	 * @return the number of objective values set by a {@link MultiObjectiveFitnessFunction}, or 0 if this specimen has none.
+	 */
+	public int getNumObjectives() {
+		return objectives == null ? 0 : objectives.length;
+	}
+	
+	/**
+	 * @param index The objective's index.
+	 * @return The value of the given objective, where larger is better.
+	 */
+	public double getObjective(int index) {
+		return objectives[index];
+	}
+	
+	/**
+	 * @param numObjectives The number of objectives.
+	 * @return the array objective values are written into, allocated on first use or when the number of objectives changes.
+	 */
+	double[] objectiveBuffer(int numObjectives) {
+		if(objectives == null || objectives.length != numObjectives) {
+			objectives = new double[numObjectives];
+		}
+		return objectives;
+	}
+	
 	/**
 	 *  Compares the fitness of the caller and the given {@link Specimen}.
 	 *  Returns 1 if caller fitness is greater than other's fitness.
@@ -135,62 +345,83 @@ public class Specimen implements Comparable<Specimen>{
 		return fitness > other.fitness ? 1 : fitness < other.fitness ? -1 : 0;
 	}
 	
+	/**
+	 * Gives every trait a new random value within its bounds and clears the fitness, keeping the id.
+	 * @param rand The random number generator to draw from.
+	 */
+	void randomize(SplittableRandom rand) {
+		Trait.generateGenome(traits, values, 0, rand);
+		clearFitness();
+	}
+	
 	/**
 	 * Creates a new Specimen that contains approximately 50% of this Specimen's traits and 50% of the given Specimen's traits,
-	 * with some random traits being generated depending on the given mutationRate. 
+	 * with some traits being perturbed depending on the given mutationRate. 
 	 * @param other The other Specimen whose traits will be mixed with this one in the child Specimen.
-	 * @param mutationRate The rate at which a trait from a child will take a random value, rather than one of its parents. 
+	 * @param mutationRate The probability that each trait of the child is mutated after crossover. 
 	 * @return A Specimen whose traits are comprised approximately 50-50 with this Specimen and the given Specimen. 
 	 */
-	
-	// TODO: ### IMPLEMENT TRAIT MUTATION ###
 	public Specimen breed(Specimen other, double mutationRate) {
-		Random rand = new Random();
-		// create trait index array
-		Specimen child = new Specimen(traits.length);
-		int numTraits = traits.length;
-		// NOTE: this would change if specimen will have more than two parents
-		
-		// parent one count
-		int p1Count = numTraits / 2;
-		
-		// parent two count
-		int p2Count = numTraits / 2;
-		
-		int mutationChance = (int) (mutationRate * 100);
-		
-		System.out.println(mutationChance);
-		
-		int traitIndex = 0;
-		while(p1Count > 0 && p2Count > 0) {
-			int parentThatGives = rand.nextInt(2);
-			
-			// generate random number between 1 and 100 inclusive to determine if mutation occurs
-			int mutationNumber = rand.nextInt(100)+1;
-			if(parentThatGives == 0) {
-				child.addTraitAtIndex(traitIndex, (mutationNumber <= mutationChance) ? new Trait(this.traits[traitIndex]) : getTrait(traitIndex));
-				p1Count --;
-			} 
-			else {
-				child.addTraitAtIndex(traitIndex, (mutationNumber <= mutationChance) ? new Trait(other.traits[traitIndex]) : other.getTrait(traitIndex));
-				p2Count --;
-			}
-			traitIndex++;
-		}
-		if(p1Count == 0) {
-			for(int i = traitIndex; i < numTraits; i++) {
-				child.addTraitAtIndex(i, other.getTrait(i));
-			}
-		}
-		else if(p2Count == 0) {
-			for(int i = traitIndex; i < numTraits; i++) {
-				child.addTraitAtIndex(i, getTrait(i));
-			}
-		}
-		
-		for(int i = 0; i < child.getNumTraits(); i++) {
-			System.out.println(child.getTrait(i));
-		}
+		return breed(other, mutationRate, RandomService.defaultGenerator());
+	}
+	
+	/**
+	 * Creates a new Specimen that contains approximately 50% of this Specimen's traits and 50% of the given Specimen's traits,
+	 * drawing every random decision from the given generator so that breeding can be reproduced.
+	 * Uses {@link UniformCrossover} and {@link GaussianMutation}.
+	 * @param other The other Specimen whose traits will be mixed with this one in the child Specimen.
+	 * @param mutationRate The probability that each trait of the child is mutated after crossover. 
+	 * @param rand The random number generator to draw from.
+	 * @return A Specimen whose traits are comprised approximately 50-50 with this Specimen and the given Specimen. 
+	 */
+	public Specimen breed(Specimen other, double mutationRate, SplittableRandom rand) {
+		return breed(other, DEFAULT_CROSSOVER, DEFAULT_MUTATION, mutationRate, rand);
+	}
+	
+	/**
+	 * Creates a new Specimen from this Specimen and the given Specimen with the given operators.
+	 * @param other The other Specimen whose traits will be mixed with this one in the child Specimen.
+	 * @param crossover The operator that combines the parents' traits into the child's.
+	 * @param mutation The operator that mutates the child's traits after crossover.
+	 * @param mutationRate The probability that each trait of the child is mutated after crossover. 
+	 * @param rand The random number generator to draw from.
+	 * @return The child Specimen, which shares this Specimen's trait names and bounds.
+	 */
+	public Specimen breed(Specimen other, CrossoverOperator crossover, MutationOperator mutation, double mutationRate, SplittableRandom rand) {
+		// create child that shares this Specimen's trait names and bounds
+		Specimen child = new Specimen(-1, getTraitMetadata());
+		breedInto(other, child, crossover, mutation, mutationRate, rand);
 		return child;
 	}
+	
+	/**
+	 * Breeds this Specimen with the given Specimen like {@link #breed(Specimen, double, SplittableRandom)}, but writes the result into an
+	 * existing Specimen instead of creating one, so recycled specimens can be bred without allocating.
+	 * The child's id is left unchanged and its fitness is cleared.
+	 * @param other The other Specimen whose traits will be mixed with this one in the child Specimen.
+	 * @param child The Specimen to overwrite. It must have as many traits as this Specimen and must not be either parent.
+	 * @param mutationRate The probability that each trait of the child is mutated after crossover.
+	 * @param rand The random number generator to draw from.
+	 */
+	public void breedInto(Specimen other, Specimen child, double mutationRate, SplittableRandom rand) {
+		breedInto(other, child, DEFAULT_CROSSOVER, DEFAULT_MUTATION, mutationRate, rand);
+	}
+	
+	/**
+	 * Breeds this Specimen with the given Specimen into an existing Specimen with the given operators, without allocating.
+	 * The child's id is left unchanged and its fitness is cleared.
+	 * @param other The other Specimen whose traits will be mixed with this one in the child Specimen.
+	 * @param child The Specimen to overwrite. It must have as many traits as this Specimen and must not be either parent.
+	 * @param crossover The operator that combines the parents' traits into the child's.
+	 * @param mutation The operator that mutates the child's traits after crossover.
+	 * @param mutationRate The probability that each trait of the child is mutated after crossover.
+	 * @param rand The random number generator to draw from.
+	 */
+	public void breedInto(Specimen other, Specimen child, CrossoverOperator crossover, MutationOperator mutation, double mutationRate, SplittableRandom rand) {
+		child.traits = getTraitMetadata();
+		child.sharedTraits = true;
+		child.clearFitness();
+		crossover.crossover(values, 0, other.values, 0, child.values, 0, traits, rand);
+		mutation.mutate(child.values, 0, traits, mutationRate, rand);
+	}
 }
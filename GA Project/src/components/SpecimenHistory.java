@@ -0,0 +1,30 @@
+package components;
+
+import java.util.function.Consumer;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Interface representing a store that keeps a record of the {@link Specimen}s created during an experiment.
+ */
+public interface SpecimenHistory {
+	
+	/**
+	 * Records every specimen of a newly created generation.
+	 * @param generation The number of the generation being recorded.
+	 * @param specimens The specimens of the generation.
+	 */
+	void record(long generation, Specimen[] specimens);
+	
+	/**
+	 * Passes every stored {@link Specimen} to the given action, from the oldest recorded generation to the newest.
+	 * @param action The action to perform on each stored specimen.
+	 */
+	void forEach(Consumer<Specimen> action);
+	
+	/**
+	 * Releases any resources held by this history. 
+	 */
+	default void close() {
+	}
+}
@@ -0,0 +1,241 @@
+package components;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Class that runs a {@link Controller}'s experiment as an asynchronous steady-state GA instead of generation by generation.
+ * A fixed number of children are always being scored on worker threads; as soon as any one finishes, it replaces the least fit specimen
+ * of the population if it is at least as fit, and a new child is bred from the current population and submitted in its place.
+ * Workers never wait for slow evaluations to finish, so this suits fitness functions whose running time varies widely.
+ *
+ * The population is kept as a binary min-heap on fitness, so the least fit specimen is always at index 0 and replacing it costs O(log n).
+ * Parents are chosen by tournament using the controller's tournament size, and children are bred with its crossover operator,
+ * mutation operator and mutation rate. Every population-size children scored count as one generation of the controller,
+ * so its end conditions, stagnation rules, mutation schedule, history and listeners keep working; a population rediversified
+ * under {@link Controller#STAGNATION_REDIVERSIFY} is re-heaped before the run goes on. Such generations report no {@link GenerationMetrics}.
+ *
+ * Children are scored by calling the controller's {@link FitnessFunction} directly on the runner's own threads, so the controller's
+ * {@link EvaluationEngine}, {@link FitnessCache}, duplicate policy and surrogate model are not used for them. A controller set up with a
+ * {@link RemoteEvaluationEngine} is rejected, since its fitness function would otherwise quietly run in this process.
+ * NOTE: which child finishes first depends on thread timing, so runs are not reproducible even with a seeded controller.
+ */
+public class SteadyStateRunner {
+	private final Controller controller;
+	private int parallelism;
+	private int maxInFlight;
+	private long maxEvaluations;
+	
+	/**
+	 * Creates a runner for the given controller, which must be fully configured with its population initialized.
+	 * The fitness function is called from several threads at once, so it must be safe to do so.
+	 * @param controller The experiment to run.
+	 */
+	public SteadyStateRunner(Controller controller) {
+		this.controller = controller;
+		parallelism = Runtime.getRuntime().availableProcessors();
+		maxInFlight = 0;
+		maxEvaluations = Long.MAX_VALUE;
+	}
+	
+	/**
+	 * Sets the number of worker threads that score children. Defaults to the number of available processors.
+	 * @param parallelism The number of worker threads, at least 1.
+	 */
+	public void setParallelism(int parallelism) {
+		if(parallelism < 1) {
+			throw new IllegalArgumentException("### PARALLELISM MUST BE AT LEAST 1, GOT " + parallelism + " ###");
+		}
+		this.parallelism = parallelism;
+	}
+	
+	/**
+	 * Sets how many children are being scored or waiting to be scored at once. More than the number of workers hides the time the
+	 * runner takes to breed a replacement, at the cost of children being bred from a slightly older population.
+	 * Defaults to 0, which means one more than the number of workers.
+	 * @param count The number of children in flight, or 0 for the default.
+	 */
+	public void setMaxInFlight(int count) {
+		if(count < 0) {
+			throw new IllegalArgumentException("### MAX IN FLIGHT MUST NOT BE NEGATIVE, GOT " + count + " ###");
+		}
+		maxInFlight = count;
+	}
+	
+	/**
+	 * Sets the number of children to score before the run ends, in addition to the controller's end conditions. Defaults to no limit.
+	 * @param count The maximum number of children to score.
+	 */
+	public void setMaxEvaluations(long count) {
+		maxEvaluations = count;
+	}
+	
+	/**
+	 * Scores children asynchronously until the controller's end conditions are met or the evaluation limit is reached.
+	 * Children still being scored when the run ends are cancelled and discarded.
+	 * @return The fittest {@link Specimen} found so far.
+	 */
+	public Specimen run() {
+		if(controller.getEvaluationEngine() instanceof RemoteEvaluationEngine) {
+			throw new IllegalStateException("### STEADY-STATE RUN CANNOT SCORE CHILDREN ON A REMOTE EVALUATION ENGINE ###");
+		}
+		controller.checkPermutationOperators();
+		controller.calculatePopulationFitnesses();
+		Specimen[] population = controller.getPopulation();
+		if(population.length == 0) {
+			throw new IllegalStateException("### STEADY-STATE RUN NEEDS AN INITIALIZED POPULATION ###");
+		}
+		buildHeap(population);
+		
+		FitnessFunction func = controller.getFitnessFunction();
+		TournamentSelection selection = new TournamentSelection(controller.getTournamentSize());
+		selection.prepare(population);
+		// stream numbered away from the generation streams, since this run has no generations of its own
+		SplittableRandom rand = controller.getRandomService().forStream(Long.MIN_VALUE + controller.getGenerationCount());
+		
+		AtomicInteger threadCount = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(parallelism, r -> {
+			Thread thread = new Thread(r, "steady-state-worker-" + threadCount.getAndIncrement());
+			thread.setDaemon(true);
+			return thread;
+		});
+		CompletionService<ChildEvaluation> completions = new ExecutorCompletionService<ChildEvaluation>(executor);
+		int inFlightLimit = maxInFlight > 0 ? maxInFlight : parallelism + 1;
+		int inFlight = 0;
+		long evaluations = 0;
+		long submitted = 0;
+		int successes = 0;
+		int completedThisGeneration = 0;
+		try {
+			while(true) {
+				// keep every worker busy until the run is over
+				while(inFlight < inFlightLimit && submitted < maxEvaluations) {
+					completions.submit(breedChild(population, selection, rand, func));
+					inFlight++;
+					submitted++;
+				}
+				if(inFlight == 0) {
+					break;
+				}
+				
+				Future<ChildEvaluation> done = completions.take();
+				inFlight--;
+				ChildEvaluation evaluation = done.get();
+				Specimen child = evaluation.child;
+				evaluations++;
+				
+				if(child.getFitness() > evaluation.parentFitness) {
+					successes++;
+				}
+				if(child.getFitness() >= population[0].getFitness()) {
+					population[0] = child;
+					siftDown(population, 0);
+				}
+				controller.recordExternalEvaluation(child);
+				if(++completedThisGeneration == population.length) {
+					// a rediversified population has new specimens in place, so the heap order is gone
+					if(controller.completeExternalGeneration((double) successes / completedThisGeneration)) {
+						buildHeap(population);
+					}
+					successes = 0;
+					completedThisGeneration = 0;
+				}
+				if(evaluations >= maxEvaluations || controller.areEndConditionsMet()) {
+					break;
+				}
+			}
+		}
+		catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("### INTERRUPTED DURING STEADY-STATE RUN ###", e);
+		}
+		catch(ExecutionException e) {
+			throw new IllegalStateException("### FITNESS FUNCTION FAILED DURING STEADY-STATE RUN ###", e.getCause());
+		}
+		finally {
+			executor.shutdownNow();
+			controller.populationChanged();
+		}
+		return controller.getFittestSpecimen();
+	}
+	
+	/**
+	 * Breeds a new, unscored child from two parents chosen by tournament, the second drawn apart from the first where the tournament allows.
+	 * @param population The current population.
+	 * @param selection The tournament over the population.
+	 * @param rand The runner's random number generator.
+	 * @param func The fitness function that will score the child.
+	 * @return The task that scores the child.
+	 */
+	private ChildEvaluation breedChild(Specimen[] population, TournamentSelection selection, SplittableRandom rand, FitnessFunction func) {
+		int i1 = selection.select(rand);
+		Specimen p1 = population[i1];
+		Specimen p2 = population[selection.selectOther(rand, i1)];
+		Specimen child = p1.breed(p2, controller.getCrossoverOperator(), controller.getMutationOperator(), controller.getMutationRate(), rand);
+		child.setId(controller.nextSpecimenId());
+		return new ChildEvaluation(child, Math.max(p1.getFitness(), p2.getFitness()), func);
+	}
+	
+	/**
+	 * Arranges the population as a binary min-heap on fitness.
+	 * @param heap The population to arrange.
+	 */
+	private static void buildHeap(Specimen[] heap) {
+		for(int i = heap.length / 2 - 1; i >= 0; i--) {
+			siftDown(heap, i);
+		}
+	}
+	
+	/**
+	 * Moves the specimen at the given index down the min-heap until neither of its children is less fit.
+	 * @param heap The population arranged as a min-heap.
+	 * @param index The index of the specimen to move.
+	 */
+	private static void siftDown(Specimen[] heap, int index) {
+		Specimen s = heap[index];
+		double fitness = s.getFitness();
+		int half = heap.length >>> 1;
+		while(index < half) {
+			int child = 2 * index + 1;
+			int right = child + 1;
+			if(right < heap.length && heap[right].getFitness() < heap[child].getFitness()) {
+				child = right;
+			}
+			if(fitness <= heap[child].getFitness()) {
+				break;
+			}
+			heap[index] = heap[child];
+			index = child;
+		}
+		heap[index] = s;
+	}
+	
+	/**
+	 * Task that scores one child on a worker thread, remembering the fitness of its fitter parent so the runner can tell whether breeding it was a success.
+	 */
+	private static class ChildEvaluation implements Callable<ChildEvaluation> {
+		private final Specimen child;
+		private final double parentFitness;
+		private final FitnessFunction func;
+		
+		ChildEvaluation(Specimen child, double parentFitness, FitnessFunction func) {
+			this.child = child;
+			this.parentFitness = parentFitness;
+			this.func = func;
+		}
+		
+		public ChildEvaluation call() {
+			child.setFitness(func.calculateFitness(child));
+			return this;
+		}
+	}
+}
@@ -0,0 +1,36 @@
+package components;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Interface representing a cheap model of an expensive {@link FitnessFunction}, learnt online from the specimens the function has scored.
+ * The {@link Controller} uses it to pre-screen each generation's children: only the fraction predicted fittest is scored for real,
+ * and the rest keep the prediction, marked by {@link Specimen#isFitnessEstimated()}. See {@link Controller#setSurrogate(SurrogateModel, double, int)}.
+ * Models must learn incrementally, one sample at a time, so that keeping them up to date costs little per generation.
+ */
+public interface SurrogateModel {
+	
+	/**
+	 * Teaches the model the real fitness of one genome.
+	 * @param genes The array holding the genome.
+	 * @param offset The index in genes of the genome's first value.
+	 * @param traits The name and bounds of each trait. The genome has traits.length values.
+	 * @param fitness The genome's fitness, as calculated by the fitness function.
+	 */
+	void update(double[] genes, int offset, Trait[] traits, double fitness);
+	
+	/**
+	 * Predicts the fitness of one genome.
+	 * NOTE: predictions may be made concurrently from several threads, but never while the model is being updated.
+	 * @param genes The array holding the genome.
+	 * @param offset The index in genes of the genome's first value.
+	 * @param traits The name and bounds of each trait. The genome has traits.length values.
+	 * @return The predicted fitness.
+	 */
+	double predict(double[] genes, int offset, Trait[] traits);
+	
+	/**
+	 * @return the number of genomes the model currently learns from.
+	 */
+	int getNumSamples();
+}
@@ -0,0 +1,40 @@
+package components;
+
+import java.util.SplittableRandom;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Class representing a {@link MutationOperator} for genomes with {@link Trait#TYPE_PERMUTATION} traits that keeps them a permutation:
+ * each permutation gene, with probability equal to the mutation rate, trades places with another randomly chosen permutation gene.
+ * Other traits are left unchanged.
+ */
+public class SwapMutation implements MutationOperator {
+	private volatile PermutationLayout layout;
+	
+	/**
+	 * {@inheritDoc}
+	 * A mutated permutation gene swaps places with another permutation gene, and other genes are left unchanged.
+	 */
+	public void mutate(double[] genes, int offset, Trait[] traits, double mutationRate, SplittableRandom rand) {
+		PermutationLayout l = layout = PermutationLayout.of(layout, traits);
+		int[] positions = l.positions;
+		int k = positions.length;
+		for(int j = 0; j < k; j++) {
+			if(rand.nextDouble() < mutationRate) {
+				int a = offset + positions[j];
+				int b = offset + positions[rand.nextInt(k)];
+				double swap = genes[a];
+				genes[a] = genes[b];
+				genes[b] = swap;
+			}
+		}
+	}
+	
+	/**
+	 * @return true, since only permutation genes are rearranged.
+	 */
+	public boolean preservesPermutations() {
+		return true;
+	}
+}
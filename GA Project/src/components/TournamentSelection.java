@@ -0,0 +1,57 @@
+package components;
+
+import java.util.SplittableRandom;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Class representing a {@link SelectionStrategy} that draws a number of specimens uniformly and picks the fittest of them.
+ * Each draw costs one random number per contestant and allocates nothing. 
+ */
+public class TournamentSelection implements SelectionStrategy {
+	private int tournamentSize;
+	private Specimen[] population;
+	
+	/**
+	 * @param tournamentSize The number of specimens that compete in each tournament.
+	 */
+	public TournamentSelection(int tournamentSize) {
+		if(tournamentSize < 1) {
+			throw new IllegalArgumentException("### TOURNAMENT SIZE MUST BE AT LEAST 1, GOT " + tournamentSize + " ###");
+		}
+		this.tournamentSize = tournamentSize;
+	}
+	
+	/**
+	 * Stores the population that tournaments will be held in.
+	 * @param population The current population.
+	 */
+	public void prepare(Specimen[] population) {
+		this.population = population;
+	}
+	
+	/**
+	 * @param rand The random number generator to draw from.
+	 * @return The index of the fittest of tournamentSize uniformly drawn specimens.
+	 */
+	public int select(SplittableRandom rand) {
+		int best = rand.nextInt(population.length);
+		double bestFitness = population[best].getFitness();
+		for(int i = 1; i < tournamentSize; i++) {
+			int contestant = rand.nextInt(population.length);
+			double fitness = population[contestant].getFitness();
+			if(fitness > bestFitness) {
+				best = contestant;
+				bestFitness = fitness;
+			}
+		}
+		return best;
+	}
+	
+	/**
+	 * @return the number of specimens that compete in each tournament.
+	 */
+	public int getTournamentSize() {
+		return tournamentSize;
+	}
+}
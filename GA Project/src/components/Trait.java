@@ -1,6 +1,6 @@
 package components;
 
-import java.util.Random;
+import java.util.SplittableRandom;
 
 /**
  * @author jgross11@ycp.edu
@@ -8,17 +8,32 @@ import java.util.Random;
  * Class that represents a specific trait that a specimen contains. 
  */
 public class Trait {
+	// constant for a trait holding any real value within its bounds
+	public final static int TYPE_CONTINUOUS = 0;
+	
+	// constant for a trait holding a whole number within its bounds
+	public final static int TYPE_INTEGER = 1;
+	
+	// constant for a trait holding 0 for false or 1 for true
+	public final static int TYPE_BOOLEAN = 2;
+	
+	// constant for a trait holding one element of a permutation: the k permutation traits of a genome together hold each of 0 to k - 1 once
+	public final static int TYPE_PERMUTATION = 3;
+	// names of the types, indexed by TYPE_ constant
+	private final static String[] TYPE_NAMES = {"continuous", "integer", "boolean", "permutation"};
 	private String name;
 	private double minValue;
 	private double maxValue;
 	private double value;
+	private int type;
 	//TODO: add separate constructor for "blueprint" traits that do not contain a value.. 
 	public Trait(String name, double minValue, double maxValue) {
 		this.name = name;
 		this.minValue = minValue;
 		this.maxValue = maxValue;
+		this.type = TYPE_CONTINUOUS;
 		// TODO determine way to make this exclude both val = min and val = max cases
-		this.value = minValue + (new Random()).nextDouble()*(maxValue-minValue+0.0000001);
+		this.value = generateValue(RandomService.defaultGenerator());
 	}
 	
 	/**
@@ -30,14 +45,206 @@ public class Trait {
 		this.name = t.name;
 		this.minValue = t.minValue;
 		this.maxValue = t.maxValue;
-		this.value = minValue + (new Random()).nextDouble()*(maxValue-minValue+0.0000001);
+		this.type = t.type;
+		this.value = generateValue(RandomService.defaultGenerator());
+	}
+	
+	/**
+	 * Creates a trait that shares the name and bounds of the given trait but holds the given value. 
+	 * @param t The trait whose information will be used as a reference.
+	 * @param value The value this trait will hold. 
+	 */
+	public Trait(Trait t, double value) {
+		this.name = t.name;
+		this.minValue = t.minValue;
+		this.maxValue = t.maxValue;
+		this.type = t.type;
+		this.value = value;
+	}
+	
+	/**
+	 * Creates a trait with the given information and value, used when reading traits back from storage.
+	 * @param name The trait's name.
+	 * @param minValue The minimum value the trait can have.
+	 * @param maxValue The maximum value the trait can have.
+	 * @param value The value the trait holds.
+	 */
+	Trait(String name, double minValue, double maxValue, double value) {
+		this(name, minValue, maxValue, value, TYPE_CONTINUOUS);
+	}
+	
+	/**
+	 * Creates a trait of the given type with the given information and value, used when reading traits back from storage.
+	 * @param name The trait's name.
+	 * @param minValue The minimum value the trait can have.
+	 * @param maxValue The maximum value the trait can have.
+	 * @param value The value the trait holds.
+	 * @param type The trait's type, one of the TYPE_ constants.
+	 */
+	Trait(String name, double minValue, double maxValue, double value, int type) {
+		if(type < TYPE_CONTINUOUS || type > TYPE_PERMUTATION) {
+			throw new IllegalArgumentException("### UNKNOWN TRAIT TYPE " + type + " ###");
+		}
+		this.name = name;
+		this.minValue = minValue;
+		this.maxValue = maxValue;
+		this.value = value;
+		this.type = type;
+	}
+	
+	/**
+	 * Creates a trait holding a whole number between the given bounds, inclusive.
+	 * @param name The trait's name.
+	 * @param minValue The smallest value the trait can have.
+	 * @param maxValue The largest value the trait can have.
+	 * @return The integer trait.
+	 */
+	public static Trait ofInteger(String name, long minValue, long maxValue) {
+		if(minValue > maxValue) {
+			throw new IllegalArgumentException("### INTEGER TRAIT " + name + " HAS MINIMUM " + minValue + " ABOVE MAXIMUM " + maxValue + " ###");
+		}
+		Trait t = new Trait(name, minValue, maxValue, minValue, TYPE_INTEGER);
+		t.value = t.generateValue(RandomService.defaultGenerator());
+		return t;
+	}
+	
+	/**
+	 * Creates a trait holding 0 for false or 1 for true. Genomes made only of boolean traits can also be stored bit-packed in a {@link BinaryPopulation}.
+	 * @param name The trait's name.
+	 * @return The boolean trait.
+	 */
+	public static Trait ofBoolean(String name) {
+		Trait t = new Trait(name, 0, 1, 0, TYPE_BOOLEAN);
+		t.value = t.generateValue(RandomService.defaultGenerator());
+		return t;
+	}
+	
+	/**
+	 * Creates one element of a permutation of 0 to size - 1. A genome should hold exactly size permutation traits, which are then
+	 * initialized to a random ordering and kept one by {@link OrderCrossover} and {@link SwapMutation}.
+	 * @param name The trait's name.
+	 * @param size The number of elements in the permutation.
+	 * @return The permutation trait.
+	 */
+	public static Trait ofPermutation(String name, int size) {
+		if(size < 1) {
+			throw new IllegalArgumentException("### PERMUTATION SIZE MUST BE AT LEAST 1, GOT " + size + " ###");
+		}
+		return new Trait(name, 0, size - 1, 0, TYPE_PERMUTATION);
+	}
+	
+	/**
+	 * Draws a random value this trait can hold without creating a new trait: uniformly from [minValue, maxValue) for a continuous trait,
+	 * and uniformly from the whole numbers in [minValue, maxValue] otherwise.
+	 * @param rand The random number generator to draw from. 
+	 * @return A random value between this trait's minimum and maximum values.
+	 */
+	double generateValue(SplittableRandom rand) {
+		if(type == TYPE_CONTINUOUS) {
+			return minValue + rand.nextDouble() * (maxValue - minValue);
+		}
+		if(type == TYPE_BOOLEAN) {
+			return rand.nextBoolean() ? 1 : 0;
+		}
+		return minValue + rand.nextLong((long) (maxValue - minValue) + 1);
+	}
+	
+	/**
+	 * Fills a genome with random values, giving its permutation traits a uniformly random ordering of 0 to k - 1.
+	 * @param traits The traits of the genome.
+	 * @param genes The array holding the genome.
+	 * @param offset The index in genes of the genome's first value.
+	 * @param rand The random number generator to draw from.
+	 */
+	static void generateGenome(Trait[] traits, double[] genes, int offset, SplittableRandom rand) {
+		boolean hasPermutation = false;
+		for(int i = 0; i < traits.length; i++) {
+			if(traits[i].type == TYPE_PERMUTATION) {
+				hasPermutation = true;
+			}
+			else {
+				genes[offset + i] = traits[i].generateValue(rand);
+			}
+		}
+		if(!hasPermutation) {
+			return;
+		}
+		
+		// shuffle inside-out: the k-th permutation trait takes k and trades places with a random earlier one
+		int[] positions = permutationPositions(traits);
+		for(int k = 0; k < positions.length; k++) {
+			int swap = offset + positions[rand.nextInt(k + 1)];
+			genes[offset + positions[k]] = genes[swap];
+			genes[swap] = k;
+		}
+	}
+	
+	/**
+	 * Finds the genome positions of the permutation traits, which {@link OrderCrossover} and {@link SwapMutation} rearrange.
+	 * @param traits The traits of the genome.
+	 * @return The index of every permutation trait, in order.
+	 */
+	static int[] permutationPositions(Trait[] traits) {
+		int count = 0;
+		for(Trait t : traits) {
+			if(t.type == TYPE_PERMUTATION) {
+				count++;
+			}
+		}
+		int[] positions = new int[count];
+		count = 0;
+		for(int i = 0; i < traits.length; i++) {
+			if(traits[i].type == TYPE_PERMUTATION) {
+				positions[count++] = i;
+			}
+		}
+		return positions;
+	}
+	
+	/**
+	 * Finds the genome positions of the continuous traits, which a {@link LocalSearch} moves.
+	 * @param traits The traits of the genome.
+	 * @return The index of every continuous trait, in order.
+	 */
+	static int[] continuousPositions(Trait[] traits) {
+		int count = 0;
+		for(Trait t : traits) {
+			if(t.type == TYPE_CONTINUOUS) {
+				count++;
+			}
+		}
+		int[] positions = new int[count];
+		count = 0;
+		for(int i = 0; i < traits.length; i++) {
+			if(traits[i].type == TYPE_CONTINUOUS) {
+				positions[count++] = i;
+			}
+		}
+		return positions;
+	}
+	
+	/**
+	 * Limits a value to those this trait can hold: within its bounds, rounded to a whole number for integer and permutation traits,
+	 * and to 0 or 1 for boolean traits.
+	 * @param value The value to limit. 
+	 * @return The value, or the nearest value this trait can hold.
+	 */
+	double clamp(double value) {
+		if(type == TYPE_BOOLEAN) {
+			return value >= 0.5 ? 1 : 0;
+		}
+		if(type != TYPE_CONTINUOUS) {
+			value = Math.rint(value);
+		}
+		return value < minValue ? minValue : value > maxValue ? maxValue : value;
 	}
 	
 	/**
 	 * Formats trait information in a console friendly format. 
 	 */
 	public String toString() {
-		return "Trait name: " + name + " | minValue: " + minValue + " | maxValue: " + maxValue + " | value: " + value;
+		String text = "Trait name: " + name + " | minValue: " + minValue + " | maxValue: " + maxValue + " | value: " + value;
+		return type == TYPE_CONTINUOUS ? text : text + " | type: " + TYPE_NAMES[type];
 	}
 	
 	/**
@@ -67,4 +274,11 @@ public class Trait {
 	public double getMaxValue() {
 		return maxValue;
 	}
+	
+	/**
+	 * @return the kind of value this trait holds, one of the TYPE_ constants.
+	 */
+	public int getType() {
+		return type;
+	}
 }
@@ -0,0 +1,69 @@
+package components;
+
+import java.util.SplittableRandom;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Class representing a {@link SelectionStrategy} that draws parents uniformly from the fittest fraction of the population.
+ */
+public class TruncationSelection implements SelectionStrategy {
+	private double truncationConstant;
+	private int populationSize;
+	private int numBreeders;
+	
+	/**
+	 * @param truncationConstant The fraction of the population, in (0, 1], that may breed.
+	 */
+	public TruncationSelection(double truncationConstant) {
+		if(truncationConstant <= 0 || truncationConstant > 1) {
+			throw new IllegalArgumentException("### CONDITION 0 < truncationConstant <= 1 NOT MET, GOT " + truncationConstant + " ###");
+		}
+		this.truncationConstant = truncationConstant;
+	}
+	
+	/**
+	 * Determines how many of the fittest specimens may breed. 
+	 * @param population The current population, whose fittest fraction sits at its end.
+	 */
+	public void prepare(Specimen[] population) {
+		populationSize = population.length;
+		numBreeders = Math.max(1, (int) Math.round(populationSize * truncationConstant));
+	}
+	
+	/**
+	 * @param rand The random number generator to draw from.
+	 * @return The index of a specimen drawn uniformly from the fittest specimens.
+	 */
+	public int select(SplittableRandom rand) {
+		return populationSize - 1 - rand.nextInt(numBreeders);
+	}
+	
+	/**
+	 * @param rand The random number generator to draw from.
+	 * @param first The index of the first parent.
+	 * @return The index of a specimen drawn uniformly from the fittest specimens other than the first parent, unless it is the only one that may breed.
+	 */
+	public int selectOther(SplittableRandom rand, int first) {
+		if(numBreeders == 1) {
+			return first;
+		}
+		int rank = (populationSize - 1 - first + 1 + rand.nextInt(numBreeders - 1)) % numBreeders;
+		return populationSize - 1 - rank;
+	}
+	
+	/**
+	 * @param populationSize The number of specimens in the population.
+	 * @return The number of fittest specimens that may breed, which must sit at the end of the population.
+	 */
+	public int getNumRequiredTop(int populationSize) {
+		return Math.max(1, (int) Math.round(populationSize * truncationConstant));
+	}
+	
+	/**
+	 * @return the fraction of the population that may breed.
+	 */
+	public double getTruncationConstant() {
+		return truncationConstant;
+	}
+}
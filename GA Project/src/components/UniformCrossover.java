@@ -0,0 +1,27 @@
+package components;
+
+import java.util.SplittableRandom;
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * Class representing a {@link CrossoverOperator} that copies each gene from either parent with equal probability.
+ * One random long decides 64 genes at a time.
+ */
+public class UniformCrossover implements CrossoverOperator {
+	
+	/**
+	 * {@inheritDoc}
+	 * Each gene comes from either parent with equal probability.
+	 */
+	public void crossover(double[] p1, int p1Offset, double[] p2, int p2Offset, double[] child, int childOffset, Trait[] traits, SplittableRandom rand) {
+		long bits = 0;
+		for(int i = 0; i < traits.length; i++) {
+			if((i & 63) == 0) {
+				bits = rand.nextLong();
+			}
+			child[childOffset + i] = (bits & 1) == 0 ? p1[p1Offset + i] : p2[p2Offset + i];
+			bits >>>= 1;
+		}
+	}
+}
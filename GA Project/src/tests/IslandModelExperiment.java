@@ -0,0 +1,75 @@
+package tests;
+
+import components.Controller;
+import components.FitnessFunction;
+import components.IslandModel;
+import components.Specimen;
+import components.Trait;
+
+	
+/**
+ * @author jgross11@ycp.edu
+ *
+ * island model version of {@link ManyVariableFormulaExperiment} that evolves four populations side by side, exchanging
+ * their fittest specimens around a ring, to find a close solution to (a + 2b - 3c + 4d - 5e + 6f - 7g + 8h) / -9i = 4
+ */
+public class IslandModelExperiment {
+	
+	public static void main(String[] args) {
+		
+		// create one controller per island
+		Controller[] islands = new Controller[4];
+		for(int i = 0; i < islands.length; i++) {
+			islands[i] = createIsland(i);
+		}
+		
+		// migrate the 2 fittest specimens of each island to the next island every 5 generations
+		IslandModel model = new IslandModel(islands);
+		model.setTopology(IslandModel.TOPOLOGY_RING);
+		model.setMigrationInterval(5);
+		model.setMigrantCount(2);
+		
+		// run until any island reaches the fitness threshold
+		Specimen fittest = model.run(Controller.BREEDING_TRUNCATION);
+		for(int i = 0; i < islands.length; i++) {
+			System.out.println("### Island " + i + " ran " + islands[i].getGenerationCount() + " generations ###");
+		}
+		System.out.println("### Fittest Specimen ###\n" + fittest.toString());
+	}
+	
+	/**
+	 * Creates and initializes one island, seeded so that every island starts from a different population.
+	 * @param island The island's index.
+	 * @return The island's controller.
+	 */
+	private static Controller createIsland(int island) {
+		Controller controller = new Controller();
+		controller.setSeed(island);
+		controller.setPopulationSize(100);
+		
+		// maximum fitness occurs when (a + 2b - 3c + 4d - 5e + 6f - 7g + 8h) / -9i = 4
+		controller.setFitnessFunction(new FitnessFunction() {
+			public double calculateFitness(Specimen s) {
+				double num 	= s.getValue(0) + 2*s.getValue(1) - 3*s.getValue(2)
+							+ 4*s.getValue(3) - 5*s.getValue(4) + 6*s.getValue(5)
+							- 7*s.getValue(6) + 8*s.getValue(7);
+				double denom = -9*s.getValue(8);
+				double val = Math.abs( (num / denom) - 4);
+				return 1.0 / (1.0 + val);
+			}
+		});
+		
+		String[] names = {"a-val", "b-val", "c-val", "d-val", "e-val", "f-val", "g-val", "h-val", "i-val"};
+		controller.setNumTraits(names.length);
+		for(int i = 0; i < names.length; i++) {
+			controller.setTrait(i, new Trait(names[i], Integer.MIN_VALUE / 100, Integer.MAX_VALUE / 100));
+		}
+		
+		controller.setFitnessThreshold(0.999);
+		controller.setMaxGenerationsCount(100000);
+		controller.setTruncationConstant(0.10);
+		controller.setMutationRate(0.25);
+		controller.initializePopulation();
+		return controller;
+	}
+}
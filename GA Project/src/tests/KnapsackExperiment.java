@@ -0,0 +1,79 @@
+package tests;
+
+import java.util.SplittableRandom;
+
+import components.BinaryFitnessFunction;
+import components.BinaryPopulation;
+import components.BinaryRunner;
+import components.Specimen;
+
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * 0/1 knapsack experiment that breeds bit-packed genomes with a {@link BinaryRunner}: bit i says whether item i is packed, and a genome's
+ * fitness is the value it packs divided by the value of every item, with overweight genomes scored by how far over the capacity they are.
+ */
+public class KnapsackExperiment {
+	
+	public static void main(String[] args) {
+		int numItems = 1000;
+		int populationSize = 2000;
+		
+		// random items whose capacity fits about half of them
+		SplittableRandom items = new SplittableRandom(42);
+		double[] weights = new double[numItems];
+		double[] values = new double[numItems];
+		double totalWeight = 0;
+		double totalValue = 0;
+		for(int i = 0; i < numItems; i++) {
+			weights[i] = 1 + items.nextDouble() * 99;
+			values[i] = weights[i] + items.nextDouble() * 20;
+			totalWeight += weights[i];
+			totalValue += values[i];
+		}
+		double capacity = totalWeight / 2;
+		double maxValue = totalValue;
+		
+		BinaryRunner runner = new BinaryRunner(BinaryPopulation.booleanTraits(numItems), populationSize, new BinaryFitnessFunction() {
+			public double calculateFitness(long[] words, int offset, int numBits) {
+				double weight = 0;
+				double value = 0;
+				for(int w = 0; w < BinaryPopulation.wordsFor(numBits); w++) {
+					long word = words[offset + w];
+					while(word != 0) {
+						int item = (w << 6) + Long.numberOfTrailingZeros(word);
+						weight += weights[item];
+						value += values[item];
+						word &= word - 1;
+					}
+				}
+				return weight <= capacity ? value / maxValue : -(weight - capacity) / capacity;
+			}
+		});
+		runner.setSeed(1);
+		runner.setCrossover(BinaryRunner.CROSSOVER_TWO_POINT);
+		runner.setMutationRate(1.0 / numItems);
+		runner.setTournamentSize(3);
+		runner.setMaxGenerationsCount(500);
+		
+		long start = System.nanoTime();
+		runner.initializePopulation();
+		while(!runner.areEndConditionsMet()) {
+			runner.createNextGeneration();
+			if(runner.getGenerationCount() % 50 == 0) {
+				System.out.println("generation " + runner.getGenerationCount() + ": " + runner.getPopulation().getFitness(runner.getFittestIndex()));
+			}
+		}
+		long elapsed = System.nanoTime() - start;
+		
+		Specimen best = runner.getFittestSpecimen();
+		int packed = 0;
+		for(int i = 0; i < numItems; i++) {
+			packed += (int) best.getValue(i);
+		}
+		System.out.println("### Packed " + packed + " of " + numItems + " items worth " + best.getFitness() * maxValue + " after "
+				+ runner.getGenerationCount() + " generations in " + elapsed / 1000000 + " ms ###");
+		runner.shutdown();
+	}
+}
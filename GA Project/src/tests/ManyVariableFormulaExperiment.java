@@ -30,11 +30,10 @@ public class ManyVariableFormulaExperiment {
 		// (a + 2b - 3c + 4d - 5e + 6f - 7g + 8h) / -9i = 4
 		controller.setFitnessFunction(new FitnessFunction() {
 			public double calculateFitness(Specimen s) {
-				// TODO: add shortcut method to Trait class to retrieve value of trait at given index
-				double num 	= s.getTrait(0).getValue() + 2*s.getTrait(1).getValue() - 3*s.getTrait(2).getValue()
-							+ 4*s.getTrait(3).getValue() - 5*s.getTrait(4).getValue() + 6*s.getTrait(5).getValue()
-							- 7*s.getTrait(6).getValue() + 8*s.getTrait(7).getValue();
-				double denom = -9*s.getTrait(8).getValue();
+				double num 	= s.getValue(0) + 2*s.getValue(1) - 3*s.getValue(2)
+							+ 4*s.getValue(3) - 5*s.getValue(4) + 6*s.getValue(5)
+							- 7*s.getValue(6) + 8*s.getValue(7);
+				double denom = -9*s.getValue(8);
 				double val = Math.abs( (num / denom) - 4);
 				return 1.0 / (1.0 + val);
 			}
@@ -61,6 +60,9 @@ public class ManyVariableFormulaExperiment {
 		// sort population by fitness
 		controller.printCurrentPopulation();
 		
+		// print every breeding event to console - runs quietly by default
+		// controller.addListener(new ConsoleListener());
+		
 		// set max generations count - will run until fitness of 1 is achieved by default
 		// controller.setMaxGenerationsCount(10);
 		
@@ -0,0 +1,70 @@
+package tests;
+
+import components.Controller;
+import components.CoordinateDescent;
+import components.FitnessFunction;
+import components.HillClimbing;
+import components.LocalSearch;
+import components.Specimen;
+import components.Trait;
+
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * memetic experiment that solves the equation of {@link ManyVariableFormulaExperiment},
+ * (a + 2b - 3c + 4d - 5e + 6f - 7g + 8h) / -9i = 4, to a fitness of 0.999999 three times: with the GA alone, and with the fittest
+ * specimens of every generation refined by {@link CoordinateDescent} and by {@link HillClimbing}, then compares the time each took.
+ */
+public class MemeticExperiment {
+	
+	public static void main(String[] args) {
+		run("GA alone", null);
+		run("GA + coordinate descent", new CoordinateDescent());
+		run("GA + hill climbing", new HillClimbing());
+	}
+	
+	/**
+	 * Runs the experiment with the given local search, or none, and prints how long it took to reach the threshold.
+	 */
+	private static void run(String name, LocalSearch search) {
+		Controller controller = new Controller();
+		controller.setPopulationSize(100);
+		controller.setSeed(1);
+		controller.setFitnessFunction(new FitnessFunction() {
+			public double calculateFitness(Specimen s) {
+				double num 	= s.getValue(0) + 2*s.getValue(1) - 3*s.getValue(2)
+							+ 4*s.getValue(3) - 5*s.getValue(4) + 6*s.getValue(5)
+							- 7*s.getValue(6) + 8*s.getValue(7);
+				double denom = -9*s.getValue(8);
+				double val = Math.abs( (num / denom) - 4);
+				return 1.0 / (1.0 + val);
+			}
+		});
+		controller.setNumTraits(9);
+		String[] names = {"a-val", "b-val", "c-val", "d-val", "e-val", "f-val", "g-val", "h-val", "i-val"};
+		for(int i = 0; i < names.length; i++) {
+			controller.setTrait(i, new Trait(names[i], Integer.MIN_VALUE / 100, Integer.MAX_VALUE / 100));
+		}
+		controller.setFitnessThreshold(0.999999);
+		controller.setMaxGenerationsCount(100000);
+		controller.setTruncationConstant(0.10);
+		controller.setMutationRate(0.25);
+		
+		// refine the 5 fittest specimens of each generation with up to 200 evaluations each
+		if(search != null) {
+			controller.setLocalSearch(search, 5, 200);
+		}
+		
+		long start = System.nanoTime();
+		controller.initializePopulation();
+		while(!controller.areEndConditionsMet()) {
+			controller.createNextGeneration(Controller.BREEDING_TRUNCATION);
+		}
+		long elapsed = System.nanoTime() - start;
+		System.out.println("### " + name + ": fitness " + controller.getFittestSpecimen().getFitness() + " after " + controller.getGenerationCount()
+				+ " generations, " + controller.getEvaluationCount() + " evaluations (" + controller.getLocalSearchEvaluationCount()
+				+ " by local search), " + elapsed / 1000000 + " ms ###");
+		controller.shutdown();
+	}
+}
@@ -0,0 +1,75 @@
+package tests;
+
+import components.Controller;
+import components.MultiObjectiveFitnessFunction;
+import components.PolynomialMutation;
+import components.SimulatedBinaryCrossover;
+import components.Specimen;
+import components.Trait;
+
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * multi-objective experiment that uses NSGA-II to approximate the Pareto front of the ZDT1 benchmark from
+ * Zitzler, Deb and Thiele, "Comparison of Multiobjective Evolutionary Algorithms: Empirical Results", which minimizes
+ * f1 = x1 and f2 = g * (1 - sqrt(x1 / g)) with g = 1 + 9 * (x2 + ... + x30) / 29, every x in [0, 1].
+ * The true front is f2 = 1 - sqrt(f1), reached when g = 1.
+ */
+public class MultiObjectiveExperiment {
+	
+	public static void main(String[] args) {
+		
+		// create controller to run experiment
+		Controller controller = new Controller();
+		controller.setPopulationSize(100);
+		controller.setSeed(1);
+		
+		// both objectives are minimized, so they are negated
+		controller.setFitnessFunction(new MultiObjectiveFitnessFunction() {
+			public int getNumObjectives() {
+				return 2;
+			}
+			
+			public void calculateObjectives(Specimen s, double[] objectives) {
+				double f1 = s.getValue(0);
+				double g = 0;
+				for(int i = 1; i < s.getNumTraits(); i++) {
+					g += s.getValue(i);
+				}
+				g = 1 + 9 * g / (s.getNumTraits() - 1);
+				objectives[0] = -f1;
+				objectives[1] = -g * (1 - Math.sqrt(f1 / g));
+			}
+		});
+		
+		controller.setNumTraits(30);
+		for(int i = 0; i < 30; i++) {
+			controller.setTrait(i, new Trait("x" + (i + 1), 0, 1));
+		}
+		
+		// the operators NSGA-II was introduced with
+		controller.setCrossoverOperator(new SimulatedBinaryCrossover());
+		controller.setMutationOperator(new PolynomialMutation());
+		controller.setMutationRate(1.0 / 30);
+		controller.setMaxGenerationsCount(250);
+		
+		controller.initializePopulation();
+		while(!controller.areEndConditionsMet()) {
+			controller.createNextGeneration(Controller.BREEDING_NSGA2);
+		}
+		
+		// print the front found, and how far above the true front it lies on average
+		Specimen[] front = controller.getParetoFront();
+		double totalGap = 0;
+		System.out.println("### Pareto front of " + front.length + " specimens after " + controller.getGenerationCount() + " generations ###");
+		for(Specimen s : front) {
+			double f1 = -s.getObjective(0);
+			double f2 = -s.getObjective(1);
+			totalGap += f2 - (1 - Math.sqrt(f1));
+			System.out.printf("f1 = %.4f, f2 = %.4f%n", f1, f2);
+		}
+		System.out.println("### Mean distance above the true front: " + totalGap / front.length + " ###");
+		controller.shutdown();
+	}
+}
@@ -0,0 +1,43 @@
+package tests;
+
+import components.LinearFitnessFunction;
+import components.OffHeapRunner;
+import components.Specimen;
+import components.Trait;
+
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * off-heap version of {@link ManyVariableFormulaExperiment} that evolves a population of two million specimens without creating
+ * a {@link Specimen} for any of them, to find a close solution to a + 2b - 3c + 4d - 5e + 6f - 7g + 8h - 9i = 4
+ * NOTE: the two generations take about 320 MB of direct memory, so run with -XX:MaxDirectMemorySize=512m or more
+ */
+public class OffHeapExperiment {
+	
+	public static void main(String[] args) {
+		
+		String[] names = {"a-val", "b-val", "c-val", "d-val", "e-val", "f-val", "g-val", "h-val", "i-val"};
+		Trait[] traits = new Trait[names.length];
+		for(int i = 0; i < names.length; i++) {
+			traits[i] = new Trait(names[i], -1000, 1000);
+		}
+		
+		// maximum fitness occurs when a + 2b - 3c + 4d - 5e + 6f - 7g + 8h - 9i = 4
+		double[] weights = {1, 2, -3, 4, -5, 6, -7, 8, -9};
+		OffHeapRunner runner = new OffHeapRunner(traits, 2000000, new LinearFitnessFunction(weights, 4));
+		runner.setFitnessThreshold(0.99999);
+		runner.setMutationRate(0.25);
+		runner.setMaxGenerationsCount(50);
+		runner.setParallelism(Runtime.getRuntime().availableProcessors());
+		
+		runner.initializePopulation();
+		while(!runner.areEndConditionsMet()) {
+			runner.createNextGeneration();
+			System.out.println("### Generation " + runner.getGenerationCount() + ": best fitness " + runner.getFittestSpecimen().getFitness() + " ###");
+		}
+		runner.shutdown();
+		
+		System.out.println("### Fittest Specimen ###\n" + runner.getFittestSpecimen().toString());
+	}
+}
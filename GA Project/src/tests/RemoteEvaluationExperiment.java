@@ -0,0 +1,90 @@
+package tests;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import components.Controller;
+import components.FitnessFunction;
+import components.RemoteEvaluationEngine;
+import components.Specimen;
+import components.Trait;
+
+	
+/**
+ * @author jgross11@ycp.edu
+ *
+ * version of {@link ManyVariableFormulaExperiment} whose fitness function runs in two separate worker processes,
+ * to find a close solution to (a + 2b - 3c + 4d - 5e + 6f - 7g + 8h) / -9i = 4.
+ * The experiment is then run again with a third worker whose program does not exist, which the other two must cover for.
+ */
+public class RemoteEvaluationExperiment {
+	
+	/**
+	 * Fitness function the worker processes create by name, so it must be a public class with a public no-argument constructor.
+	 * Maximum fitness occurs when (a + 2b - 3c + 4d - 5e + 6f - 7g + 8h) / -9i = 4
+	 */
+	public static class FormulaFitness extends FitnessFunction {
+		public double calculateFitness(Specimen s) {
+			double num 	= s.getValue(0) + 2*s.getValue(1) - 3*s.getValue(2)
+						+ 4*s.getValue(3) - 5*s.getValue(4) + 6*s.getValue(5)
+						- 7*s.getValue(6) + 8*s.getValue(7);
+			double denom = -9*s.getValue(8);
+			double val = Math.abs( (num / denom) - 4);
+			return 1.0 / (1.0 + val);
+		}
+	}
+	
+	public static void main(String[] args) {
+		
+		// score every generation in two worker JVMs started with this JVM's class path
+		runExperiment(new RemoteEvaluationEngine(FormulaFitness.class.getName(), 2));
+		
+		// one worker cannot start, so the two healthy ones must score every batch
+		List<List<String>> commands = new ArrayList<List<String>>();
+		List<String> broken = new ArrayList<String>();
+		broken.add("no-such-worker-program");
+		commands.add(broken);
+		commands.add(RemoteEvaluationEngine.javaWorkerCommand(FormulaFitness.class.getName()));
+		commands.add(RemoteEvaluationEngine.javaWorkerCommand(FormulaFitness.class.getName()));
+		RemoteEvaluationEngine engine = new RemoteEvaluationEngine(commands, 256, 4);
+		runExperiment(engine);
+		System.out.println("### " + engine.getNumLiveWorkers() + " of " + commands.size() + " workers were running ###");
+	}
+	
+	/**
+	 * Runs the experiment with the given engine, which is shut down afterwards.
+	 * @param engine The engine that scores every generation.
+	 */
+	private static void runExperiment(RemoteEvaluationEngine engine) {
+		
+		// create controller to run experiment
+		Controller controller = new Controller();
+		controller.setPopulationSize(1000);
+		
+		// the local copy of the function is only a fallback
+		controller.setFitnessFunction(new FormulaFitness());
+		controller.setEvaluationEngine(engine);
+		
+		String[] names = {"a-val", "b-val", "c-val", "d-val", "e-val", "f-val", "g-val", "h-val", "i-val"};
+		controller.setNumTraits(names.length);
+		for(int i = 0; i < names.length; i++) {
+			controller.setTrait(i, new Trait(names[i], Integer.MIN_VALUE / 100, Integer.MAX_VALUE / 100));
+		}
+		
+		controller.setFitnessThreshold(0.999);
+		controller.setMaxGenerationsCount(10000);
+		controller.setTruncationConstant(0.10);
+		controller.setMutationRate(0.25);
+		controller.initializePopulation();
+		
+		// begin 'evolution' loop
+		while(!controller.areEndConditionsMet()) {
+			controller.createNextGeneration(Controller.BREEDING_TRUNCATION);
+		}
+		
+		// stop the worker processes
+		controller.shutdown();
+		System.out.println("### Ran " + controller.getGenerationCount() + " generations ###");
+		System.out.println("### Fittest Specimen ###\n" + controller.getFittestSpecimen().toString());
+	}
+}
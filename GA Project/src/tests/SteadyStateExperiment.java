@@ -0,0 +1,66 @@
+package tests;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import components.Controller;
+import components.FitnessFunction;
+import components.Specimen;
+import components.SteadyStateRunner;
+import components.Trait;
+
+	
+/**
+ * @author jgross11@ycp.edu
+ *
+ * steady-state version of {@link ManyVariableFormulaExperiment} whose fitness function takes a random 1 to 50 ms per call,
+ * standing in for a slow simulation, to find a close solution to (a + 2b - 3c + 4d - 5e + 6f - 7g + 8h) / -9i = 4
+ */
+public class SteadyStateExperiment {
+	
+	public static void main(String[] args) {
+		
+		// create controller to run experiment
+		Controller controller = new Controller();
+		controller.setPopulationSize(100);
+		
+		// maximum fitness occurs when (a + 2b - 3c + 4d - 5e + 6f - 7g + 8h) / -9i = 4, after a simulated delay
+		controller.setFitnessFunction(new FitnessFunction() {
+			public double calculateFitness(Specimen s) {
+				try {
+					Thread.sleep(ThreadLocalRandom.current().nextInt(1, 51));
+				}
+				catch(InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				double num 	= s.getValue(0) + 2*s.getValue(1) - 3*s.getValue(2)
+							+ 4*s.getValue(3) - 5*s.getValue(4) + 6*s.getValue(5)
+							- 7*s.getValue(6) + 8*s.getValue(7);
+				double denom = -9*s.getValue(8);
+				double val = Math.abs( (num / denom) - 4);
+				return 1.0 / (1.0 + val);
+			}
+		});
+		
+		String[] names = {"a-val", "b-val", "c-val", "d-val", "e-val", "f-val", "g-val", "h-val", "i-val"};
+		controller.setNumTraits(names.length);
+		for(int i = 0; i < names.length; i++) {
+			controller.setTrait(i, new Trait(names[i], Integer.MIN_VALUE / 100, Integer.MAX_VALUE / 100));
+		}
+		
+		controller.setFitnessThreshold(0.999);
+		controller.setMutationRate(0.25);
+		
+		// score the initial population in parallel too, then stop after 60 seconds if the threshold is not reached
+		controller.setParallelism(Runtime.getRuntime().availableProcessors());
+		controller.initializePopulation();
+		controller.setTimeBudget(60000);
+		
+		// keep every core scoring a child, replacing the least fit specimen as each one finishes
+		SteadyStateRunner runner = new SteadyStateRunner(controller);
+		Specimen fittest = runner.run();
+		controller.shutdown();
+		
+		System.out.println("### Scored " + controller.getEvaluationCount() + " specimens ###");
+		System.out.println("### Fittest Specimen ###\n" + fittest.toString());
+	}
+}
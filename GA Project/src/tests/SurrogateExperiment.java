@@ -0,0 +1,73 @@
+package tests;
+
+import components.Controller;
+import components.FitnessFunction;
+import components.KNearestSurrogate;
+import components.Specimen;
+import components.SurrogateModel;
+import components.Trait;
+
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * surrogate experiment that minimizes the sum of squares of 10 values, scored as 1 / (1 + sum), to a fitness of 0.9, with a fitness function made
+ * artificially costly, twice: scoring every child, and scoring only the quarter of each generation's children a {@link KNearestSurrogate}
+ * predicts fittest. It then compares the evaluations and time each run took to reach the threshold.
+ */
+public class SurrogateExperiment {
+	private final static int NUM_TRAITS = 10;
+	
+	public static void main(String[] args) {
+		run("every child scored", null);
+		run("k-nearest surrogate", new KNearestSurrogate(5, 2000));
+	}
+	
+	/**
+	 * Runs the experiment with the given surrogate model, or none, and prints how long it took to reach the threshold.
+	 */
+	private static void run(String name, SurrogateModel surrogate) {
+		Controller controller = new Controller();
+		controller.setPopulationSize(100);
+		controller.setSeed(1);
+		controller.setFitnessFunction(new FitnessFunction() {
+			public double calculateFitness(Specimen s) {
+				double sum = 0;
+				for(int i = 0; i < NUM_TRAITS; i++) {
+					sum += s.getValue(i) * s.getValue(i);
+				}
+				
+				// stand in for a simulation that takes a while
+				double busy = sum;
+				for(int i = 0; i < 20000; i++) {
+					busy = Math.sqrt(busy + i);
+				}
+				return busy < 0 ? 0 : 1.0 / (1.0 + sum);
+			}
+		});
+		controller.setNumTraits(NUM_TRAITS);
+		for(int i = 0; i < NUM_TRAITS; i++) {
+			controller.setTrait(i, new Trait("x" + i, -10, 10));
+		}
+		controller.setFitnessThreshold(0.9);
+		controller.setMaxGenerationsCount(5000);
+		controller.setTruncationConstant(0.10);
+		controller.setMutationRate(0.25);
+		
+		// score only the predicted fittest quarter of each generation's children once the model has seen 200 specimens
+		if(surrogate != null) {
+			controller.setSurrogate(surrogate, 0.25, 200);
+		}
+		
+		long start = System.nanoTime();
+		controller.initializePopulation();
+		while(!controller.areEndConditionsMet()) {
+			controller.createNextGeneration(Controller.BREEDING_TRUNCATION);
+		}
+		long elapsed = System.nanoTime() - start;
+		System.out.println("### " + name + ": fitness " + controller.getFittestSpecimen().getFitness() + " after " + controller.getGenerationCount()
+				+ " generations, " + controller.getEvaluationCount() + " evaluations (" + controller.getNumEstimatedFitnesses()
+				+ " estimated), " + elapsed / 1000000 + " ms ###");
+		controller.shutdown();
+	}
+}
@@ -0,0 +1,79 @@
+package tests;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+import components.Controller;
+import components.ExperimentSweep;
+import components.FitnessFunction;
+import components.Specimen;
+import components.Trait;
+
+
+/**
+ * @author jgross11@ycp.edu
+ *
+ * parameter sweep experiment that tunes the truncation breeding of {@link TestExperiment}, which solves a + 2b + 3c = 12: every combination
+ * of 3 population sizes, 4 mutation rates and 3 truncation constants is run 5 times on every core, and the runs and their per-configuration
+ * summary are written to sweep-runs.csv and sweep-summary.csv.
+ */
+public class SweepExperiment {
+	
+	public static void main(String[] args) throws IOException {
+		
+		// every run builds its own controller, with its own fitness function
+		ExperimentSweep sweep = new ExperimentSweep(() -> {
+			Controller controller = new Controller();
+			controller.setFitnessFunction(new FitnessFunction() {
+				public double calculateFitness(Specimen s) {
+					double val = Math.abs(s.getValue(0) + 2*s.getValue(1) + 3*s.getValue(2) - 12);
+					return 1.0 / (1.0 + val);
+				}
+			});
+			controller.setNumTraits(3);
+			controller.setTrait(0, new Trait("a-val", -12, 12));
+			controller.setTrait(1, new Trait("b-val", -12, 12));
+			controller.setTrait(2, new Trait("c-val", -12, 12));
+			controller.setFitnessThreshold(0.99999);
+			controller.setMaxGenerationsCount(5000);
+			return controller;
+		});
+		sweep.addParameter("population_size", (c, v) -> c.setPopulationSize((int) v), 50, 100, 200);
+		sweep.addParameter("mutation_rate", (c, v) -> c.setMutationRate(v), 0.05, 0.1, 0.25, 0.5);
+		sweep.addParameter("truncation_constant", (c, v) -> c.setTruncationConstant(v), 0.05, 0.1, 0.25);
+		sweep.setRepetitions(5);
+		sweep.setBreedingMethod(Controller.BREEDING_TRUNCATION);
+		sweep.setSeed(1);
+		
+		long start = System.nanoTime();
+		ExperimentSweep.RunResult[] results = sweep.runGrid();
+		long elapsed = System.nanoTime() - start;
+		sweep.writeCsv(Paths.get("sweep-runs.csv"), results);
+		sweep.writeSummaryCsv(Paths.get("sweep-summary.csv"), results);
+		
+		// report the configuration whose successful runs reached the threshold in the fewest evaluations on average
+		int runsPerConfiguration = 5;
+		int best = -1;
+		double bestEvaluations = Double.POSITIVE_INFINITY;
+		for(int c = 0; c < results.length / runsPerConfiguration; c++) {
+			double evaluations = 0;
+			int successes = 0;
+			for(int r = c * runsPerConfiguration; r < (c + 1) * runsPerConfiguration; r++) {
+				if(results[r].isThresholdMet()) {
+					evaluations += results[r].getEvaluations();
+					successes++;
+				}
+			}
+			if(successes == runsPerConfiguration && evaluations / successes < bestEvaluations) {
+				bestEvaluations = evaluations / successes;
+				best = c;
+			}
+		}
+		System.out.println("### Ran " + results.length + " experiments in " + elapsed / 1000000 + " ms ###");
+		if(best >= 0) {
+			ExperimentSweep.RunResult r = results[best * runsPerConfiguration];
+			System.out.println("### Fewest evaluations to threshold: population size " + (int) r.getParameter(0) + ", mutation rate " + r.getParameter(1)
+					+ ", truncation constant " + r.getParameter(2) + " with " + bestEvaluations + " evaluations on average ###");
+		}
+	}
+}
@@ -29,8 +29,7 @@ public class TestExperiment {
 		// define and set controller fitness function - here, maximum fitness occurs when a + 2b + 3c - 12 = 0
 		controller.setFitnessFunction(new FitnessFunction() {
 			public double calculateFitness(Specimen s) {
-				// TODO: add shortcut method to Trait class to retrieve value of trait at given index
-				double val = Math.abs(s.getTrait(0).getValue() + 2*s.getTrait(1).getValue() + 3*s.getTrait(2).getValue() - 12);
+				double val = Math.abs(s.getValue(0) + 2*s.getValue(1) + 3*s.getValue(2) - 12);
 				return 1.0 / (1.0 + val);
 			}
 		});
@@ -50,6 +49,9 @@ public class TestExperiment {
 		// sort population by fitness
 		controller.printCurrentPopulation();
 		
+		// print every breeding event to console - runs quietly by default
+		// controller.addListener(new ConsoleListener());
+		
 		// set max generations count - will run until fitness of 1 is achieved by default
 		// controller.setMaxGenerationsCount(10);
 		